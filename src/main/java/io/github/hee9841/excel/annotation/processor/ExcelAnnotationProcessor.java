@@ -50,6 +50,13 @@ import javax.tools.Diagnostic;
  * </ul>
  *
  * <p>Note: Array types are not supported for {@code @ExcelColumn} fields.
+ *
+ * <p>When every class passes validation, an
+ * {@link io.github.hee9841.excel.core.writer.ExcelRowWriter} is generated for each class
+ * annotated with {@code @Excel} (e.g. {@code OrderDtoExcelWriter} for {@code OrderDto}), so the
+ * exporters can read column values without reflection.
+ *
+ * @see ExcelRowWriterGenerator
  */
 @SupportedAnnotationTypes({
     "io.github.hee9841.excel.annotation.Excel",
@@ -60,6 +67,7 @@ public class ExcelAnnotationProcessor extends AbstractProcessor {
     private Messager messager;
     private Types typeUtils;
     private Elements elementUtils;
+    private ExcelRowWriterGenerator rowWriterGenerator;
 
     @Override
     public synchronized void init(ProcessingEnvironment processingEnv) {
@@ -67,6 +75,7 @@ public class ExcelAnnotationProcessor extends AbstractProcessor {
         messager = processingEnv.getMessager();
         typeUtils = processingEnv.getTypeUtils();
         elementUtils = processingEnv.getElementUtils();
+        rowWriterGenerator = new ExcelRowWriterGenerator(processingEnv);
     }
 
     @Override
@@ -122,6 +131,13 @@ public class ExcelAnnotationProcessor extends AbstractProcessor {
             }
         }
 
+        // Fourth pass: generate row writers when all Excel-annotated classes are valid
+        if (!hasError) {
+            for (TypeElement typeElement : excelClasses.keySet()) {
+                rowWriterGenerator.generate(typeElement);
+            }
+        }
+
         return !hasError;
     }
 
@@ -0,0 +1,363 @@
+package io.github.hee9841.excel.annotation.processor;
+
+import io.github.hee9841.excel.annotation.Excel;
+import io.github.hee9841.excel.annotation.ExcelColumn;
+import io.github.hee9841.excel.core.meta.ColumnDataType;
+import io.github.hee9841.excel.core.writer.ExcelRowWriter;
+import io.github.hee9841.excel.core.writer.ExcelRowWriters;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import javax.annotation.processing.ProcessingEnvironment;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Generates an {@link ExcelRowWriter} source file for a class annotated with {@code @Excel}.
+ *
+ * <p>The generated writer reads every non-private {@code @ExcelColumn} field of the class
+ * directly. Private fields get no slot and are read by their
+ * {@link io.github.hee9841.excel.core.meta.FieldAccessor}, as in every other backend; getters are
+ * never called, so the cell content does not depend on whether the processor ran. The data type
+ * of each column is resolved from the annotations at processing time, the same way
+ * {@link io.github.hee9841.excel.core.meta.ColumnSchema} resolves it, and the writer sets the
+ * value with the concrete {@link org.apache.poi.ss.usermodel.Cell} setter of that type and field
+ * type, without boxing primitive values or going through the setter function of the
+ * {@link ColumnDataType}. When a column is given another data type at runtime, or its type cannot
+ * be resolved, the writer falls back to {@link ColumnDataType#setCellValueByCellType}.</p>
+ *
+ * <p>When every column is private, or the class itself cannot be referenced from its package
+ * (local, anonymous, private or generic classes), no writer is generated and the exporters fall
+ * back to reflective field access.</p>
+ *
+ * @see ExcelAnnotationProcessor
+ * @see ExcelRowWriters
+ */
+class ExcelRowWriterGenerator {
+
+    private static final Set<String> PRIMITIVE_TYPES = new HashSet<>(Arrays.asList(
+        "boolean", "byte", "short", "int", "long", "char", "float", "double"));
+
+    private final ProcessingEnvironment processingEnv;
+
+    ExcelRowWriterGenerator(ProcessingEnvironment processingEnv) {
+        this.processingEnv = processingEnv;
+    }
+
+    /**
+     * Generates the row writer for the given class.
+     * If the writer cannot be generated, a note is reported and nothing is written.
+     *
+     * @param typeElement the class annotated with {@code @Excel}
+     */
+    void generate(TypeElement typeElement) {
+        if (!isReferable(typeElement)) {
+            note(typeElement, "Row writer for %s is not generated : "
+                    + "the class cannot be referenced from its package.",
+                typeElement.getSimpleName());
+            return;
+        }
+
+        List<String> fieldNames = new ArrayList<>();
+        List<String> accessExpressions = new ArrayList<>();
+        List<String> valueTypes = new ArrayList<>();
+        List<ColumnDataType> columnTypes = new ArrayList<>();
+        for (VariableElement field : ElementFilter.fieldsIn(typeElement.getEnclosedElements())) {
+            if (field.getAnnotation(ExcelColumn.class) == null) {
+                continue;
+            }
+            if (field.getModifiers().contains(Modifier.PRIVATE)) {
+                continue;
+            }
+            fieldNames.add(field.getSimpleName().toString());
+            accessExpressions.add(getAccessExpression(typeElement, field));
+            valueTypes.add(processingEnv.getTypeUtils().erasure(field.asType()).toString());
+            columnTypes.add(resolveColumnType(typeElement, field));
+        }
+        if (fieldNames.isEmpty()) {
+            note(typeElement, "Row writer for %s is not generated : every column is private.",
+                typeElement.getSimpleName());
+            return;
+        }
+
+        String writerClassName = ExcelRowWriters.writerClassName(
+            processingEnv.getElementUtils().getBinaryName(typeElement).toString());
+        try {
+            writeSource(typeElement, writerClassName, fieldNames, accessExpressions, valueTypes,
+                columnTypes);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                String.format("Failed to generate row writer %s : %s", writerClassName,
+                    e.getMessage()), typeElement);
+        }
+    }
+
+    /**
+     * Checks if the class can be referenced by a class generated in the same package.
+     *
+     * @param typeElement the class to check
+     * @return true if the class and all of its enclosing classes are accessible and not generic
+     */
+    private boolean isReferable(TypeElement typeElement) {
+        if (typeElement.getNestingKind() == NestingKind.LOCAL
+            || typeElement.getNestingKind() == NestingKind.ANONYMOUS
+            || !typeElement.getTypeParameters().isEmpty()) {
+            return false;
+        }
+
+        Element element = typeElement;
+        while (element != null && element.getKind() != ElementKind.PACKAGE) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)) {
+                return false;
+            }
+            element = element.getEnclosingElement();
+        }
+        return true;
+    }
+
+    /**
+     * Returns the expression reading a non-private field from a variable named {@code data}.
+     *
+     * @param typeElement the class declaring the field
+     * @param field       the field to read
+     * @return the access expression
+     */
+    private String getAccessExpression(TypeElement typeElement, VariableElement field) {
+        String fieldName = field.getSimpleName().toString();
+        return field.getModifiers().contains(Modifier.STATIC)
+            ? typeElement.getQualifiedName() + "." + fieldName
+            : "data." + fieldName;
+    }
+
+    /**
+     * Resolves the data type of the column of a field, like the column schema does at runtime.
+     *
+     * @param typeElement the class declaring the field
+     * @param field       the field of the column
+     * @return the data type of the column, or null if it depends on a field type the processor
+     * cannot load
+     */
+    private ColumnDataType resolveColumnType(TypeElement typeElement, VariableElement field) {
+        ColumnDataType columnType = field.getAnnotation(ExcelColumn.class).columnCellType();
+        Excel excel = typeElement.getAnnotation(Excel.class);
+        boolean autoStrategy = excel != null && excel.cellTypeStrategy().isAuto();
+        if ((autoStrategy && columnType.isNone()) || columnType.isAuto()) {
+            Class<?> fieldType = toClass(field.asType());
+            return fieldType == null ? null : ColumnDataType.from(fieldType);
+        }
+        return columnType;
+    }
+
+    /**
+     * Returns the class of a primitive, JDK or enum field type, to resolve its data type.
+     * Enum types are returned as {@link Enum}, since only their kind matters.
+     *
+     * @param type the field type
+     * @return the class of the type, or null if it is not loaded by the processor
+     */
+    private Class<?> toClass(TypeMirror type) {
+        switch (type.getKind()) {
+            case BOOLEAN:
+                return boolean.class;
+            case BYTE:
+                return byte.class;
+            case SHORT:
+                return short.class;
+            case INT:
+                return int.class;
+            case LONG:
+                return long.class;
+            case CHAR:
+                return char.class;
+            case FLOAT:
+                return float.class;
+            case DOUBLE:
+                return double.class;
+            case DECLARED:
+                break;
+            default:
+                return null;
+        }
+
+        TypeElement element = (TypeElement) ((DeclaredType) type).asElement();
+        if (element.getKind() == ElementKind.ENUM) {
+            return Enum.class;
+        }
+        String name = processingEnv.getElementUtils().getBinaryName(element).toString();
+        if (!name.startsWith("java.")) {
+            return null;
+        }
+        try {
+            return Class.forName(name, false, ExcelRowWriterGenerator.class.getClassLoader());
+        } catch (ClassNotFoundException | LinkageError e) {
+            return null;
+        }
+    }
+
+    private void writeSource(TypeElement typeElement, String writerClassName,
+        List<String> fieldNames, List<String> accessExpressions, List<String> valueTypes,
+        List<ColumnDataType> columnTypes) throws IOException {
+        int packageEnd = writerClassName.lastIndexOf('.');
+        String packageName = packageEnd < 0 ? "" : writerClassName.substring(0, packageEnd);
+        String simpleName = writerClassName.substring(packageEnd + 1);
+        String dtoName = typeElement.getQualifiedName().toString();
+
+        try (PrintWriter out = new PrintWriter(processingEnv.getFiler()
+            .createSourceFile(writerClassName, typeElement).openWriter())) {
+            if (!packageName.isEmpty()) {
+                out.printf("package %s;%n%n", packageName);
+            }
+            out.println("import io.github.hee9841.excel.core.meta.ColumnDataType;");
+            out.println("import io.github.hee9841.excel.core.writer.ExcelRowWriter;");
+            out.println("import io.github.hee9841.excel.exception.ExcelException;");
+            out.println("import java.util.Arrays;");
+            out.println("import java.util.Collections;");
+            out.println("import java.util.List;");
+            out.println("import org.apache.poi.ss.usermodel.Cell;");
+            out.println();
+            out.println("/**");
+            out.printf(" * Row writer for {@link %s}, generated by%n", dtoName);
+            out.println(" * {@code io.github.hee9841.excel.annotation.processor"
+                + ".ExcelAnnotationProcessor}.");
+            out.println(" */");
+            out.printf("public final class %s implements ExcelRowWriter<%s> {%n%n",
+                simpleName, dtoName);
+
+            out.println("    private static final List<String> FIELD_NAMES = "
+                + "Collections.unmodifiableList(");
+            out.print("        Arrays.asList(");
+            for (int i = 0; i < fieldNames.size(); i++) {
+                out.printf("%s\"%s\"", i == 0 ? "" : ", ", fieldNames.get(i));
+            }
+            out.println("));");
+            out.println();
+
+            out.println("    @Override");
+            out.println("    public List<String> getFieldNames() {");
+            out.println("        return FIELD_NAMES;");
+            out.println("    }");
+            out.println();
+
+            out.println("    @Override");
+            out.printf("    public void writeCell(%s data, int slot, ColumnDataType columnType, "
+                + "Cell cell) {%n", dtoName);
+            out.println("        switch (slot) {");
+            for (int i = 0; i < accessExpressions.size(); i++) {
+                out.printf("            case %d: {%n", i);
+                out.printf("                %s value = %s;%n", valueTypes.get(i),
+                    accessExpressions.get(i));
+                writeSetter(out, valueTypes.get(i), columnTypes.get(i));
+                out.println("                return;");
+                out.println("            }");
+            }
+            out.println("            default:");
+            out.println("                throw new IndexOutOfBoundsException("
+                + "\"Unknown column slot: \" + slot);");
+            out.println("        }");
+            out.println("    }");
+            out.println("}");
+        }
+    }
+
+    /**
+     * Writes the statements setting a {@code value} of the given type to the {@code cell}: the
+     * concrete setter when the column has the resolved data type, and
+     * {@link ColumnDataType#setCellValueByCellType} otherwise.
+     */
+    private static void writeSetter(PrintWriter out, String valueType,
+        ColumnDataType columnType) {
+        String setter = columnType == null ? null : getConcreteSetter(valueType, columnType);
+        if (setter == null) {
+            out.println("                columnType.setCellValueByCellType(cell, value);");
+            return;
+        }
+
+        out.printf("                if (columnType == ColumnDataType.%s) {%n", columnType.name());
+        if (!PRIMITIVE_TYPES.contains(valueType)) {
+            out.println("                    if (value == null) {");
+            out.println("                        cell.setCellValue(\"\");");
+            out.println("                    } else {");
+            printLines(out, "                        ", setter);
+            out.println("                    }");
+        } else {
+            printLines(out, "                    ", setter);
+        }
+        out.println("                } else {");
+        out.println("                    columnType.setCellValueByCellType(cell, value);");
+        out.println("                }");
+    }
+
+    private static void printLines(PrintWriter out, String indent, String lines) {
+        for (String line : lines.split("\n")) {
+            out.printf("%s%s%n", indent, line);
+        }
+    }
+
+    /**
+     * Returns the statement setting a non-null {@code value} of the given type to the
+     * {@code cell} the way the data type does.
+     *
+     * @return the statements, one per line, or null if the data type has no concrete setter
+     * for the type
+     */
+    static String getConcreteSetter(String valueType, ColumnDataType columnType) {
+        switch (columnType) {
+            case NUMBER:
+                if ("float".equals(valueType) || "java.lang.Float".equals(valueType)) {
+                    // Keeps the decimal representation of the float, like ColumnDataType
+                    return "cell.setCellValue(Double.parseDouble(Float.toString(value)));";
+                }
+                if ("java.lang.Number".equals(valueType)) {
+                    // The value may be a Float, like ColumnDataType checks at runtime
+                    return "cell.setCellValue(value instanceof Float\n"
+                        + "    ? Double.parseDouble(value.toString())\n"
+                        + "    : value.doubleValue());";
+                }
+                return PRIMITIVE_TYPES.contains(valueType)
+                    ? "cell.setCellValue((double) value);"
+                    : "cell.setCellValue(value.doubleValue());";
+            case BOOLEAN:
+                return "cell.setCellValue(value);";
+            case STRING:
+            case _NONE:
+                return "java.lang.String".equals(valueType)
+                    ? "cell.setCellValue(value);"
+                    : "cell.setCellValue(String.valueOf(value));";
+            case ENUM:
+                return "cell.setCellValue(value.toString());";
+            case FORMULA:
+                return "try {\n"
+                    + "    cell.setCellFormula(value);\n"
+                    + "} catch (RuntimeException e) {\n"
+                    + "    throw new ExcelException(\n"
+                    + "        \"Failed to set cell value by cell type: \" + e.getMessage());\n"
+                    + "}";
+            case DATE:
+                return "ColumnDataType.DATE.setCellValueByEpochMillis(cell, value.getTime());";
+            case LOCAL_DATE:
+            case LOCAL_DATE_TIME:
+                return "cell.setCellValue(value);";
+            default:
+                return null;
+        }
+    }
+
+    private void note(Element e, String msg, Object... args) {
+        processingEnv.getMessager().printMessage(
+            Diagnostic.Kind.NOTE,
+            String.format(msg, args),
+            e);
+    }
+}
@@ -0,0 +1,489 @@
+package io.github.hee9841.excel.core.exporter;
+
+import io.github.hee9841.excel.core.meta.ColumnDataType;
+import io.github.hee9841.excel.core.meta.ColumnSchema;
+import io.github.hee9841.excel.core.meta.FieldAccessor;
+import io.github.hee9841.excel.exception.ExcelException;
+import io.github.hee9841.excel.format.CellFormats;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.Charset;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ExcelExporter} that writes the data as CSV (RFC 4180), using the same
+ * {@code @Excel}/{@code @ExcelColumn} metadata as the Excel exporters.
+ *
+ * <p>The columns are written in column index order under their header names. When the column
+ * indexes have gaps, empty fields are written for the missing columns, so every value is in the
+ * same column as in the Excel file. Values are formatted according to their
+ * {@link ColumnDataType}:</p>
+ * <ul>
+ *     <li>Numbers with a data format pattern, and dates, are formatted with the pattern the way
+ *     Excel displays them. Dates without a pattern use the default pattern of their type.</li>
+ *     <li>Numbers without a pattern are written in plain decimal notation.</li>
+ *     <li>Formulas are written with a leading {@code =}.</li>
+ *     <li>Other values are written as their String representation, and null values as empty
+ *     fields.</li>
+ * </ul>
+ *
+ * <p>Primitive number fields are read without boxing, and integral values without a pattern are
+ * written digit by digit into the output.
+ * Fields containing the delimiter, a double quote or a line break are quoted. No styles are
+ * used, so no workbook is created at all. Like {@link OoxmlExcelExporter}, the data and the rows
+ * added with {@code addRows} are kept until {@link #write(OutputStream)}, which pulls their rows
+ * while the file is written.</p>
+ *
+ * <p>Use the {@link CsvExporterBuilder} to configure and instantiate this class.</p>
+ *
+ * @param <T> The type of data to be exported to CSV
+ * @see CsvExporterBuilder
+ */
+public class CsvExporter<T> implements ExcelExporter<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(CsvExporter.class);
+
+    private static final String LINE_SEPARATOR = "\r\n";
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final String dtoTypeName;
+    private final char delimiter;
+    private final Charset charset;
+    private final boolean writeHeader;
+
+    /**
+     * Column index of each column, in column index order
+     */
+    private final int[] columnIndexes;
+    private final String[] headerNames;
+    private final ColumnDataType[] columnTypes;
+    private final FieldAccessor[] accessors;
+    /**
+     * Data format pattern of each column, or null to write the value without a pattern
+     */
+    private final String[] dataFormatPatterns;
+
+    /**
+     * Formats the values of the columns with a data format pattern
+     */
+    private final DataFormatter dataFormatter = new DataFormatter();
+
+    /**
+     * Buffer the digits of an integral value are written into, from the end
+     */
+    private final char[] digits = new char[20];
+
+    /**
+     * The data whose rows are written when the file is written
+     */
+    private final List<Iterable<T>> deferredData = new ArrayList<>();
+
+    private boolean closed;
+
+
+    /**
+     * Constructs a CsvExporter with the specified configuration.
+     *
+     * <p>This constructor is not meant to be called directly. Use {@link CsvExporterBuilder} to
+     * create instances of CsvExporter.</p>
+     *
+     * @param type        The class type of the data to be exported
+     * @param data        The data objects to be exported
+     * @param delimiter   The delimiter between fields
+     * @param charset     The charset of the file
+     * @param writeHeader Whether the header line is written
+     * @throws ExcelException If the class is not properly annotated or has invalid configuration
+     */
+    CsvExporter(Class<T> type, Iterable<T> data, char delimiter, Charset charset,
+        boolean writeHeader) {
+        this.dtoTypeName = type.getName();
+        this.delimiter = delimiter;
+        this.charset = charset;
+        this.writeHeader = writeHeader;
+        logger.info("Initializing CSV file for DTO: {}.java.", dtoTypeName);
+
+        List<ColumnSchema.Column> columns = ColumnSchema.of(type).getColumns();
+        int size = columns.size();
+        this.columnIndexes = new int[size];
+        this.headerNames = new String[size];
+        this.columnTypes = new ColumnDataType[size];
+        this.accessors = new FieldAccessor[size];
+        this.dataFormatPatterns = new String[size];
+        for (int i = 0; i < size; i++) {
+            ColumnSchema.Column column = columns.get(i);
+            columnIndexes[i] = column.getColumnIndex();
+            headerNames[i] = column.getHeaderName();
+            columnTypes[i] = column.getColumnType();
+            accessors[i] = column.getAccessor();
+            dataFormatPatterns[i] = getDataFormatPattern(column);
+        }
+        deferredData.add(data);
+    }
+
+    /**
+     * Returns the pattern the values of the column are formatted with.
+     * Dates always have a pattern, since their numeric value is meaningless in a CSV file.
+     */
+    private static String getDataFormatPattern(ColumnSchema.Column column) {
+        ColumnDataType columnType = column.getColumnType();
+        String pattern = column.getDataFormatPattern();
+        if (columnType == ColumnDataType.DATE || columnType == ColumnDataType.LOCAL_DATE
+            || columnType == ColumnDataType.LOCAL_DATE_TIME) {
+            return CellFormats.isNone(pattern) ? columnType.getDataFormatPattern() : pattern;
+        }
+        if (columnType == ColumnDataType.NUMBER && !CellFormats.isNone(pattern)) {
+            return pattern;
+        }
+        return null;
+    }
+
+    /**
+     * Creates a new builder for configuring and instantiating a CsvExporter.
+     * The data is iterated once, while the file is written.
+     *
+     * @param <T>  The type of data to be exported
+     * @param type The class of the data type
+     * @param data The data objects to be exported
+     * @return A new CsvExporterBuilder instance
+     */
+    public static <T> CsvExporterBuilder<T> builder(Class<T> type, Iterable<T> data) {
+        return new CsvExporterBuilder<>(type, data);
+    }
+
+    /**
+     * Creates a new builder for configuring and instantiating a CsvExporter.
+     * The remaining rows of the iterator are pulled lazily while the file is written.
+     *
+     * @param <T>  The type of data to be exported
+     * @param type The class of the data type
+     * @param data The iterator of data objects to be exported
+     * @return A new CsvExporterBuilder instance
+     */
+    public static <T> CsvExporterBuilder<T> builder(Class<T> type, Iterator<T> data) {
+        return builder(type, (Iterable<T>) () -> data);
+    }
+
+    /**
+     * Creates a new builder for configuring and instantiating a CsvExporter.
+     * The rows of the stream are pulled lazily while the file is written.
+     * The stream is consumed but not closed; closing it remains the responsibility of the caller.
+     *
+     * @param <T>  The type of data to be exported
+     * @param type The class of the data type
+     * @param data The stream of data objects to be exported
+     * @return A new CsvExporterBuilder instance
+     */
+    public static <T> CsvExporterBuilder<T> builder(Class<T> type, Stream<T> data) {
+        return builder(type, (Iterable<T>) data::iterator);
+    }
+
+    /**
+     * Adds the rows of the data list, written when the file is written.
+     *
+     * @param data The list of data objects to be added as rows
+     */
+    @Override
+    public void addRows(List<T> data) {
+        deferredData.add(data);
+    }
+
+    /**
+     * Adds the remaining rows of the iterator, pulled when the file is written.
+     *
+     * @param data The iterator of data objects to be added as rows
+     */
+    @Override
+    public void addRows(Iterator<T> data) {
+        deferredData.add(() -> data);
+    }
+
+    /**
+     * Writes the CSV file to the specified output stream, pulling the rows of the data.
+     * The output stream is flushed but not closed, and the exporter is closed afterward, whether
+     * the writing succeeds or not.
+     *
+     * @param stream The output stream to write the CSV file to
+     * @throws IOException    if an I/O error occurs during writing
+     * @throws ExcelException if a field cannot be read
+     */
+    @Override
+    public void write(OutputStream stream) throws IOException {
+        if (stream == null) {
+            throw new ExcelException("Output stream is null.");
+        }
+        if (closed) {
+            throw new ExcelException("The exporter is already written or closed.", dtoTypeName);
+        }
+        logger.info("Start to write CSV file for DTO class({}.java).", dtoTypeName);
+
+        try {
+            Writer out = new BufferedWriter(new OutputStreamWriter(stream, charset), BUFFER_SIZE);
+            if (writeHeader) {
+                writeHeader(out);
+            }
+            int rowIndex = writeHeader ? 1 : 0;
+            for (Iterable<T> data : deferredData) {
+                for (T row : data) {
+                    writeRow(out, row, rowIndex++);
+                }
+            }
+            out.flush();
+            logger.info("Successfully wrote CSV file for DTO class({}.java).", dtoTypeName);
+        } finally {
+            close();
+        }
+    }
+
+    private void writeHeader(Writer out) throws IOException {
+        int nextColumnIndex = 0;
+        for (int i = 0; i < columnIndexes.length; i++) {
+            nextColumnIndex = writeSeparators(out, nextColumnIndex, columnIndexes[i]);
+            writeField(out, headerNames[i]);
+        }
+        out.write(LINE_SEPARATOR);
+    }
+
+    private void writeRow(Writer out, T data, int rowIndex) throws IOException {
+        int nextColumnIndex = 0;
+        for (int i = 0; i < columnIndexes.length; i++) {
+            nextColumnIndex = writeSeparators(out, nextColumnIndex, columnIndexes[i]);
+            try {
+                writeValue(out, i, data);
+            } catch (ExcelException e) {
+                throw new ExcelException(
+                    String.format("Failed to create body(column:%d, row:%d) : %s",
+                        columnIndexes[i], rowIndex, e.getMessage()), e);
+            }
+        }
+        out.write(LINE_SEPARATOR);
+    }
+
+    /**
+     * Writes the delimiters before the field of the given column index, including the empty
+     * fields of the missing columns.
+     *
+     * @return the column index following the given one
+     */
+    private int writeSeparators(Writer out, int nextColumnIndex, int columnIndex)
+        throws IOException {
+        for (int i = nextColumnIndex == 0 ? 1 : nextColumnIndex; i <= columnIndex; i++) {
+            out.write(delimiter);
+        }
+        return columnIndex + 1;
+    }
+
+    /**
+     * Writes the field of the column at the given position. The values of primitive number
+     * fields are read and formatted without boxing them.
+     *
+     * @throws ExcelException if the field cannot be read or does not match the column data type
+     */
+    private void writeValue(Writer out, int position, T data) throws IOException {
+        FieldAccessor accessor = accessors[position];
+        if (columnTypes[position] != ColumnDataType.NUMBER) {
+            writeField(out, formatValue(position, accessor.get(data)));
+            return;
+        }
+
+        String pattern = dataFormatPatterns[position];
+        switch (accessor.getValueKind()) {
+            case INT:
+            case LONG:
+                long longValue = accessor.getLong(data);
+                if (pattern == null) {
+                    writeLong(out, longValue);
+                } else {
+                    writeField(out,
+                        dataFormatter.formatRawCellContents(longValue, -1, pattern));
+                }
+                return;
+            case FLOAT:
+                // Keeps the decimal representation of the float, as for Float values
+                float floatValue = (float) accessor.getDouble(data);
+                writeField(out, pattern == null
+                    ? formatPlainDecimal(Float.toString(floatValue))
+                    : dataFormatter.formatRawCellContents(
+                        Double.parseDouble(Float.toString(floatValue)), -1, pattern));
+                return;
+            case DOUBLE:
+                double doubleValue = accessor.getDouble(data);
+                writeField(out, pattern == null
+                    ? formatPlainDecimal(Double.toString(doubleValue))
+                    : dataFormatter.formatRawCellContents(doubleValue, -1, pattern));
+                return;
+            default:
+                writeField(out, formatValue(position, accessor.get(data)));
+        }
+    }
+
+    /**
+     * Writes an integral value in decimal notation without creating a String. The value is
+     * written as a field when the delimiter could be one of its characters, so it is quoted.
+     */
+    private void writeLong(Writer out, long value) throws IOException {
+        if (value == Long.MIN_VALUE || delimiter == '-' || (delimiter >= '0' && delimiter <= '9')) {
+            writeField(out, Long.toString(value));
+            return;
+        }
+
+        long remaining = Math.abs(value);
+        int start = digits.length;
+        do {
+            digits[--start] = (char) ('0' + remaining % 10);
+            remaining /= 10;
+        } while (remaining != 0);
+        if (value < 0) {
+            digits[--start] = '-';
+        }
+        out.write(digits, start, digits.length - start);
+    }
+
+    /**
+     * Formats the value of the column at the given position.
+     *
+     * @return the formatted value, or null for an empty field
+     * @throws ExcelException if the value does not match the column data type
+     */
+    private String formatValue(int position, Object value) {
+        if (value == null) {
+            return null;
+        }
+
+        String pattern = dataFormatPatterns[position];
+        try {
+            switch (columnTypes[position]) {
+                case NUMBER:
+                    return pattern == null
+                        ? formatPlainNumber((Number) value)
+                        : dataFormatter.formatRawCellContents(toDouble((Number) value), -1,
+                            pattern);
+                case DATE:
+                    return formatDate(DateUtil.getExcelDate((Date) value), pattern, value);
+                case LOCAL_DATE:
+                    return formatDate(DateUtil.getExcelDate((LocalDate) value), pattern, value);
+                case LOCAL_DATE_TIME:
+                    return formatDate(DateUtil.getExcelDate((LocalDateTime) value), pattern,
+                        value);
+                case FORMULA:
+                    return "=" + value;
+                default:
+                    return value.toString();
+            }
+        } catch (ClassCastException e) {
+            throw new ExcelException("Failed to set cell value by cell type: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Formats an Excel serial date with the pattern. Dates Excel cannot represent (before 1900)
+     * are written as their String representation.
+     */
+    private String formatDate(double excelDate, String pattern, Object value) {
+        return excelDate < 0
+            ? value.toString()
+            : dataFormatter.formatRawCellContents(excelDate, -1, pattern);
+    }
+
+    /**
+     * Formats a number in plain decimal notation, without a fraction part for integral values,
+     * keeping the decimal representation of {@link Float} values and all digits of
+     * {@link BigDecimal} and {@link BigInteger} values.
+     */
+    private static String formatPlainNumber(Number number) {
+        if (number instanceof Integer || number instanceof Long
+            || number instanceof Short || number instanceof Byte) {
+            return Long.toString(number.longValue());
+        }
+        if (number instanceof BigDecimal) {
+            return ((BigDecimal) number).toPlainString();
+        }
+        if (number instanceof BigInteger) {
+            // All digits, as a double cannot represent integers above 2^53
+            return number.toString();
+        }
+
+        return formatPlainDecimal(number instanceof Float ? number.toString()
+            : Double.toString(number.doubleValue()));
+    }
+
+    /**
+     * Converts the String representation of a floating-point value to plain decimal notation,
+     * without a fraction part for integral values.
+     */
+    private static String formatPlainDecimal(String text) {
+        if (text.endsWith(".0")) {
+            return text.substring(0, text.length() - 2);
+        }
+        if (text.indexOf('E') >= 0) {
+            return new BigDecimal(text).toPlainString();
+        }
+        return text;
+    }
+
+    private static double toDouble(Number number) {
+        if (number instanceof Float) {
+            return Double.parseDouble(number.toString());
+        }
+        return number.doubleValue();
+    }
+
+    /**
+     * Writes a field, quoting it if it contains the delimiter, a double quote or a line break.
+     */
+    private void writeField(Writer out, String value) throws IOException {
+        if (value == null || value.isEmpty()) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            out.write(value);
+            return;
+        }
+
+        out.write('"');
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == '"') {
+                out.write(value, start, i + 1 - start);
+                out.write('"');
+                start = i + 1;
+            }
+        }
+        out.write(value, start, value.length() - start);
+        out.write('"');
+    }
+
+    private boolean needsQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == delimiter || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Releases the data of the exporter without writing the file.
+     * Closing an exporter that is already written or closed has no effect.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        deferredData.clear();
+    }
+}
@@ -0,0 +1,106 @@
+package io.github.hee9841.excel.core.exporter;
+
+import io.github.hee9841.excel.exception.ExcelException;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Builder class for creating and configuring {@link CsvExporter} instances.
+ *
+ * <p>Default configuration:</p>
+ * <ul>
+ *     <li>Delimiter: comma ({@code ,})</li>
+ *     <li>Charset: UTF-8</li>
+ *     <li>Header: written</li>
+ * </ul>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * CsvExporter.builder(MyData.class, dataList)
+ *     .delimiter(';')
+ *     .charset(StandardCharsets.ISO_8859_1)
+ *     .build()
+ *     .write(outputStream);
+ * </pre>
+ *
+ * @param <T> The type of data to be exported
+ */
+public class CsvExporterBuilder<T> {
+
+    private final Class<T> type;
+    private final Iterable<T> data;
+
+    private char delimiter;
+    private Charset charset;
+    private boolean writeHeader;
+
+    /**
+     * Constructs a new CsvExporterBuilder with the specified type and data.
+     *
+     * @param type The class type of the data to be exported
+     * @param data The data objects to be exported
+     */
+    CsvExporterBuilder(Class<T> type, Iterable<T> data) {
+        this.type = type;
+        this.data = data;
+        this.delimiter = ',';
+        this.charset = StandardCharsets.UTF_8;
+        this.writeHeader = true;
+    }
+
+    /**
+     * Sets the delimiter between fields.
+     *
+     * @param delimiter The delimiter, e.g. {@code ';'} or {@code '\t'}
+     * @return This builder instance for method chaining
+     * @throws ExcelException if the delimiter is a double quote or a line break
+     */
+    public CsvExporterBuilder<T> delimiter(char delimiter) {
+        if (delimiter == '"' || delimiter == '\r' || delimiter == '\n') {
+            throw new ExcelException("The delimiter cannot be a double quote or a line break.");
+        }
+        this.delimiter = delimiter;
+        return this;
+    }
+
+    /**
+     * Sets the charset the file is encoded with.
+     *
+     * @param charset The charset of the file
+     * @return This builder instance for method chaining
+     * @throws ExcelException if the charset is null
+     */
+    public CsvExporterBuilder<T> charset(Charset charset) {
+        if (charset == null) {
+            throw new ExcelException("The charset cannot be null.");
+        }
+        this.charset = charset;
+        return this;
+    }
+
+    /**
+     * Sets whether the header line with the header names is written.
+     *
+     * @param writeHeader true to write the header line, false to write only the data
+     * @return This builder instance for method chaining
+     */
+    public CsvExporterBuilder<T> header(boolean writeHeader) {
+        this.writeHeader = writeHeader;
+        return this;
+    }
+
+    /**
+     * Builds and returns a new CsvExporter instance with the configured settings.
+     *
+     * @return A new CsvExporter instance
+     */
+    public CsvExporter<T> build() {
+        return new CsvExporter<>(
+            this.type,
+            this.data,
+            this.delimiter,
+            this.charset,
+            this.writeHeader
+        );
+    }
+}
@@ -0,0 +1,34 @@
+package io.github.hee9841.excel.core.exporter;
+
+import java.util.List;
+
+/**
+ * Fetches the data to be exported page by page after the last row of the previous page, e.g.
+ * with keyset pagination on a database.
+ *
+ * <p>Unlike {@link PageFetcher}, which skips the rows of the previous pages by their index, a
+ * cursor fetcher seeks to the rows after the given one, so fetching a page does not get slower as
+ * the export goes on. Pages are fetched in order. A page with fewer rows than the page size
+ * (including an empty page or null) is the last page.</p>
+ *
+ * <pre>
+ * CursorPageFetcher&lt;MyData&gt; fetcher = (lastRow, pageSize) -&gt; lastRow == null
+ *     ? repository.findFirstPage(pageSize)
+ *     : repository.findPageAfter(lastRow.getId(), pageSize);
+ * </pre>
+ *
+ * @param <T> The type of data to be fetched
+ * @see DefaultExcelExporter#cursorBuilder(Class, CursorPageFetcher, int)
+ */
+@FunctionalInterface
+public interface CursorPageFetcher<T> {
+
+    /**
+     * Fetches the page of data following the given row.
+     *
+     * @param lastRow  The last row of the previous page, or null to fetch the first page
+     * @param pageSize The maximum number of rows of the page
+     * @return The rows of the page
+     */
+    List<T> fetch(T lastRow, int pageSize);
+}
@@ -2,9 +2,22 @@ package io.github.hee9841.excel.core.exporter;
 
 import io.github.hee9841.excel.exception.ExcelException;
 import io.github.hee9841.excel.strategy.SheetStrategy;
+import java.io.IOException;
+import java.io.OutputStream;
 import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.stream.Stream;
+import org.apache.commons.compress.archivers.zip.Zip64Mode;
 import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
 
 /**
  * DefaultExcelExporter is a concrete implementation of {@link SXSSFExporter} that provides functionality
@@ -18,6 +31,31 @@ import org.apache.poi.ss.usermodel.Sheet;
  *     <li>MULTI_SHEET - Data is split across multiple sheets when exceeding max rows per sheet</li>
  * </ul>
  *
+ * <p>The data can be given as a {@link List}, an {@link Iterable}, an {@link Iterator}, a
+ * {@link Stream}, a {@link PageFetcher} or a {@link CursorPageFetcher}. Rows are pulled from the data one by one while the sheets are written, so
+ * data that is not a {@link Collection} is never held in memory all at once. Since its size is
+ * not known in advance, the ONE_SHEET limit is checked as rows are written.</p>
+ *
+ * <p>With {@link DefaultExcelExporterBuilder#directWrite(boolean)}, the data and the rows added
+ * with {@code addRows} are kept until {@link #write(OutputStream)}, which pulls their rows and
+ * streams them straight into the output stream instead of temporary sheet files. Errors of the
+ * rows, such as exceeding the ONE_SHEET limit, are then thrown by {@code write}, after part of
+ * the file was written.</p>
+ *
+ * <p>With {@link DefaultExcelExporterBuilder#parallelSheets(ForkJoinPool)} and the MULTI_SHEET
+ * strategy, the rows of a {@link List} are split into the sheets they belong to, which are created
+ * in order on the calling thread and then filled concurrently on the pool, one task per sheet.</p>
+ *
+ * <p>With {@link DefaultExcelExporterBuilder#pipeline(ThreadFactory, int)}, the rows are fetched
+ * from the data and their column values read on two stage threads, while the thread adding the
+ * rows only sets the values to the cells and writes them. See {@link RowPipeline}.</p>
+ *
+ * <p>Unless the rows are written directly, the Zip64 mode of the sheet strategy is only the
+ * initial one: when the workbook is written, the rows of every sheet are flushed and the Zip64
+ * format is used only if a serialized sheet, or the shared strings table, is projected to
+ * approach the 4 GB limit of a zip entry (see {@link #ZIP64_SHEET_DATA_THRESHOLD}). Small files are then compact and readable by
+ * older zip readers, whatever the strategy.</p>
+ *
  * <p>Use the {@link DefaultExcelExporterBuilder} to configure and instantiate this class.</p>
  *
  * @param <T> The type of data to be exported to Excel. The type must be annotated appropriately
@@ -28,12 +66,30 @@ import org.apache.poi.ss.usermodel.Sheet;
  */
 public class DefaultExcelExporter<T> extends SXSSFExporter<T> {
 
-    private static final String EXCEED_MAX_ROW_MSG_2ARGS =
+    static final String EXCEED_MAX_ROW_MSG_2ARGS =
         "The data size exceeds the maximum number of rows allowed per sheet. "
             + "The sheet strategy is set to ONE_SHEET but the data size is larger than "
             + "the maximum rows per sheet (data size: {0}, maximum rows: {1} ).\n"
             + "Please change the sheet strategy to MULTI_SHEET or reduce the data size.";
 
+    static final String EXCEED_MAX_ROW_MSG_1ARG =
+        "The data size exceeds the maximum number of rows allowed per sheet. "
+            + "The sheet strategy is set to ONE_SHEET but the data has more rows than "
+            + "the maximum rows per sheet (maximum rows: {0} ).\n"
+            + "Please change the sheet strategy to MULTI_SHEET or reduce the data size.";
+
+    /**
+     * Data size used when the size of the data is not known in advance
+     */
+    static final int UNKNOWN_DATA_SIZE = -1;
+
+    /**
+     * The size of the serialized data of an entry, the rows of a sheet or the shared strings,
+     * from which the Zip64 format is always used. It leaves room below the 4 GB limit of a zip
+     * entry for the rest of the entry XML and the rows still buffered by the sheet writers.
+     */
+    static final long ZIP64_SHEET_DATA_THRESHOLD = 3L * 1024 * 1024 * 1024;
+
     private static final int ROW_START_INDEX = 0;
     private int currentRowIndex = ROW_START_INDEX;
 
@@ -44,6 +100,22 @@ public class DefaultExcelExporter<T> extends SXSSFExporter<T> {
 
     private Sheet currentSheet;
 
+    /**
+     * The pool the sheets are filled on, or null to fill them on the calling thread
+     */
+    private final ForkJoinPool sheetPool;
+
+    /**
+     * The factory of the pipeline stage threads, or null to add rows without a pipeline
+     */
+    private final ThreadFactory pipelineThreadFactory;
+    private final int pipelineBatchSize;
+
+    /**
+     * The data whose rows are added when the workbook is written, with direct write
+     */
+    private final List<Iterable<T>> deferredData = new ArrayList<>();
+
 
     /**
      * Constructs an DefaultExcelExporter with the specified configuration.
@@ -52,25 +124,48 @@ public class DefaultExcelExporter<T> extends SXSSFExporter<T> {
      * to create instances of DefaultExcelExporter.</p>
      *
      * @param type            The class type of the data to be exported
-     * @param data            The list of data objects to be exported
+     * @param data            The data objects to be exported
      * @param sheetStrategy   The strategy for sheet management (ONE_SHEET or MULTI_SHEET)
      * @param sheetName       Base name for sheets (null for default names)
      * @param maxRowsPerSheet Maximum number of rows allowed per sheet
+     * @param options         The options of the SXSSF workbook
+     * @param sheetPool       The pool the sheets of list data are filled on, or null to fill them
+     *                        on the calling thread
+     * @param pipelineThreadFactory The factory of the pipeline stage threads, or null to add rows
+     *                              without a pipeline
+     * @param pipelineBatchSize     The number of rows passed between the pipeline stages at a time
      */
     DefaultExcelExporter(
         Class<T> type,
-        List<T> data,
+        Iterable<T> data,
         SheetStrategy sheetStrategy,
         String sheetName,
-        int maxRowsPerSheet
+        int maxRowsPerSheet,
+        SXSSFOptions options,
+        ForkJoinPool sheetPool,
+        ThreadFactory pipelineThreadFactory,
+        int pipelineBatchSize
     ) {
-        super();
+        super(options);
         this.maxRowsPerSheet = maxRowsPerSheet;
         this.sheetName = sheetName;
+        this.sheetPool = sheetPool;
+        this.pipelineThreadFactory = pipelineThreadFactory;
+        this.pipelineBatchSize = pipelineBatchSize;
         setSheetStrategy(sheetStrategy);
 
-        this.initialize(type, data);
-        this.createExcel(data);
+        try {
+            this.initialize(type, data);
+            if (isDirectWrite()) {
+                deferredData.add(data);
+            } else {
+                this.createExcel(data);
+            }
+        } catch (RuntimeException e) {
+            // Delete the temporary files of the sheets created so far
+            close();
+            throw e;
+        }
     }
 
 
@@ -83,13 +178,125 @@ public class DefaultExcelExporter<T> extends SXSSFExporter<T> {
      * @return A new DefaultExcelExporterBuilder instance
      */
     public static <T> DefaultExcelExporterBuilder<T> builder(Class<T> type, List<T> data) {
+        return builder(type, (Iterable<T>) data);
+    }
+
+    /**
+     * Creates a new builder for configuring and instantiating an DefaultExcelExporter.
+     * The data is iterated once, while the exporter is built.
+     *
+     * @param <T>  The type of data to be exported
+     * @param type The class of the data type
+     * @param data The data objects to be exported
+     * @return A new DefaultExcelExporterBuilder instance
+     */
+    public static <T> DefaultExcelExporterBuilder<T> builder(Class<T> type, Iterable<T> data) {
         return new DefaultExcelExporterBuilder<>(type, data, supplyExcelVersion.getMaxRows());
     }
 
+    /**
+     * Creates a new builder for configuring and instantiating an DefaultExcelExporter.
+     * The remaining rows of the iterator are pulled lazily while the exporter is built.
+     *
+     * @param <T>  The type of data to be exported
+     * @param type The class of the data type
+     * @param data The iterator of data objects to be exported
+     * @return A new DefaultExcelExporterBuilder instance
+     */
+    public static <T> DefaultExcelExporterBuilder<T> builder(Class<T> type, Iterator<T> data) {
+        return builder(type, (Iterable<T>) () -> data);
+    }
+
+    /**
+     * Creates a new builder for configuring and instantiating an DefaultExcelExporter.
+     * The rows of the stream are pulled lazily while the exporter is built.
+     * The stream is consumed but not closed; closing it remains the responsibility of the caller.
+     *
+     * @param <T>  The type of data to be exported
+     * @param type The class of the data type
+     * @param data The stream of data objects to be exported
+     * @return A new DefaultExcelExporterBuilder instance
+     */
+    public static <T> DefaultExcelExporterBuilder<T> builder(Class<T> type, Stream<T> data) {
+        return builder(type, (Iterable<T>) data::iterator);
+    }
+
+    /**
+     * Creates a new builder for configuring and instantiating an DefaultExcelExporter that
+     * exports the pages fetched by the given fetcher.
+     * Pages are fetched one after another while the exporter is built, and only the page being
+     * written is held in memory. Use {@link DefaultExcelExporterBuilder#prefetch(Executor)} to
+     * fetch the next page while the current one is written.
+     *
+     * @param <T>      The type of data to be exported
+     * @param type     The class of the data type
+     * @param fetcher  The fetcher of the pages of data objects to be exported
+     * @param pageSize The number of rows requested per page
+     * @return A new DefaultExcelExporterBuilder instance
+     * @throws ExcelException if the fetcher is null or the page size is not positive
+     */
+    public static <T> DefaultExcelExporterBuilder<T> builder(Class<T> type,
+        PageFetcher<T> fetcher, int pageSize) {
+        return builder(type, PagedData.of(fetcher, pageSize));
+    }
+
+    /**
+     * Creates a new builder for configuring and instantiating an DefaultExcelExporter that
+     * exports the pages fetched by the given cursor fetcher, each one after the last row of the
+     * previous page (keyset pagination).
+     * Pages are fetched one after another while the exporter is built, and only the page being
+     * written is held in memory. Use {@link DefaultExcelExporterBuilder#prefetch(Executor)} to
+     * fetch the next page while the current one is written.
+     *
+     * @param <T>      The type of data to be exported
+     * @param type     The class of the data type
+     * @param fetcher  The fetcher of the pages of data objects to be exported
+     * @param pageSize The number of rows requested per page
+     * @return A new DefaultExcelExporterBuilder instance
+     * @throws ExcelException if the fetcher is null or the page size is not positive
+     */
+    public static <T> DefaultExcelExporterBuilder<T> cursorBuilder(Class<T> type,
+        CursorPageFetcher<T> fetcher, int pageSize) {
+        return builder(type, PagedData.of(fetcher, pageSize));
+    }
+
+    /**
+     * Creates a new builder for configuring and instantiating an {@link ExcelSubscriber} that
+     * exports the rows of a Reactive Streams publisher and writes the Excel file to the given
+     * output stream when the publisher completes.
+     *
+     * @param <T>    The type of data to be exported
+     * @param type   The class of the data type
+     * @param stream The output stream to write the Excel file to
+     * @return A new ExcelSubscriberBuilder instance
+     * @throws ExcelException if the output stream is null
+     */
+    public static <T> ExcelSubscriberBuilder<T> subscriber(Class<T> type, OutputStream stream) {
+        return new ExcelSubscriberBuilder<>(type, stream, supplyExcelVersion.getMaxRows());
+    }
+
+    /**
+     * Creates a new builder for configuring and instantiating a {@link RollingExcelExporter} that
+     * exports the rows into several Excel files, rolling over into a new file after a number of
+     * rows or an estimated file size.
+     *
+     * @param <T>     The type of data to be exported
+     * @param type    The class of the data type
+     * @param streams Opens the output stream of each file
+     * @return A new RollingExcelExporterBuilder instance
+     * @throws ExcelException if the part stream factory is null
+     */
+    public static <T> RollingExcelExporterBuilder<T> rolling(Class<T> type,
+        PartStreamFactory streams) {
+        return new RollingExcelExporterBuilder<>(type, streams, supplyExcelVersion.getMaxRows());
+    }
+
     /**
      * Sets the sheet strategy for this exporter.
      *
-     * <p>This method also configures the workbook's Zip64 mode based on the selected strategy.</p>
+     * <p>This method also configures the workbook's Zip64 mode based on the selected strategy.
+     * The mode is kept with direct write, and chosen again from the size of the sheets when the
+     * workbook is written otherwise.</p>
      *
      * @param strategy The sheet strategy to use (ONE_SHEET or MULTI_SHEET)-
      */
@@ -107,18 +314,25 @@ public class DefaultExcelExporter<T> extends SXSSFExporter<T> {
      * Validates the data size against the maximum rows per sheet limit.
      *
      * <p>This method checks if the data size exceeds the maximum allowed rows per sheet
-     * when using ONE_SHEET strategy. If the limit is exceeded, an ExcelException is thrown.</p>
+     * when using ONE_SHEET strategy. If the limit is exceeded, an ExcelException is thrown.
+     * When the data is not a {@link Collection}, its size is unknown and the limit is checked
+     * while rows are added instead.</p>
      *
      * @param type The class type of the data being validated
-     * @param data The list of data objects to be validated
+     * @param data The data objects to be validated
      * @throws ExcelException if data size exceeds max rows limit with ONE_SHEET strategy
      */
     @Override
-    protected void validate(Class<?> type, List<T> data) {
-        if (SheetStrategy.isOneSheet(sheetStrategy) && data.size() > maxRowsPerSheet - 1) {
+    protected void validate(Class<?> type, Iterable<T> data) {
+        if (!(data instanceof Collection)) {
+            return;
+        }
+
+        int dataSize = ((Collection<T>) data).size();
+        if (SheetStrategy.isOneSheet(sheetStrategy) && dataSize > maxRowsPerSheet - 1) {
             throw new ExcelException(
                 MessageFormat.format(EXCEED_MAX_ROW_MSG_2ARGS,
-                    data.size(), maxRowsPerSheet
+                    dataSize, maxRowsPerSheet
                 ), dtoTypeName);
         }
     }
@@ -132,22 +346,34 @@ public class DefaultExcelExporter<T> extends SXSSFExporter<T> {
      *   <li>Otherwise, it creates a sheet with headers and adds all data rows</li>
      * </ul>
      *
-     * @param data The list of data objects to be exported
+     * @param data The data objects to be exported
      */
     @Override
-    protected void createExcel(List<T> data) {
+    protected void createExcel(Iterable<T> data) {
 
         currentSheet = createNewSheet(sheetName, 0);
         createHeader(currentSheet, ROW_START_INDEX);
 
         // 1. If data is empty, create createHeader only.
-        if (data.isEmpty()) {
-            logger.warn("Empty data provided - Excel file will be created with headers only.");
-            return;
-        }
+        Iterator<T> rows = data.iterator();
+        try {
+            if (!rows.hasNext()) {
+                logger.warn("Empty data provided - Excel file will be created with headers only.");
+                return;
+            }
 
-        //2. Add Rows
-        addRows(data);
+            //2. Add Rows
+            if (data instanceof List && isParallelSheets()) {
+                addRowsInParallel((List<T>) data);
+                return;
+            }
+            addRows(rows, data instanceof Collection
+                ? ((Collection<T>) data).size()
+                : UNKNOWN_DATA_SIZE);
+        } finally {
+            // A page still being fetched is not needed anymore, e.g. after a failure
+            PagedData.cancelPrefetch(rows);
+        }
     }
 
     /**
@@ -164,16 +390,69 @@ public class DefaultExcelExporter<T> extends SXSSFExporter<T> {
      */
     @Override
     public void addRows(List<T> data) {
-        int leftDataSize = data.size();
-        for (Object renderedData : data) {
-            createBody(currentSheet, renderedData, currentRowIndex++);
-            leftDataSize--;
-            if (currentRowIndex == maxRowsPerSheet && leftDataSize > 0) {
+        if (isDirectWrite()) {
+            deferredData.add(data);
+            return;
+        }
+        if (isParallelSheets()) {
+            addRowsInParallel(data);
+            return;
+        }
+        addRows(data.iterator(), data.size());
+    }
+
+    /**
+     * Adds rows to the current sheet for the remaining data of the iterator.
+     * Rows are pulled from the iterator one by one.
+     *
+     * <p>If the number of rows exceeds the maximum allowed per sheet and the sheet strategy
+     * is MULTI_SHEET, a new sheet will be created to continue adding rows.</p>
+     *
+     * <p>If the sheet strategy is ONE_SHEET and the iterator has more rows than fit in the sheet,
+     * an ExcelException will be thrown once the sheet is full.</p>
+     *
+     * @param data The iterator of data objects to be added as rows
+     * @throws ExcelException if ONE_SHEET strategy is used and data exceeds max rows limit
+     */
+    @Override
+    public void addRows(Iterator<T> data) {
+        if (isDirectWrite()) {
+            deferredData.add(() -> data);
+            return;
+        }
+        addRows(data, UNKNOWN_DATA_SIZE);
+    }
+
+    private void addRows(Iterator<T> data, int dataSize) {
+        if (pipelineThreadFactory == null) {
+            addRows(data, dataSize, this::createBody);
+            return;
+        }
+        try (RowPipeline rows = RowPipeline.start(data, columnPlan, pipelineThreadFactory,
+            pipelineBatchSize)) {
+            addRows(rows, dataSize, this::createBodyFromValues);
+        }
+    }
+
+    /**
+     * Adds the rows, creating each one in the current sheet with the given row creator.
+     *
+     * @param rows       The rows to add: data objects, or their column values with a pipeline
+     * @param dataSize   The number of rows, or {@link #UNKNOWN_DATA_SIZE}
+     * @param rowCreator Creates a row of the sheet from a row
+     */
+    private <R> void addRows(Iterator<R> rows, int dataSize, RowCreator<R> rowCreator) {
+        while (rows.hasNext()) {
+            R renderedData = rows.next();
+            // The current sheet is full and there is another row to add
+            // (also when the sheet was filled by a previous call)
+            if (currentRowIndex == maxRowsPerSheet) {
                 //If one sheet strategy, throw exception
                 if (SheetStrategy.isOneSheet(sheetStrategy)) {
-                    throw new ExcelException(
-                        MessageFormat.format(EXCEED_MAX_ROW_MSG_2ARGS,
-                            data.size(), maxRowsPerSheet), dtoTypeName);
+                    throw new ExcelException(dataSize == UNKNOWN_DATA_SIZE
+                        ? MessageFormat.format(EXCEED_MAX_ROW_MSG_1ARG, maxRowsPerSheet)
+                        : MessageFormat.format(EXCEED_MAX_ROW_MSG_2ARGS,
+                            dataSize, maxRowsPerSheet), dtoTypeName);
                 }
 
                 //If multi sheet strategy, create new sheet
@@ -181,9 +460,150 @@ public class DefaultExcelExporter<T> extends SXSSFExporter<T> {
                 currentSheet = createNewSheet(sheetName, workbook.getSheetIndex(currentSheet) + 1);
                 createHeader(currentSheet, ROW_START_INDEX);
             }
+            rowCreator.createRow(currentSheet, renderedData, currentRowIndex++);
         }
     }
 
+    /**
+     * Creates a row of a sheet from a data object, or from its column values.
+     */
+    @FunctionalInterface
+    private interface RowCreator<R> {
+
+        void createRow(Sheet sheet, R row, int rowIndex);
+    }
+
+    private boolean isParallelSheets() {
+        return sheetPool != null && !SheetStrategy.isOneSheet(sheetStrategy);
+    }
+
+    /**
+     * Adds the rows of the list with the MULTI_SHEET strategy, filling the sheets concurrently.
+     *
+     * <p>The list is split into the rows that fit in the current sheet and the rows of each new
+     * sheet. The sheets and their headers are created in order on the calling thread, then each
+     * sheet's rows are created by its own task on the sheet pool. Every sheet writes its own
+     * temporary file and no shared strings table is used, so the tasks share only the read-only
+     * column plan and cell styles. This method returns once all the tasks are done.</p>
+     *
+     * @param data The list of data objects to be added as rows
+     * @throws ExcelException if a row cannot be created
+     */
+    private void addRowsInParallel(List<T> data) {
+        List<Runnable> sheetTasks = new ArrayList<>();
+        int fromIndex = 0;
+        while (fromIndex < data.size()) {
+            if (currentRowIndex == maxRowsPerSheet) {
+                currentRowIndex = ROW_START_INDEX;
+                currentSheet = createNewSheet(sheetName, workbook.getSheetIndex(currentSheet) + 1);
+                createHeader(currentSheet, ROW_START_INDEX);
+            }
+            int toIndex = Math.min(data.size(), fromIndex + maxRowsPerSheet - currentRowIndex);
+            sheetTasks.add(fillSheetTask(currentSheet, data.subList(fromIndex, toIndex),
+                currentRowIndex));
+            currentRowIndex += toIndex - fromIndex;
+            fromIndex = toIndex;
+        }
+
+        List<CompletableFuture<Void>> filledSheets = new ArrayList<>();
+        for (Runnable sheetTask : sheetTasks) {
+            filledSheets.add(CompletableFuture.runAsync(sheetTask, sheetPool));
+        }
+        // Wait for every sheet before failing, so that no task writes a closed workbook
+        Throwable failure = null;
+        for (CompletableFuture<Void> filledSheet : filledSheets) {
+            try {
+                filledSheet.join();
+            } catch (CompletionException e) {
+                if (failure == null) {
+                    failure = e.getCause();
+                }
+            }
+        }
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        if (failure != null) {
+            throw new ExcelException("Failed to fill sheets in parallel.", dtoTypeName, failure);
+        }
+    }
+
+    private Runnable fillSheetTask(Sheet sheet, List<T> rows, int startRowIndex) {
+        return () -> {
+            int rowIndex = startRowIndex;
+            for (T row : rows) {
+                createBody(sheet, row, rowIndex++);
+            }
+        };
+    }
+
+    /**
+     * Writes the workbook to the output stream.
+     * With direct write, the sheets and rows of the deferred data are created here, while their
+     * XML is streamed into the output stream.
+     *
+     * @param stream The output stream to write the Excel file to
+     * @throws IOException if an I/O error occurs during writing
+     */
+    @Override
+    protected void writeWorkbook(OutputStream stream) throws IOException {
+        if (!isDirectWrite()) {
+            selectZip64Mode();
+            super.writeWorkbook(stream);
+            return;
+        }
+
+        ((DirectWriteWorkbook) workbook).start(stream);
+        Iterator<Iterable<T>> deferred = deferredData.iterator();
+        createExcel(deferred.next());
+        while (deferred.hasNext()) {
+            Iterable<T> data = deferred.next();
+            addRows(data.iterator(), data instanceof Collection
+                ? ((Collection<T>) data).size()
+                : UNKNOWN_DATA_SIZE);
+        }
+        deferredData.clear();
+        super.writeWorkbook(stream);
+    }
+
+    /**
+     * Sets the Zip64 mode of the workbook from the projected size of its largest entry.
+     *
+     * <p>The rows of every sheet are flushed to their temporary files, which the workbook would
+     * otherwise do while it is written, so the serialized size of the rows of each sheet is known.
+     * The Zip64 format is always used once a sheet, or the shared strings table when it is used,
+     * reaches {@link #ZIP64_SHEET_DATA_THRESHOLD}; below it, no entry of the package can exceed
+     * the 4 GB limit of a zip entry, and the Zip64 format is used only where the zip stream needs
+     * it, e.g. for the offsets of a package larger than 4 GB.</p>
+     *
+     * @throws IOException if the rows cannot be flushed
+     */
+    private void selectZip64Mode() throws IOException {
+        TempFileTrackingWorkbook trackingWorkbook = (TempFileTrackingWorkbook) workbook;
+        long rows = 0;
+        long largestSheetDataSize = 0;
+        for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
+            SXSSFSheet sheet = workbook.getSheetAt(i);
+            sheet.flushRows();
+            rows += sheet.getPhysicalNumberOfRows();
+            largestSheetDataSize = Math.max(largestSheetDataSize,
+                trackingWorkbook.getSheetDataSize(i));
+        }
+        long sharedStringsSize = trackingWorkbook.getSharedStringsSize();
+
+        Zip64Mode zip64Mode =
+            Math.max(largestSheetDataSize, sharedStringsSize) >= ZIP64_SHEET_DATA_THRESHOLD
+                ? Zip64Mode.Always
+                : Zip64Mode.AsNeeded;
+        workbook.setZip64Mode(zip64Mode);
+        logger.debug("Set Zip64Mode from sheet size - rows: {}, largest sheet data: {} bytes, "
+                + "shared strings: {} bytes, Zip64Mode: {}.", rows, largestSheetDataSize,
+            sharedStringsSize, zip64Mode.name());
+    }
+
     /**
      * Override createHeader Method to add currentRowIndex.
      *
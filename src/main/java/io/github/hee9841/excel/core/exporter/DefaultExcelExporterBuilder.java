@@ -2,7 +2,10 @@ package io.github.hee9841.excel.core.exporter;
 
 import io.github.hee9841.excel.exception.ExcelException;
 import io.github.hee9841.excel.strategy.SheetStrategy;
-import java.util.List;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
 
 /**
  * Builder class for creating and configuring {@link DefaultExcelExporter} instances.
@@ -14,6 +17,7 @@ import java.util.List;
  *     <li>Sheet Strategy: MULTI_SHEET</li>
  *     <li>Max Rows per Sheet: Excel 2007+ maximum - 1</li>
  *     <li>Sheet Name: null (default sheet names will be used)</li>
+ *     <li>Workbook options: {@link SXSSFOptions#defaults()}</li>
  * </ul>
  *
  * <p>Example usage:</p>
@@ -23,6 +27,36 @@ import java.util.List;
  *     .maxRows(10000)
  *     .sheetName("MySheet")
  *     .build();
+ *
+ * // Pages are fetched while rows are written, the next page on the executor
+ * DefaultExcelExporter.builder(MyData.class,
+ *         (pageIndex, pageSize) -&gt; repository.findPage(pageIndex, pageSize), 1000)
+ *     .prefetch(executor)
+ *     .build()
+ *     .write(outputStream);
+ *
+ * // Rows are streamed into the output stream while it is written, without temp files
+ * DefaultExcelExporter.builder(MyData.class, dataList)
+ *     .directWrite(true)
+ *     .build()
+ *     .write(outputStream);
+ *
+ * // Sheets of a large list are filled concurrently
+ * DefaultExcelExporter.builder(MyData.class, dataList)
+ *     .parallelSheets(ForkJoinPool.commonPool())
+ *     .build()
+ *     .write(outputStream);
+ *
+ * // Rows are fetched and converted on their own threads while they are written
+ * DefaultExcelExporter.builder(MyData.class, repository.streamAll())
+ *     .pipeline(Executors.defaultThreadFactory(), 500)
+ *     .build()
+ *     .write(outputStream);
+ *
+ * // Rows of a stream (or an Iterator / Iterable) are pulled lazily
+ * try (Stream&lt;MyData&gt; rows = repository.streamAll()) {
+ *     DefaultExcelExporter.builder(MyData.class, rows).build().write(outputStream);
+ * }
  * </pre>
  *
  * @param <T> The type of data to be exported
@@ -30,24 +64,28 @@ import java.util.List;
 public class DefaultExcelExporterBuilder<T> {
 
     private final Class<T> type;
-    private final List<T> data;
+    private Iterable<T> data;
 
     private final int supplyExcelMaxRows;
 
     private int maxRowsPerSheet;
     private SheetStrategy sheetStrategy;
     private String sheetName;
+    private SXSSFOptions options;
+    private ForkJoinPool sheetPool;
+    private ThreadFactory pipelineThreadFactory;
+    private int pipelineBatchSize;
 
     /**
      * Constructs a new DefaultExcelExporterBuilder with the specified type and data.
      *
      * @param type               The class type of the data to be exported
-     * @param data               The list of data objects to be exported
+     * @param data               The data objects to be exported
      * @param supplyExcelMaxRows The maximum number of rows supported by the Excel version
      */
     DefaultExcelExporterBuilder(
         Class<T> type,
-        List<T> data,
+        Iterable<T> data,
         int supplyExcelMaxRows
     ) {
         this.type = type;
@@ -56,6 +94,7 @@ public class DefaultExcelExporterBuilder<T> {
         this.maxRowsPerSheet = supplyExcelMaxRows - 1;
         this.sheetStrategy = SheetStrategy.MULTI_SHEET;
         this.sheetName = null;
+        this.options = SXSSFOptions.defaults();
     }
 
     /**
@@ -104,18 +143,225 @@ public class DefaultExcelExporterBuilder<T> {
         return this;
     }
 
+    /**
+     * Sets the number of rows kept in memory before older rows are flushed to the temporary
+     * sheet files of the SXSSF workbook.
+     *
+     * @param rowAccessWindowSize The number of rows kept in memory, or -1 to keep all rows
+     * @return This builder instance for method chaining
+     * @throws ExcelException if the window size is 0 or less than -1
+     */
+    public DefaultExcelExporterBuilder<T> windowSize(int rowAccessWindowSize) {
+        this.options = options.withRowAccessWindowSize(rowAccessWindowSize);
+        return this;
+    }
+
+    /**
+     * Sets whether the temporary sheet files are gzip-compressed.
+     * Compression trades CPU time for less disk usage.
+     *
+     * @param compressTempFiles Whether to compress the temporary sheet files
+     * @return This builder instance for method chaining
+     */
+    public DefaultExcelExporterBuilder<T> compressTempFiles(boolean compressTempFiles) {
+        this.options = options.withCompressTempFiles(compressTempFiles);
+        return this;
+    }
+
+    /**
+     * Sets whether string cell values are written to a shared strings table instead of inline.
+     * The table is held in memory, so it suits data with many repeated strings.
+     *
+     * @param useSharedStringsTable Whether to use a shared strings table
+     * @return This builder instance for method chaining
+     */
+    public DefaultExcelExporterBuilder<T> useSharedStringsTable(boolean useSharedStringsTable) {
+        this.options = options.withUseSharedStringsTable(useSharedStringsTable);
+        return this;
+    }
+
+    /**
+     * Sets the directory the temporary sheet files of this export are created in.
+     *
+     * @param tempDirectory An existing directory, or null for POI's default temp directory
+     * @return This builder instance for method chaining
+     */
+    public DefaultExcelExporterBuilder<T> tempDirectory(Path tempDirectory) {
+        this.options = options.withTempDirectory(tempDirectory);
+        return this;
+    }
+
+    /**
+     * Sets whether the rows are written straight into the output stream, without temporary
+     * sheet files.
+     *
+     * <p>With direct write, the data is not written while the exporter is built but kept until
+     * {@link DefaultExcelExporter#write(java.io.OutputStream)}, which pulls the rows and streams
+     * their XML into the zip package on the output stream. Each byte is written once instead of
+     * being written to and read back from disk, at the cost of keeping the data (and the lists
+     * given to {@code addRows}) referenced until the file is written. It cannot be combined with
+     * {@link #useSharedStringsTable(boolean)}.</p>
+     *
+     * @param directWrite Whether to write the rows straight into the output stream
+     * @return This builder instance for method chaining
+     */
+    public DefaultExcelExporterBuilder<T> directWrite(boolean directWrite) {
+        this.options = options.withDirectWrite(directWrite);
+        return this;
+    }
+
+    /**
+     * Sets the deflate level of the zip package.
+     *
+     * <p>Use {@link java.util.zip.Deflater#BEST_SPEED} to spend less CPU time on large files, or
+     * {@link java.util.zip.Deflater#NO_COMPRESSION} to store the data uncompressed, e.g. for
+     * transfers on an internal network.</p>
+     *
+     * @param compressionLevel The deflate level, from 0 to 9, or -1 for the default level
+     * @return This builder instance for method chaining
+     * @throws ExcelException If the level is not between -1 and 9
+     * @see SXSSFOptions#withCompressionLevel(int)
+     */
+    public DefaultExcelExporterBuilder<T> compressionLevel(int compressionLevel) {
+        this.options = options.withCompressionLevel(compressionLevel);
+        return this;
+    }
+
+    /**
+     * Deflates the sheets of the zip package in blocks on the given executor when the file is
+     * written, instead of on the writing thread.
+     *
+     * @param executor The executor to deflate the blocks on
+     * @return This builder instance for method chaining
+     * @throws ExcelException If the executor is null
+     * @see SXSSFOptions#withParallelDeflate(Executor)
+     */
+    public DefaultExcelExporterBuilder<T> parallelDeflate(Executor executor) {
+        if (executor == null) {
+            throw new ExcelException("Deflate executor is null.");
+        }
+        this.options = options.withParallelDeflate(executor);
+        return this;
+    }
+
+    /**
+     * Fetches the next page on the given executor while the rows of the current page are
+     * written. Only available when the exporter was created with a {@link PageFetcher} or a
+     * {@link CursorPageFetcher}. The page being fetched is cancelled if the export fails.
+     *
+     * <p>The fetcher must be safe to call from the executor's threads. Pages are still requested
+     * one at a time and in order.</p>
+     *
+     * @param executor The executor to fetch pages on
+     * @return This builder instance for method chaining
+     * @throws ExcelException if the data is not fetched by a {@link PageFetcher} or a
+     *                        {@link CursorPageFetcher}, or the executor is null
+     */
+    public DefaultExcelExporterBuilder<T> prefetch(Executor executor) {
+        if (!(data instanceof PagedData)) {
+            throw new ExcelException(
+                "Prefetching is only supported for data fetched by a page fetcher.");
+        }
+        if (executor == null) {
+            throw new ExcelException("Prefetch executor is null.");
+        }
+        this.data = ((PagedData<T>) data).prefetch(executor);
+        return this;
+    }
+
+    /**
+     * Fills the sheets of the data concurrently on the given pool, with the MULTI_SHEET strategy.
+     *
+     * <p>When the data (or a list given to {@code addRows}) is a {@link java.util.List}, its rows
+     * are split by sheet, and each sheet's rows are created by its own task on the pool. The
+     * sheets are still created in order, so the file is the same as without the pool. Other data
+     * and the ONE_SHEET strategy are filled on the calling thread. The DTO getters must be safe
+     * to call from the pool's threads. It cannot be combined with {@link #directWrite(boolean)}
+     * or {@link #useSharedStringsTable(boolean)}, which write all sheets through one stream.</p>
+     *
+     * @param sheetPool The pool to fill the sheets on, or null to fill them on the calling thread
+     * @return This builder instance for method chaining
+     */
+    public DefaultExcelExporterBuilder<T> parallelSheets(ForkJoinPool sheetPool) {
+        this.sheetPool = sheetPool;
+        return this;
+    }
+
+    /**
+     * Pipelines the rows through a fetch stage and a conversion stage, each on its own thread,
+     * while the thread adding the rows writes them.
+     *
+     * <p>The fetch stage pulls the rows from the data, and the conversion stage reads their
+     * column values, in batches passed through bounded queues. The thread building the exporter
+     * (or calling {@code addRows}, or {@code write} with direct write) sets the values to the
+     * cells and writes them to the temporary sheet files or the output stream. Fetching, field
+     * reads and writing then overlap, which helps when the data is fetched from I/O.</p>
+     *
+     * <p>The values are passed between the threads boxed and set with the generic setter of their
+     * column data type, bypassing the generated row writer and the unboxed setters of primitive
+     * and {@link java.util.Date} values. Setting each cell is thus slower than without a
+     * pipeline; use it when fetching the data takes longer than writing it.</p>
+     *
+     * <p>The data is iterated on a stage thread, so it must not be bound to the calling thread
+     * (e.g. by a transaction), and the DTO fields must be safe to read from a stage thread.
+     * Two threads are created by the factory per {@code addRows} call, and end when its rows are
+     * written. Many small {@code addRows} calls thus pay the thread start-up for little work; add
+     * such rows through one iterator, or use a virtual thread factory on Java 21+.</p>
+     *
+     * @param threadFactory The factory of the stage threads
+     * @param batchSize     The number of rows passed between the stages at a time
+     * @return This builder instance for method chaining
+     * @throws ExcelException if the thread factory is null or the batch size is not positive
+     */
+    public DefaultExcelExporterBuilder<T> pipeline(ThreadFactory threadFactory, int batchSize) {
+        if (threadFactory == null) {
+            throw new ExcelException("Pipeline thread factory is null.");
+        }
+        if (batchSize <= 0) {
+            throw new ExcelException(
+                String.format("The pipeline batch size(%d) must be positive.", batchSize));
+        }
+        this.pipelineThreadFactory = threadFactory;
+        this.pipelineBatchSize = batchSize;
+        return this;
+    }
+
     /**
      * Builds and returns a new DefaultExcelExporter instance with the configured settings.
      *
      * @return A new DefaultExcelExporter instance
+     * @throws ExcelException if the sheets are filled in parallel with direct write or a shared
+     *                        strings table
      */
     public DefaultExcelExporter<T> build() {
+        return build(this.data);
+    }
+
+    /**
+     * Builds a new DefaultExcelExporter instance with the configured settings, exporting the given
+     * data instead of the data of this builder.
+     *
+     * @param data The data objects to be exported
+     * @return A new DefaultExcelExporter instance
+     * @throws ExcelException if the sheets are filled in parallel with direct write or a shared
+     *                        strings table
+     */
+    DefaultExcelExporter<T> build(Iterable<T> data) {
+        if (sheetPool != null
+            && (options.isDirectWrite() || options.isUseSharedStringsTable())) {
+            throw new ExcelException(
+                "Parallel sheets cannot be used with direct write or the shared strings table.");
+        }
         return new DefaultExcelExporter<T>(
             this.type,
-            this.data,
+            data,
             this.sheetStrategy,
             this.sheetName,
-            this.maxRowsPerSheet
+            this.maxRowsPerSheet,
+            this.options,
+            this.sheetPool,
+            this.pipelineThreadFactory,
+            this.pipelineBatchSize
         );
     }
 }
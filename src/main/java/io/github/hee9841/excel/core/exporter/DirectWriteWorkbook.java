@@ -0,0 +1,261 @@
+package io.github.hee9841.excel.core.exporter;
+
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashSet;
+import java.util.Set;
+import javax.xml.namespace.QName;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.poi.ooxml.POIXMLTypeLoader;
+import org.apache.poi.xssf.streaming.SXSSFSheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.apache.xmlbeans.XmlOptions;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCol;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCols;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTWorksheet;
+
+/**
+ * {@link SXSSFWorkbook} that writes the rows of its sheets straight into the zip package on the
+ * output stream, instead of into temporary sheet files.
+ *
+ * <p>The output stream is given with {@link #start(OutputStream)} before the first sheet is
+ * created. Each sheet is written as a zip entry while its rows are flushed, and is finished when
+ * the next sheet is created. {@link #write(OutputStream)} then finishes the last sheet and adds the
+ * remaining parts of the package (workbook, styles, content types, ...), which are small since
+ * the rows are not part of them.</p>
+ *
+ * <p>Like {@link SXSSFWorkbook}, the rows are spliced into the XML of the sheet serialized by
+ * POI. The part before the rows (sheet views, column widths, ...) is taken when the sheet is
+ * created, and the part after them (merged regions, page margins, ...) when the sheet is
+ * finished, so settings made in between only appear in the latter. The sheet dimension is not
+ * updated, as with {@link SXSSFWorkbook}.</p>
+ *
+ * <p>Since the sheets are written in creation order, only the sheet created last can receive
+ * rows. String values are always written inline, as the rows are written before the shared
+ * strings table would be.</p>
+ *
+ * @see SXSSFOptions#withDirectWrite(boolean)
+ */
+class DirectWriteWorkbook extends SXSSFWorkbook {
+
+    private static final String SHEET_DATA_START = "<sheetData";
+    private static final String SHEET_DATA_END = "</sheetData>";
+
+    /**
+     * The zip package on the output stream, or null until {@link #start(OutputStream)} is called
+     */
+    private StreamingZipOutputStream zip;
+    /**
+     * The sheet whose zip entry is open, or null if none is
+     */
+    private SXSSFSheet currentSheet;
+    /**
+     * The writer of the open sheet entry
+     */
+    private Writer sheetWriter;
+    /**
+     * The names of the sheet entries written so far
+     */
+    private final Set<String> sheetEntryNames = new HashSet<>();
+    /**
+     * The options of the zip package
+     */
+    private final SXSSFOptions options;
+
+
+    DirectWriteWorkbook(SXSSFOptions options) {
+        super(null, options.getRowAccessWindowSize(), false, false);
+        this.options = options;
+    }
+
+    @Override
+    protected ZipArchiveOutputStream createArchiveOutputStream(OutputStream out) {
+        return options.createStreamingOutputStream(out, zip64Mode);
+    }
+
+    /**
+     * Starts the zip package on the given output stream.
+     * The Zip64 mode must be set before the package is started.
+     *
+     * @param stream The output stream to write the Excel file to
+     */
+    void start(OutputStream stream) {
+        if (zip != null) {
+            throw new IllegalStateException("The workbook is already started.");
+        }
+        // The package is closed with the workbook, which must not close the output stream
+        this.zip = options.createStreamingOutputStream(CloseShieldOutputStream.wrap(stream),
+            zip64Mode);
+    }
+
+    @Override
+    public SXSSFSheet createSheet() {
+        finishCurrentSheet();
+        currentSheet = super.createSheet();
+        return currentSheet;
+    }
+
+    @Override
+    public SXSSFSheet createSheet(String sheetname) {
+        finishCurrentSheet();
+        currentSheet = super.createSheet(sheetname);
+        return currentSheet;
+    }
+
+    /**
+     * Opens the zip entry of the sheet being created.
+     * It is called while the sheet is created, after its {@link XSSFSheet} was added last to the
+     * underlying workbook.
+     */
+    @Override
+    protected SheetDataWriter createSheetDataWriter() throws IOException {
+        if (zip == null) {
+            throw new IllegalStateException("The workbook must be started before creating sheets.");
+        }
+
+        XSSFWorkbook xssfWorkbook = getXSSFWorkbook();
+        XSSFSheet xSheet = xssfWorkbook.getSheetAt(xssfWorkbook.getNumberOfSheets() - 1);
+        String entryName = xSheet.getPackagePart().getPartName().getName().substring(1);
+
+        zip.putArchiveEntry(new ZipArchiveEntry(entryName));
+        sheetEntryNames.add(entryName);
+
+        // The sheet writers are closed with the workbook, which must not close the output stream
+        sheetWriter = new BufferedWriter(new OutputStreamWriter(
+            CloseShieldOutputStream.wrap(zip), StandardCharsets.UTF_8));
+        sheetWriter.write(serializeWorksheet(xSheet)[0]);
+        return new SheetDataWriter(sheetWriter);
+    }
+
+    /**
+     * Serializes the worksheet the way POI writes it, and splits it around its rows.
+     *
+     * @param xSheet The sheet to serialize, without rows
+     * @return the XML before the rows, ending with the sheetData start tag, and the XML after the
+     * rows, starting with the sheetData end tag
+     * @throws IOException if the worksheet cannot be serialized
+     */
+    private String[] serializeWorksheet(XSSFSheet xSheet) throws IOException {
+        CTWorksheet worksheet = (CTWorksheet) xSheet.getCTWorksheet().copy();
+        // Excel rejects an empty cols element, and cols without a width (see XSSFSheet#write)
+        if (worksheet.sizeOfColsArray() == 1) {
+            CTCols cols = worksheet.getColsArray(0);
+            if (cols.sizeOfColArray() == 0) {
+                worksheet.removeCols(0);
+            } else {
+                for (CTCol col : cols.getColArray()) {
+                    if (!col.isSetWidth()) {
+                        col.setWidth(xSheet.getDefaultColumnWidth());
+                        col.setCustomWidth(false);
+                    }
+                }
+            }
+        }
+
+        XmlOptions xmlOptions = new XmlOptions(POIXMLTypeLoader.DEFAULT_XML_OPTIONS);
+        xmlOptions.setSaveSyntheticDocumentElement(
+            new QName(CTWorksheet.type.getName().getNamespaceURI(), "worksheet"));
+        ByteArrayOutputStream xml = new ByteArrayOutputStream();
+        worksheet.save(xml, xmlOptions);
+        String template = new String(xml.toByteArray(), StandardCharsets.UTF_8);
+
+        int start = template.indexOf(SHEET_DATA_START);
+        int startTagEnd = start < 0 ? -1 : template.indexOf('>', start);
+        if (startTagEnd < 0) {
+            throw new IOException("No sheetData in worksheet " + xSheet.getSheetName() + ".");
+        }
+        if (template.charAt(startTagEnd - 1) == '/') {
+            // <sheetData/>
+            return new String[]{
+                template.substring(0, startTagEnd - 1) + ">",
+                SHEET_DATA_END + template.substring(startTagEnd + 1)};
+        }
+        return new String[]{
+            template.substring(0, startTagEnd + 1),
+            template.substring(template.indexOf(SHEET_DATA_END, startTagEnd))};
+    }
+
+    /**
+     * Flushes the remaining rows of the current sheet and closes its zip entry.
+     */
+    private void finishCurrentSheet() {
+        if (currentSheet == null) {
+            return;
+        }
+        try {
+            currentSheet.flushRows();
+            sheetWriter.write(serializeWorksheet(
+                getXSSFWorkbook().getSheetAt(getSheetIndex(currentSheet)))[1]);
+            sheetWriter.flush();
+            zip.closeArchiveEntry();
+        } catch (IOException e) {
+            throw new IllegalStateException(
+                "Failed to finish sheet " + currentSheet.getSheetName() + ".", e);
+        } finally {
+            currentSheet = null;
+        }
+    }
+
+    /**
+     * Finishes the last sheet and writes the remaining parts of the package.
+     *
+     * @param stream The output stream given to {@link #start(OutputStream)}
+     * @throws IOException if an I/O error occurs during writing
+     */
+    @Override
+    public void write(OutputStream stream) throws IOException {
+        if (zip == null) {
+            start(stream);
+        }
+        finishCurrentSheet();
+
+        ByteArrayOutputStream template = new ByteArrayOutputStream();
+        getXSSFWorkbook().write(template);
+
+        try (ZipArchiveInputStream entries = new ZipArchiveInputStream(
+            new ByteArrayInputStream(template.toByteArray()))) {
+            ZipArchiveEntry entry;
+            while ((entry = entries.getNextEntry()) != null) {
+                if (sheetEntryNames.contains(entry.getName())) {
+                    continue;
+                }
+                zip.putArchiveEntry(new ZipArchiveEntry(entry.getName()));
+                IOUtils.copy(entries, zip);
+                zip.closeArchiveEntry();
+            }
+        }
+        zip.finish();
+        zip.close();
+    }
+
+    /**
+     * Releases the zip package, without finishing it if the workbook was not written, and closes
+     * the underlying workbook. The output stream is not closed. The sheets are not disposed of, as
+     * no temporary files back them.
+     *
+     * @throws IOException if an I/O error occurs while closing the workbook
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (zip != null) {
+                zip.abort();
+            }
+        } finally {
+            getXSSFWorkbook().close();
+        }
+    }
+}
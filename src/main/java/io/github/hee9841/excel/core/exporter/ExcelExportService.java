@@ -0,0 +1,410 @@
+package io.github.hee9841.excel.core.exporter;
+
+import io.github.hee9841.excel.exception.ExcelException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Schedules export jobs so that concurrent exports share the heap and temp disk of the node
+ * within configured budgets.
+ *
+ * <p>A job builds an exporter and writes it to an output stream. Jobs are queued in submission
+ * order and admitted when:</p>
+ * <ul>
+ *     <li>fewer than the maximum number of concurrent exports are running, and</li>
+ *     <li>the heap and temp disk declared by the job fit in what the running jobs left of the
+ *     heap and temp disk budgets.</li>
+ * </ul>
+ *
+ * <p>The exporter is created by the job's supplier only once the job is admitted, on a new
+ * thread of the service's thread factory, since exporters such as {@link DefaultExcelExporter}
+ * write their rows while they are built. The exporter is closed when the job ends, and its
+ * output stream is left open. Jobs are admitted strictly in order, so a large job is not starved
+ * by smaller jobs submitted after it. A job declaring more than a whole budget is rejected.</p>
+ *
+ * <p>{@link #shutdown()} stops accepting jobs, while the queued and running jobs still run to
+ * completion. {@link #close()} shuts the service down and waits until they are done, so the
+ * service can be used in a try-with-resources statement.</p>
+ *
+ * <p>Use the {@link ExcelExportServiceBuilder} to configure and instantiate this class.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * ExcelExportService service = ExcelExportService.builder()
+ *     .maxConcurrentExports(4)
+ *     .heapBudget(512L * 1024 * 1024)
+ *     .tempDiskBudget(10L * 1024 * 1024 * 1024)
+ *     .build();
+ *
+ * CompletableFuture&lt;Void&gt; exported = service.submit(
+ *     () -&gt; DefaultExcelExporter.builder(MyData.class, repository.findAll()).build(),
+ *     outputStream, 64L * 1024 * 1024, 1024L * 1024 * 1024);
+ * </pre>
+ *
+ * @see ExcelExportServiceBuilder
+ */
+public class ExcelExportService implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExcelExportService.class);
+
+    private final int maxConcurrentExports;
+    private final long heapBudget;
+    private final long tempDiskBudget;
+    private final ThreadFactory threadFactory;
+
+    /**
+     * The jobs waiting to be admitted, in submission order
+     */
+    private final Deque<Job> queuedJobs = new ArrayDeque<>();
+    /**
+     * The exporters of the running jobs, once created
+     */
+    private final Set<ExcelExporter<?>> runningExporters = ConcurrentHashMap.newKeySet();
+
+    private int runningJobs;
+    /**
+     * The number of admitted jobs whose future is not completed yet
+     */
+    private int unfinishedJobs;
+    private long reservedHeap;
+    private long reservedTempDisk;
+    private boolean shutdown;
+
+
+    /**
+     * Constructs an ExcelExportService with the specified configuration.
+     *
+     * <p>This constructor is not meant to be called directly. Use
+     * {@link ExcelExportServiceBuilder} to create instances of ExcelExportService.</p>
+     *
+     * @param maxConcurrentExports The maximum number of jobs running at a time
+     * @param heapBudget           The heap in bytes the running jobs can declare in total
+     * @param tempDiskBudget       The temp disk in bytes the running jobs can declare in total
+     * @param threadFactory        The factory of the threads the jobs run on
+     */
+    ExcelExportService(int maxConcurrentExports, long heapBudget, long tempDiskBudget,
+        ThreadFactory threadFactory) {
+        this.maxConcurrentExports = maxConcurrentExports;
+        this.heapBudget = heapBudget;
+        this.tempDiskBudget = tempDiskBudget;
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * Creates a new builder for configuring and instantiating an ExcelExportService.
+     *
+     * @return A new ExcelExportServiceBuilder instance
+     */
+    public static ExcelExportServiceBuilder builder() {
+        return new ExcelExportServiceBuilder();
+    }
+
+    /**
+     * Submits a job that declares no heap or temp disk usage, limited only by the maximum number
+     * of concurrent exports.
+     *
+     * @param exporter Creates the exporter of the job once it is admitted
+     * @param stream   The output stream to write the Excel file to
+     * @return A future completed when the file is written, or completed exceptionally with the
+     * failure of the job
+     * @see #submit(Supplier, OutputStream, long, long)
+     */
+    public CompletableFuture<Void> submit(Supplier<? extends ExcelExporter<?>> exporter,
+        OutputStream stream) {
+        return submit(exporter, stream, 0, 0);
+    }
+
+    /**
+     * Submits a job, admitted once its declared heap and temp disk fit in the budgets.
+     *
+     * <p>Cancelling the returned future before the job is admitted removes it from the queue.
+     * A running job is not interrupted.</p>
+     *
+     * @param exporter Creates the exporter of the job once it is admitted
+     * @param stream   The output stream to write the Excel file to
+     * @param heap     The heap in bytes the job may use, e.g. its row window and shared strings
+     * @param tempDisk The temp disk in bytes the job may use, e.g. its temporary sheet files
+     * @return A future completed when the file is written, or completed exceptionally with the
+     * failure of the job. It is completed exceptionally with an {@link ExcelException} if the job
+     * declares more than a whole budget, or if the service is shut down.
+     * @throws ExcelException if the exporter supplier or output stream is null, or the declared
+     *                        heap or temp disk is negative
+     */
+    public CompletableFuture<Void> submit(Supplier<? extends ExcelExporter<?>> exporter,
+        OutputStream stream, long heap, long tempDisk) {
+        if (exporter == null || stream == null) {
+            throw new ExcelException("Exporter supplier or output stream is null.");
+        }
+        if (heap < 0 || tempDisk < 0) {
+            throw new ExcelException(String.format(
+                "The declared heap(%d) and temp disk(%d) of a job cannot be negative.",
+                heap, tempDisk));
+        }
+
+        Job job = new Job(exporter, stream, heap, tempDisk);
+        if (heap > heapBudget || tempDisk > tempDiskBudget) {
+            job.result.completeExceptionally(new ExcelException(String.format(
+                "The job declares more than the budgets(heap: %d of %d, temp disk: %d of %d).",
+                heap, heapBudget, tempDisk, tempDiskBudget)));
+            return job.result;
+        }
+
+        synchronized (this) {
+            if (shutdown) {
+                job.result.completeExceptionally(
+                    new ExcelException("The export service is shut down."));
+                return job.result;
+            }
+            queuedJobs.add(job);
+        }
+        // A job cancelled while queued is removed once it reaches the head of the queue
+        job.result.whenComplete((result, e) -> {
+            if (job.result.isCancelled()) {
+                admitJobs();
+            }
+        });
+        admitJobs();
+        return job.result;
+    }
+
+    /**
+     * Starts the queued jobs in order, as long as the head of the queue fits in the limits.
+     */
+    private void admitJobs() {
+        while (true) {
+            Job job;
+            synchronized (this) {
+                job = queuedJobs.peek();
+                if (job != null && job.result.isDone()) {
+                    // Cancelled while queued
+                    queuedJobs.poll();
+                    continue;
+                }
+                if (job == null || runningJobs >= maxConcurrentExports
+                    || job.heap > heapBudget - reservedHeap
+                    || job.tempDisk > tempDiskBudget - reservedTempDisk) {
+                    if (isTerminated()) {
+                        notifyAll();
+                    }
+                    return;
+                }
+                queuedJobs.poll();
+                runningJobs++;
+                unfinishedJobs++;
+                reservedHeap += job.heap;
+                reservedTempDisk += job.tempDisk;
+            }
+            start(job);
+        }
+    }
+
+    private void start(Job job) {
+        try {
+            threadFactory.newThread(() -> run(job)).start();
+        } catch (RuntimeException | Error e) {
+            finish(job, e);
+        }
+    }
+
+    /**
+     * Runs the job, and completes its future once the exporter is closed and the job released.
+     * A failure to close the exporter fails the job, or is suppressed by the failure of the job.
+     */
+    private void run(Job job) {
+        Throwable failure = null;
+        ExcelExporter<?> exporter = null;
+        try {
+            exporter = job.exporter.get();
+            runningExporters.add(exporter);
+            exporter.write(job.stream);
+        } catch (Throwable e) {
+            logger.warn("Failed to run export job.", e);
+            failure = e;
+        } finally {
+            try {
+                if (exporter != null) {
+                    runningExporters.remove(exporter);
+                    exporter.close();
+                }
+            } catch (Throwable e) {
+                logger.warn("Failed to close exporter of export job.", e);
+                if (failure == null) {
+                    failure = e;
+                } else {
+                    failure.addSuppressed(e);
+                }
+            } finally {
+                finish(job, failure);
+            }
+        }
+    }
+
+    /**
+     * Releases the job, then completes its future.
+     */
+    private void finish(Job job, Throwable failure) {
+        try {
+            release(job);
+        } finally {
+            if (failure != null) {
+                job.result.completeExceptionally(failure);
+            } else {
+                job.result.complete(null);
+            }
+            synchronized (this) {
+                unfinishedJobs--;
+                if (isTerminated()) {
+                    notifyAll();
+                }
+            }
+        }
+    }
+
+    private void release(Job job) {
+        synchronized (this) {
+            runningJobs--;
+            reservedHeap -= job.heap;
+            reservedTempDisk -= job.tempDisk;
+        }
+        admitJobs();
+    }
+
+    /**
+     * Stops accepting jobs. The jobs already submitted still run, and jobs submitted afterward
+     * are completed exceptionally with an {@link ExcelException}.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+        }
+        admitJobs();
+    }
+
+    /**
+     * Returns whether the service is shut down.
+     *
+     * @return true if the service does not accept jobs anymore
+     */
+    public synchronized boolean isShutdown() {
+        return shutdown;
+    }
+
+    /**
+     * Returns whether the service is shut down and all its jobs are done.
+     *
+     * @return true if no job is running or waiting to be admitted after the shutdown
+     */
+    public synchronized boolean isTerminated() {
+        if (!shutdown || unfinishedJobs > 0) {
+            return false;
+        }
+        for (Job job : queuedJobs) {
+            if (!job.result.isDone()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Waits until all jobs are done after a shutdown, or the timeout elapses.
+     *
+     * @param timeout The maximum time to wait
+     * @param unit    The unit of the timeout
+     * @return true if the service is terminated, false if the timeout elapsed before
+     * @throws InterruptedException if the current thread is interrupted while waiting
+     */
+    public synchronized boolean awaitTermination(long timeout, TimeUnit unit)
+        throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!isTerminated()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return true;
+    }
+
+    /**
+     * Shuts the service down and waits until the queued and running jobs are done.
+     * If the current thread is interrupted while waiting, it stops waiting and keeps its
+     * interrupt status.
+     */
+    @Override
+    public void close() {
+        shutdown();
+        try {
+            while (!awaitTermination(1, TimeUnit.DAYS)) {
+                logger.debug("Waiting for export jobs to finish.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Returns the number of jobs currently running.
+     *
+     * @return the number of running jobs
+     */
+    public synchronized int getRunningJobCount() {
+        return runningJobs;
+    }
+
+    /**
+     * Returns the number of jobs waiting to be admitted, including cancelled jobs not yet removed.
+     *
+     * @return the number of queued jobs
+     */
+    public synchronized int getQueuedJobCount() {
+        return queuedJobs.size();
+    }
+
+    /**
+     * Returns the total size of the temporary sheet files currently held by the running jobs,
+     * e.g. to compare it with the temp disk they declared.
+     *
+     * @return the size of the temporary files in bytes
+     * @see SXSSFExporter#getTempFileSize()
+     */
+    public long getTempFileSize() {
+        long size = 0;
+        for (ExcelExporter<?> exporter : runningExporters) {
+            if (exporter instanceof SXSSFExporter) {
+                size += ((SXSSFExporter<?>) exporter).getTempFileSize();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * A submitted job, with the heap and temp disk it declares.
+     */
+    private static final class Job {
+
+        private final Supplier<? extends ExcelExporter<?>> exporter;
+        private final OutputStream stream;
+        private final long heap;
+        private final long tempDisk;
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+
+        private Job(Supplier<? extends ExcelExporter<?>> exporter, OutputStream stream, long heap,
+            long tempDisk) {
+            this.exporter = exporter;
+            this.stream = stream;
+            this.heap = heap;
+            this.tempDisk = tempDisk;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package io.github.hee9841.excel.core.exporter;
+
+import io.github.hee9841.excel.exception.ExcelException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Builder class for creating and configuring {@link ExcelExportService} instances.
+ *
+ * <p>Default configuration:</p>
+ * <ul>
+ *     <li>Max Concurrent Exports: the number of available processors</li>
+ *     <li>Heap Budget: unlimited</li>
+ *     <li>Temp Disk Budget: unlimited</li>
+ *     <li>Thread Factory: {@link Executors#defaultThreadFactory()}</li>
+ * </ul>
+ */
+public class ExcelExportServiceBuilder {
+
+    private int maxConcurrentExports;
+    private long heapBudget;
+    private long tempDiskBudget;
+    private ThreadFactory threadFactory;
+
+    /**
+     * Constructs a new ExcelExportServiceBuilder with the default configuration.
+     */
+    ExcelExportServiceBuilder() {
+        this.maxConcurrentExports = Runtime.getRuntime().availableProcessors();
+        this.heapBudget = Long.MAX_VALUE;
+        this.tempDiskBudget = Long.MAX_VALUE;
+        this.threadFactory = Executors.defaultThreadFactory();
+    }
+
+    /**
+     * Sets the maximum number of jobs running, and so of workbooks open, at a time.
+     *
+     * @param maxConcurrentExports The maximum number of running jobs
+     * @return This builder instance for method chaining
+     * @throws ExcelException if the maximum is not positive
+     */
+    public ExcelExportServiceBuilder maxConcurrentExports(int maxConcurrentExports) {
+        if (maxConcurrentExports <= 0) {
+            throw new ExcelException(String.format(
+                "The maximum concurrent exports(%d) must be positive.", maxConcurrentExports));
+        }
+        this.maxConcurrentExports = maxConcurrentExports;
+        return this;
+    }
+
+    /**
+     * Sets the heap the running jobs can declare in total.
+     *
+     * @param heapBudget The heap budget in bytes
+     * @return This builder instance for method chaining
+     * @throws ExcelException if the budget is negative
+     */
+    public ExcelExportServiceBuilder heapBudget(long heapBudget) {
+        if (heapBudget < 0) {
+            throw new ExcelException(
+                String.format("The heap budget(%d) cannot be negative.", heapBudget));
+        }
+        this.heapBudget = heapBudget;
+        return this;
+    }
+
+    /**
+     * Sets the temp disk the running jobs can declare in total.
+     *
+     * @param tempDiskBudget The temp disk budget in bytes
+     * @return This builder instance for method chaining
+     * @throws ExcelException if the budget is negative
+     */
+    public ExcelExportServiceBuilder tempDiskBudget(long tempDiskBudget) {
+        if (tempDiskBudget < 0) {
+            throw new ExcelException(
+                String.format("The temp disk budget(%d) cannot be negative.", tempDiskBudget));
+        }
+        this.tempDiskBudget = tempDiskBudget;
+        return this;
+    }
+
+    /**
+     * Sets the factory of the threads the jobs run on, one thread per job.
+     * A virtual thread factory can be used on Java 21+.
+     *
+     * @param threadFactory The factory of the job threads
+     * @return This builder instance for method chaining
+     * @throws ExcelException if the thread factory is null
+     */
+    public ExcelExportServiceBuilder threadFactory(ThreadFactory threadFactory) {
+        if (threadFactory == null) {
+            throw new ExcelException("Job thread factory is null.");
+        }
+        this.threadFactory = threadFactory;
+        return this;
+    }
+
+    /**
+     * Builds and returns a new ExcelExportService instance with the configured settings.
+     *
+     * @return A new ExcelExportService instance
+     */
+    public ExcelExportService build() {
+        return new ExcelExportService(
+            this.maxConcurrentExports,
+            this.heapBudget,
+            this.tempDiskBudget,
+            this.threadFactory
+        );
+    }
+}
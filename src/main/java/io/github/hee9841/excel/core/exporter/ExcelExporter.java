@@ -2,6 +2,8 @@ package io.github.hee9841.excel.core.exporter;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
 import java.util.List;
 import org.apache.poi.ss.usermodel.Sheet;
 
@@ -13,11 +15,15 @@ import org.apache.poi.ss.usermodel.Sheet;
  * <ul>
  *     <li>Writing Excel data to an output stream</li>
  *     <li>Adding rows of data to the Excel file</li>
+ *     <li>Releasing the resources held for the Excel file (e.g. temporary files)</li>
  * </ul>
  *
+ * <p>An exporter holds its resources until it is written or closed, so an exporter that may not
+ * be written should be used in a try-with-resources statement.</p>
+ *
  * @param <T> The type of data to be handled in the Excel file
  */
-public interface ExcelExporter<T> {
+public interface ExcelExporter<T> extends AutoCloseable {
 
     /**
      * Writes the Excel file content to the specified output stream.
@@ -33,4 +39,29 @@ public interface ExcelExporter<T> {
      * @param data The list of data objects to be added as rows
      */
     void addRows(List<T> data);
+
+    /**
+     * Adds the remaining data rows of an iterator to the Excel file.
+     *
+     * <p>The default implementation collects the rows into a list and delegates to
+     * {@link #addRows(List)}. Implementations that can write rows one by one should override it,
+     * so the rows are pulled lazily and never held in memory all at once.</p>
+     *
+     * @param data The iterator of data objects to be added as rows
+     */
+    default void addRows(Iterator<T> data) {
+        List<T> rows = new ArrayList<>();
+        data.forEachRemaining(rows::add);
+        addRows(rows);
+    }
+
+    /**
+     * Releases the resources held for the Excel file without writing it.
+     * Closing an exporter that is already written or closed has no effect.
+     *
+     * <p>The default implementation does nothing, for exporters that hold no resources.</p>
+     */
+    @Override
+    default void close() {
+    }
 }
@@ -0,0 +1,144 @@
+package io.github.hee9841.excel.core.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+/**
+ * Reactive Streams {@link Subscriber} that exports the received rows to an Excel file.
+ *
+ * <p>Rows are requested from the publisher in batches and written to the sheets of a
+ * {@link DefaultExcelExporter} as they arrive; the next batch is requested only after the rows of
+ * the previous batch have been written. A slow writer therefore throttles the publisher instead of
+ * buffering rows in memory. When the publisher completes, the workbook is written to the output
+ * stream and {@link #completion()} is completed.</p>
+ *
+ * <p>If the publisher fails, or a row cannot be written, the subscription is cancelled and
+ * {@link #completion()} is completed exceptionally; nothing is written to the output stream and
+ * the temporary files of the exporter are deleted.</p>
+ *
+ * <p>This class requires {@code org.reactivestreams:reactive-streams} on the classpath. On Java 9+,
+ * {@code org.reactivestreams.FlowAdapters} adapts it to a
+ * {@code java.util.concurrent.Flow.Subscriber}.</p>
+ *
+ * @param <T> The type of data to be exported
+ * @see ExcelSubscriberBuilder
+ * @see DefaultExcelExporter#subscriber(Class, OutputStream)
+ */
+public class ExcelSubscriber<T> implements Subscriber<T> {
+
+    /**
+     * Creates the exporter with the first rows to export
+     */
+    private final Function<Iterable<T>, DefaultExcelExporter<T>> exporterFactory;
+    private final OutputStream stream;
+    private final int batchSize;
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+
+    private Subscription subscription;
+    private DefaultExcelExporter<T> exporter;
+    /**
+     * The number of rows requested but not received yet
+     */
+    private int pendingRows;
+
+
+    ExcelSubscriber(Function<Iterable<T>, DefaultExcelExporter<T>> exporterFactory,
+        OutputStream stream, int batchSize) {
+        this.exporterFactory = exporterFactory;
+        this.stream = stream;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void onSubscribe(Subscription subscription) {
+        Objects.requireNonNull(subscription, "subscription");
+        if (this.subscription != null || completion.isDone()) {
+            subscription.cancel();
+            return;
+        }
+
+        this.subscription = subscription;
+        requestBatch();
+    }
+
+    @Override
+    public void onNext(T data) {
+        Objects.requireNonNull(data, "data");
+        if (completion.isDone()) {
+            return;
+        }
+
+        try {
+            if (exporter == null) {
+                exporter = exporterFactory.apply(Collections.singletonList(data));
+            } else {
+                exporter.addRows(Collections.singletonList(data).iterator());
+            }
+        } catch (RuntimeException e) {
+            subscription.cancel();
+            fail(e);
+            return;
+        }
+
+        if (--pendingRows == 0) {
+            requestBatch();
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        Objects.requireNonNull(throwable, "throwable");
+        if (completion.isDone()) {
+            return;
+        }
+        fail(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+        if (completion.isDone()) {
+            return;
+        }
+
+        try {
+            if (exporter == null) {
+                exporter = exporterFactory.apply(Collections.emptyList());
+            }
+            exporter.write(stream);
+            completion.complete(null);
+        } catch (IOException | RuntimeException e) {
+            fail(e);
+        }
+    }
+
+    /**
+     * Returns the future completed when the Excel file has been written to the output stream, or
+     * completed exceptionally when the export failed.
+     *
+     * @return The completion of the export
+     */
+    public CompletableFuture<Void> completion() {
+        return completion;
+    }
+
+    /**
+     * Completes the export exceptionally and deletes the temporary files of the exporter.
+     */
+    private void fail(Throwable cause) {
+        if (exporter != null) {
+            exporter.close();
+        }
+        completion.completeExceptionally(cause);
+    }
+
+    private void requestBatch() {
+        pendingRows = batchSize;
+        subscription.request(batchSize);
+    }
+}
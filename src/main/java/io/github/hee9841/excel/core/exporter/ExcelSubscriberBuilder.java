@@ -0,0 +1,183 @@
+package io.github.hee9841.excel.core.exporter;
+
+import io.github.hee9841.excel.exception.ExcelException;
+import io.github.hee9841.excel.strategy.SheetStrategy;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Collections;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+/**
+ * Builder class for creating and configuring {@link ExcelSubscriber} instances.
+ *
+ * <p>Default configuration:</p>
+ * <ul>
+ *     <li>Batch Size: the row access window size of the workbook
+ *     ({@link SXSSFWorkbook#DEFAULT_WINDOW_SIZE} by default)</li>
+ *     <li>Sheet Strategy, Max Rows per Sheet, Sheet Name and workbook options: same as
+ *     {@link DefaultExcelExporterBuilder}</li>
+ * </ul>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * ExcelSubscriber&lt;MyData&gt; subscriber = DefaultExcelExporter
+ *     .subscriber(MyData.class, outputStream)
+ *     .batchSize(500)
+ *     .sheetName("MySheet")
+ *     .build();
+ * publisher.subscribe(subscriber);
+ * subscriber.completion().join();
+ * </pre>
+ *
+ * @param <T> The type of data to be exported
+ * @see ExcelSubscriber
+ */
+public class ExcelSubscriberBuilder<T> {
+
+    private final DefaultExcelExporterBuilder<T> exporterBuilder;
+    private final OutputStream stream;
+
+    /**
+     * The batch size, or 0 to use the row access window size
+     */
+    private int batchSize;
+    private int rowAccessWindowSize;
+
+    /**
+     * Constructs a new ExcelSubscriberBuilder with the specified type and output stream.
+     *
+     * @param type               The class type of the data to be exported
+     * @param stream             The output stream to write the Excel file to
+     * @param supplyExcelMaxRows The maximum number of rows supported by the Excel version
+     */
+    ExcelSubscriberBuilder(Class<T> type, OutputStream stream, int supplyExcelMaxRows) {
+        if (stream == null) {
+            throw new ExcelException("Output stream is null.");
+        }
+        this.exporterBuilder = new DefaultExcelExporterBuilder<>(type,
+            Collections.<T>emptyList(), supplyExcelMaxRows);
+        this.stream = stream;
+        this.batchSize = 0;
+        this.rowAccessWindowSize = SXSSFWorkbook.DEFAULT_WINDOW_SIZE;
+    }
+
+    /**
+     * Sets the number of rows requested from the publisher at a time.
+     * The next batch is requested once all rows of the previous batch have been written.
+     * Defaults to the row access window size, so each batch is flushed to disk before the next
+     * one is requested.
+     *
+     * @param batchSize The number of rows to request at a time
+     * @return This builder instance for method chaining
+     * @throws ExcelException if the batch size is not positive
+     */
+    public ExcelSubscriberBuilder<T> batchSize(int batchSize) {
+        if (batchSize <= 0) {
+            throw new ExcelException(
+                String.format("The batch size(%d) must be greater than 0.", batchSize));
+        }
+        this.batchSize = batchSize;
+        return this;
+    }
+
+    /**
+     * Sets the sheet strategy for the Excel exporter.
+     *
+     * @param sheetStrategy The strategy to use for sheet management (ONE_SHEET or MULTI_SHEET)
+     * @return This builder instance for method chaining
+     * @see DefaultExcelExporterBuilder#sheetStrategy(SheetStrategy)
+     */
+    public ExcelSubscriberBuilder<T> sheetStrategy(SheetStrategy sheetStrategy) {
+        exporterBuilder.sheetStrategy(sheetStrategy);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of rows allowed per sheet.
+     *
+     * @param maxRowsPerSheet The maximum number of rows per sheet
+     * @return This builder instance for method chaining
+     * @throws ExcelException if maxRowsPerSheet exceeds the Excel version's maximum row limit
+     * @see DefaultExcelExporterBuilder#maxRows(int)
+     */
+    public ExcelSubscriberBuilder<T> maxRows(int maxRowsPerSheet) {
+        exporterBuilder.maxRows(maxRowsPerSheet);
+        return this;
+    }
+
+    /**
+     * Sets the base name for sheets in the Excel file.
+     *
+     * @param sheetName The base name for sheets
+     * @return This builder instance for method chaining
+     * @see DefaultExcelExporterBuilder#sheetName(String)
+     */
+    public ExcelSubscriberBuilder<T> sheetName(String sheetName) {
+        exporterBuilder.sheetName(sheetName);
+        return this;
+    }
+
+    /**
+     * Sets the number of rows kept in memory before older rows are flushed to the temporary
+     * sheet files of the SXSSF workbook.
+     *
+     * @param rowAccessWindowSize The number of rows kept in memory, or -1 to keep all rows
+     * @return This builder instance for method chaining
+     * @throws ExcelException if the window size is 0 or less than -1
+     * @see DefaultExcelExporterBuilder#windowSize(int)
+     */
+    public ExcelSubscriberBuilder<T> windowSize(int rowAccessWindowSize) {
+        exporterBuilder.windowSize(rowAccessWindowSize);
+        this.rowAccessWindowSize = rowAccessWindowSize;
+        return this;
+    }
+
+    /**
+     * Sets whether the temporary sheet files are gzip-compressed.
+     *
+     * @param compressTempFiles Whether to compress the temporary sheet files
+     * @return This builder instance for method chaining
+     * @see DefaultExcelExporterBuilder#compressTempFiles(boolean)
+     */
+    public ExcelSubscriberBuilder<T> compressTempFiles(boolean compressTempFiles) {
+        exporterBuilder.compressTempFiles(compressTempFiles);
+        return this;
+    }
+
+    /**
+     * Sets whether string cell values are written to a shared strings table instead of inline.
+     *
+     * @param useSharedStringsTable Whether to use a shared strings table
+     * @return This builder instance for method chaining
+     * @see DefaultExcelExporterBuilder#useSharedStringsTable(boolean)
+     */
+    public ExcelSubscriberBuilder<T> useSharedStringsTable(boolean useSharedStringsTable) {
+        exporterBuilder.useSharedStringsTable(useSharedStringsTable);
+        return this;
+    }
+
+    /**
+     * Sets the directory the temporary sheet files of this export are created in.
+     *
+     * @param tempDirectory An existing directory, or null for POI's default temp directory
+     * @return This builder instance for method chaining
+     * @see DefaultExcelExporterBuilder#tempDirectory(Path)
+     */
+    public ExcelSubscriberBuilder<T> tempDirectory(Path tempDirectory) {
+        exporterBuilder.tempDirectory(tempDirectory);
+        return this;
+    }
+
+    /**
+     * Builds and returns a new ExcelSubscriber instance with the configured settings.
+     * The subscriber can subscribe to a single publisher only.
+     *
+     * @return A new ExcelSubscriber instance
+     */
+    public ExcelSubscriber<T> build() {
+        int requestSize = batchSize > 0
+            ? batchSize
+            : (rowAccessWindowSize > 0 ? rowAccessWindowSize : SXSSFWorkbook.DEFAULT_WINDOW_SIZE);
+        return new ExcelSubscriber<>(exporterBuilder::build, stream, requestSize);
+    }
+}
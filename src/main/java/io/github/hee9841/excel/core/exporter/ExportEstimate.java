@@ -0,0 +1,113 @@
+package io.github.hee9841.excel.core.exporter;
+
+import java.time.Duration;
+
+/**
+ * The predicted output size, temp disk and duration of an export, computed by
+ * {@link ExportEstimator}.
+ *
+ * <p>The values are estimates for planning, e.g. to admit an export with an
+ * {@link ExcelExportService} or to choose between synchronous and asynchronous delivery, and
+ * can be off by the variance of the data not covered by the sample.</p>
+ *
+ * @see ExportEstimator
+ */
+public final class ExportEstimate {
+
+    private final long rowCount;
+    private final boolean sampled;
+    private final double serializedRowSize;
+    private final double compressionRatio;
+    private final long outputSize;
+    private final long tempDiskSize;
+    private final Duration duration;
+
+
+    ExportEstimate(long rowCount, boolean sampled, double serializedRowSize,
+        double compressionRatio, long outputSize, long tempDiskSize, Duration duration) {
+        this.rowCount = rowCount;
+        this.sampled = sampled;
+        this.serializedRowSize = serializedRowSize;
+        this.compressionRatio = compressionRatio;
+        this.outputSize = outputSize;
+        this.tempDiskSize = tempDiskSize;
+        this.duration = duration;
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns whether the estimate was computed from a sample of the data, rather than from
+     * placeholder values of the column types and an assumed compression ratio.
+     *
+     * @return true if a sample of the data was serialized
+     */
+    public boolean isSampled() {
+        return sampled;
+    }
+
+    /**
+     * Returns the average size of a row serialized as sheet XML, in bytes. The XML is about the
+     * same in the file of {@link OoxmlExcelExporter} and in the temporary sheet files of a
+     * {@link DefaultExcelExporter} with inline strings.
+     *
+     * @return the serialized size of a row
+     */
+    public double getSerializedRowSize() {
+        return serializedRowSize;
+    }
+
+    /**
+     * Returns the ratio between the serialized sheet XML and its deflated size in the file.
+     *
+     * @return the compression ratio
+     */
+    public double getCompressionRatio() {
+        return compressionRatio;
+    }
+
+    /**
+     * Returns the predicted size of the Excel file, in bytes, written by
+     * {@link OoxmlExcelExporter} or by a {@link DefaultExcelExporter} with inline strings and the
+     * default compression level. A shared strings table makes the file of a
+     * {@link DefaultExcelExporter} smaller when strings repeat.
+     *
+     * @return the output size
+     */
+    public long getOutputSize() {
+        return outputSize;
+    }
+
+    /**
+     * Returns the predicted size of the temporary sheet files of a {@link DefaultExcelExporter},
+     * in bytes. With gzip-compressed temporary files, they are about the size of the output
+     * instead; direct write and {@link OoxmlExcelExporter} use no temporary files.
+     *
+     * @return the temp disk size
+     */
+    public long getTempDiskSize() {
+        return tempDiskSize;
+    }
+
+    /**
+     * Returns the predicted time to serialize and compress the rows, measured on this machine
+     * with the serialization of {@link OoxmlExcelExporter}. The time to fetch the data is not
+     * included, and a {@link DefaultExcelExporter} takes longer as it also creates POI rows and
+     * cells and writes them through its temporary sheet files.
+     *
+     * @return the duration
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("ExportEstimate(rows: %d, sampled: %s, row size: %.1f, "
+                + "compression ratio: %.2f, output: %d bytes, temp disk: %d bytes, duration: %s)",
+            rowCount, sampled, serializedRowSize, compressionRatio, outputSize, tempDiskSize,
+            duration);
+    }
+}
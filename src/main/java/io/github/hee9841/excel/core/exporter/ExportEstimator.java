@@ -0,0 +1,244 @@
+package io.github.hee9841.excel.core.exporter;
+
+import io.github.hee9841.excel.core.meta.ColumnInfoMapper;
+import io.github.hee9841.excel.core.meta.ColumnPlan;
+import io.github.hee9841.excel.exception.ExcelException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.zip.Deflater;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.commons.io.output.NullOutputStream;
+import org.apache.commons.io.output.StringBuilderWriter;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+
+/**
+ * Predicts the output size, temp disk and duration of exporting a number of rows of a DTO class,
+ * before the export is accepted.
+ *
+ * <p>The columns are mapped from the {@code @Excel}/{@code @ExcelColumn} metadata of the class,
+ * and rows are serialized to sheet XML the way {@link OoxmlExcelExporter} writes them:</p>
+ * <ul>
+ *     <li>With a sample of the data, the sample rows are serialized and deflated, which gives the
+ *     average row size, the compression ratio of the data and the time per row.</li>
+ *     <li>Without a sample, rows of placeholder values of the column types are serialized, with
+ *     strings of {@link #PLACEHOLDER_STRING_LENGTH} characters, and the compression ratio is
+ *     assumed to be {@link RollingExcelExporter#ASSUMED_COMPRESSION_RATIO}.</li>
+ * </ul>
+ *
+ * <p>The rows are then scaled to the row count, split into sheets of the maximum number of rows,
+ * and added to the size of a file with headers only. The duration is measured on the calling
+ * thread after a warm-up pass, and covers reading the fields, serializing and deflating the rows;
+ * creating POI rows and cells in a {@link DefaultExcelExporter} takes longer.</p>
+ *
+ * <p>The sizes hold for both backends: the sheet XML of {@link OoxmlExcelExporter} is close to
+ * the XML the SXSSF workbook of a {@link DefaultExcelExporter} writes with inline strings, so the
+ * output size is also about the size of its file, and the serialized rows are the size of its temporary
+ * sheet files.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * ExportEstimate estimate = ExportEstimator.estimate(MyData.class, rowCount,
+ *     repository.findAll(PageRequest.of(0, 1000)).getContent());
+ * if (estimate.getOutputSize() &gt; 50L * 1024 * 1024) {
+ *     service.submit(exporter, outputStream, heap, estimate.getTempDiskSize());
+ * }
+ * </pre>
+ *
+ * @see ExportEstimate
+ */
+public final class ExportEstimator {
+
+    /**
+     * The length of the strings of placeholder rows
+     */
+    static final int PLACEHOLDER_STRING_LENGTH = 16;
+
+    /**
+     * The number of placeholder rows serialized without a sample
+     */
+    private static final int PLACEHOLDER_ROWS = 1000;
+
+    private static final int MAX_DATA_ROWS_PER_SHEET =
+        SpreadsheetVersion.EXCEL2007.getMaxRows() - 1;
+
+    private ExportEstimator() {
+    }
+
+    /**
+     * Estimates an export of the given number of rows from placeholder values of the column
+     * types.
+     *
+     * @param <T>      The type of data to be exported
+     * @param type     The class of the data type
+     * @param rowCount The number of rows to export
+     * @return The estimate
+     * @throws ExcelException if the class cannot be mapped or the row count is negative
+     */
+    public static <T> ExportEstimate estimate(Class<T> type, long rowCount) {
+        return estimate(type, rowCount, Collections.emptyList());
+    }
+
+    /**
+     * Estimates an export of the given number of rows from a sample of the data.
+     * The larger and more representative the sample, the closer the estimate.
+     *
+     * @param <T>      The type of data to be exported
+     * @param type     The class of the data type
+     * @param rowCount The number of rows to export
+     * @param sample   A sample of the rows to export, or an empty list to use placeholder values
+     * @return The estimate
+     * @throws ExcelException if the class cannot be mapped, the row count is negative or a
+     *                        sample row cannot be serialized
+     */
+    public static <T> ExportEstimate estimate(Class<T> type, long rowCount, List<T> sample) {
+        if (type == null) {
+            throw new ExcelException("DTO class is null.");
+        }
+        if (rowCount < 0) {
+            throw new ExcelException(
+                String.format("The row count(%d) cannot be negative.", rowCount));
+        }
+        boolean sampled = sample != null && !sample.isEmpty();
+
+        try (XSSFWorkbook styleWorkbook = new XSSFWorkbook()) {
+            ColumnPlan columnPlan = ColumnInfoMapper.of(type, styleWorkbook).plan();
+            // Serialize from a typical row number, whose length is part of every cell reference
+            int rowIndex = (int) Math.max(1, Math.min(rowCount, MAX_DATA_ROWS_PER_SHEET) / 2);
+            int rows = sampled ? sample.size() : PLACEHOLDER_ROWS;
+
+            // Warm up, then measure
+            serializeRows(columnPlan, sample, rowIndex);
+            long start = System.nanoTime();
+            byte[] serialized = serializeRows(columnPlan, sample, rowIndex);
+            long serializeNanos = System.nanoTime() - start;
+            start = System.nanoTime();
+            long deflatedSize = deflatedSize(serialized);
+            long deflateNanos = System.nanoTime() - start;
+
+            double rowSize = (double) serialized.length / rows;
+            double compressionRatio = sampled
+                ? Math.max(1, (double) serialized.length / deflatedSize)
+                : RollingExcelExporter.ASSUMED_COMPRESSION_RATIO;
+            long sheets = Math.max(1,
+                (rowCount + MAX_DATA_ROWS_PER_SHEET - 1) / MAX_DATA_ROWS_PER_SHEET);
+            long headerSize = serializeHeader(columnPlan).length;
+
+            long rowsSize = (long) Math.ceil(rowCount * rowSize);
+            long outputSize = headerOnlyFileSize(type)
+                + (long) Math.ceil((rowsSize + (sheets - 1) * headerSize) / compressionRatio);
+            long tempDiskSize = rowsSize + sheets * headerSize;
+            Duration duration = Duration.ofNanos((long) (rowCount * (double) serializeNanos / rows
+                + rowsSize * (double) deflateNanos / serialized.length));
+
+            return new ExportEstimate(rowCount, sampled, rowSize, compressionRatio, outputSize,
+                tempDiskSize, duration);
+        } catch (IOException e) {
+            throw new ExcelException("Failed to estimate export.", type.getName(), e);
+        }
+    }
+
+    /**
+     * Serializes the sample rows, or placeholder rows if the sample is empty, as UTF-8 sheet XML.
+     */
+    private static byte[] serializeRows(ColumnPlan columnPlan, List<?> sample, int rowIndex)
+        throws IOException {
+        StringBuilderWriter out = new StringBuilderWriter();
+        SpreadsheetMLWriter rowWriter = SpreadsheetMLWriter.forRows(out);
+        if (sample != null && !sample.isEmpty()) {
+            for (Object row : sample) {
+                rowWriter.startRow(rowIndex++);
+                for (int i = 0; i < columnPlan.size(); i++) {
+                    rowWriter.writeCell(columnPlan.getColumnIndex(i),
+                        columnPlan.getBodyStyle(i).getIndex(), columnPlan.getColumnType(i),
+                        columnPlan.readValue(row, i));
+                }
+                rowWriter.endRow();
+            }
+        } else {
+            List<Object> values = placeholderValues(columnPlan);
+            for (int r = 0; r < PLACEHOLDER_ROWS; r++) {
+                rowWriter.startRow(rowIndex++);
+                for (int i = 0; i < columnPlan.size(); i++) {
+                    rowWriter.writeCell(columnPlan.getColumnIndex(i),
+                        columnPlan.getBodyStyle(i).getIndex(), columnPlan.getColumnType(i),
+                        values.get(i));
+                }
+                rowWriter.endRow();
+            }
+        }
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static List<Object> placeholderValues(ColumnPlan columnPlan) {
+        List<Object> values = new ArrayList<>(columnPlan.size());
+        for (int i = 0; i < columnPlan.size(); i++) {
+            switch (columnPlan.getColumnType(i)) {
+                case NUMBER:
+                    values.add(12345.678);
+                    break;
+                case BOOLEAN:
+                    values.add(Boolean.TRUE);
+                    break;
+                case FORMULA:
+                    values.add("SUM(A1:A10)");
+                    break;
+                case DATE:
+                    values.add(new Date());
+                    break;
+                case LOCAL_DATE:
+                    values.add(LocalDate.now());
+                    break;
+                case LOCAL_DATE_TIME:
+                    values.add(LocalDateTime.now());
+                    break;
+                default:
+                    values.add(new String(new char[PLACEHOLDER_STRING_LENGTH]).replace('\0', 'x'));
+            }
+        }
+        return values;
+    }
+
+    private static byte[] serializeHeader(ColumnPlan columnPlan) throws IOException {
+        StringBuilderWriter out = new StringBuilderWriter();
+        SpreadsheetMLWriter rowWriter = SpreadsheetMLWriter.forRows(out);
+        rowWriter.startRow(0);
+        for (int i = 0; i < columnPlan.size(); i++) {
+            rowWriter.writeString(columnPlan.getColumnIndex(i),
+                columnPlan.getHeaderStyle(i).getIndex(), columnPlan.getHeaderName(i));
+        }
+        rowWriter.endRow();
+        return out.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static long deflatedSize(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            byte[] buffer = new byte[64 * 1024];
+            while (!deflater.finished()) {
+                deflater.deflate(buffer);
+            }
+            return deflater.getBytesWritten();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * Returns the size of the file with the headers only: the package parts and styles.
+     */
+    private static <T> long headerOnlyFileSize(Class<T> type) throws IOException {
+        CountingOutputStream out = new CountingOutputStream(NullOutputStream.INSTANCE);
+        OoxmlExcelExporter.builder(type, Collections.<T>emptyList()).build().write(out);
+        return out.getByteCount();
+    }
+}
@@ -0,0 +1,417 @@
+package io.github.hee9841.excel.core.exporter;
+
+import io.github.hee9841.excel.core.meta.ColumnInfoMapper;
+import io.github.hee9841.excel.core.meta.ColumnPlan;
+import io.github.hee9841.excel.exception.ExcelException;
+import io.github.hee9841.excel.strategy.SheetStrategy;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.text.MessageFormat;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.stream.Stream;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.commons.io.output.StringBuilderWriter;
+import org.apache.poi.ss.SpreadsheetVersion;
+import org.apache.poi.ss.util.WorkbookUtil;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * {@link ExcelExporter} that serializes the column plan of a DTO class straight to SpreadsheetML,
+ * without creating Apache POI rows and cells.
+ *
+ * <p>The columns are mapped from the same {@code @Excel}/{@code @ExcelColumn} metadata as
+ * {@link DefaultExcelExporter}, and their {@link io.github.hee9841.excel.style.ExcelCellStyle}s
+ * are applied to cell styles of a POI styles table, which is the only part of the file written
+ * by POI. Rows are read with the column accessors and written by a {@link SpreadsheetMLWriter}
+ * straight into the zip package on the output stream, so no row or cell object is created and
+ * no temporary file is used.</p>
+ *
+ * <p>Like the direct write mode of {@link DefaultExcelExporter}, the data and the rows added with
+ * {@code addRows} are kept until {@link #write(OutputStream)}, which pulls their rows while the
+ * file is written. Errors of the rows are then thrown by {@code write}, after part of the file was
+ * written.</p>
+ *
+ * <p>The sheet strategies, maximum rows and sheet names work as in {@link DefaultExcelExporter}.
+ * Cells are written as numbers, booleans, formulas or inline strings, so features that need the
+ * POI usermodel (e.g. a shared strings table) are not available.</p>
+ *
+ * <p>With {@link OoxmlExcelExporterBuilder#parallelRows(Executor, int)}, the rows are pulled in
+ * batches, and each batch is read and serialized into a row fragment by a task on the executor.
+ * The writing thread appends the fragments in order, so the file is the same as without the
+ * executor. A bounded number of batches is in flight at a time.</p>
+ *
+ * <p>Use the {@link OoxmlExcelExporterBuilder} to configure and instantiate this class.</p>
+ *
+ * @param <T> The type of data to be exported to Excel
+ * @see SpreadsheetMLWriter
+ * @see DefaultExcelExporter
+ */
+public class OoxmlExcelExporter<T> implements ExcelExporter<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(OoxmlExcelExporter.class);
+
+    private static final SpreadsheetVersion supplyExcelVersion = SpreadsheetVersion.EXCEL2007;
+
+    private static final int ROW_START_INDEX = 0;
+
+    /**
+     * The maximum number of row batches serialized or waiting to be written at a time
+     */
+    private static final int MAX_PENDING_BATCHES =
+        Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+
+    private final String dtoTypeName;
+    private final SheetStrategy sheetStrategy;
+    private final String sheetName;
+    private final int maxRowsPerSheet;
+    /**
+     * The executor the rows are serialized on, or null to serialize them on the writing thread
+     */
+    private final Executor rowExecutor;
+    private final int rowBatchSize;
+
+    /**
+     * The workbook holding the cell styles of the columns, never written itself
+     */
+    private final XSSFWorkbook styleWorkbook;
+    private final ColumnPlan columnPlan;
+
+    /**
+     * The data whose rows are written when the file is written
+     */
+    private final List<Iterable<T>> deferredData = new ArrayList<>();
+
+    private SpreadsheetMLWriter writer;
+    private int sheetIndex;
+    private int currentRowIndex;
+    private boolean closed;
+
+
+    /**
+     * Constructs an OoxmlExcelExporter with the specified configuration.
+     *
+     * <p>This constructor is not meant to be called directly. Use
+     * {@link OoxmlExcelExporterBuilder} to create instances of OoxmlExcelExporter.</p>
+     *
+     * @param type            The class type of the data to be exported
+     * @param data            The data objects to be exported
+     * @param sheetStrategy   The strategy for sheet management (ONE_SHEET or MULTI_SHEET)
+     * @param sheetName       Base name for sheets (null for default names)
+     * @param maxRowsPerSheet Maximum number of rows allowed per sheet
+     * @param rowExecutor     The executor the rows are serialized on, or null to serialize them
+     *                        on the writing thread
+     * @param rowBatchSize    The number of rows serialized by each task on the executor
+     */
+    OoxmlExcelExporter(
+        Class<T> type,
+        Iterable<T> data,
+        SheetStrategy sheetStrategy,
+        String sheetName,
+        int maxRowsPerSheet,
+        Executor rowExecutor,
+        int rowBatchSize
+    ) {
+        this.dtoTypeName = type.getName();
+        this.sheetStrategy = sheetStrategy;
+        this.sheetName = sheetName;
+        this.maxRowsPerSheet = maxRowsPerSheet;
+        this.rowExecutor = rowExecutor;
+        this.rowBatchSize = rowBatchSize;
+        logger.info("Initializing Excel file for DTO: {}.java.", dtoTypeName);
+
+        validate(data);
+
+        this.styleWorkbook = new XSSFWorkbook();
+        try {
+            this.columnPlan = ColumnInfoMapper.of(type, styleWorkbook).plan();
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+        deferredData.add(data);
+    }
+
+    /**
+     * Creates a new builder for configuring and instantiating an OoxmlExcelExporter.
+     * The data is iterated once, while the file is written.
+     *
+     * @param <T>  The type of data to be exported
+     * @param type The class of the data type
+     * @param data The data objects to be exported
+     * @return A new OoxmlExcelExporterBuilder instance
+     */
+    public static <T> OoxmlExcelExporterBuilder<T> builder(Class<T> type, Iterable<T> data) {
+        return new OoxmlExcelExporterBuilder<>(type, data, supplyExcelVersion.getMaxRows());
+    }
+
+    /**
+     * Creates a new builder for configuring and instantiating an OoxmlExcelExporter.
+     * The remaining rows of the iterator are pulled lazily while the file is written.
+     *
+     * @param <T>  The type of data to be exported
+     * @param type The class of the data type
+     * @param data The iterator of data objects to be exported
+     * @return A new OoxmlExcelExporterBuilder instance
+     */
+    public static <T> OoxmlExcelExporterBuilder<T> builder(Class<T> type, Iterator<T> data) {
+        return builder(type, (Iterable<T>) () -> data);
+    }
+
+    /**
+     * Creates a new builder for configuring and instantiating an OoxmlExcelExporter.
+     * The rows of the stream are pulled lazily while the file is written.
+     * The stream is consumed but not closed; closing it remains the responsibility of the caller.
+     *
+     * @param <T>  The type of data to be exported
+     * @param type The class of the data type
+     * @param data The stream of data objects to be exported
+     * @return A new OoxmlExcelExporterBuilder instance
+     */
+    public static <T> OoxmlExcelExporterBuilder<T> builder(Class<T> type, Stream<T> data) {
+        return builder(type, (Iterable<T>) data::iterator);
+    }
+
+    /**
+     * Validates the data size against the maximum rows per sheet limit with the ONE_SHEET
+     * strategy. When the data is not a {@link Collection}, the limit is checked while rows are
+     * written instead.
+     */
+    private void validate(Iterable<T> data) {
+        if (!(data instanceof Collection)) {
+            return;
+        }
+
+        int dataSize = ((Collection<T>) data).size();
+        if (SheetStrategy.isOneSheet(sheetStrategy) && dataSize > maxRowsPerSheet - 1) {
+            throw new ExcelException(
+                MessageFormat.format(DefaultExcelExporter.EXCEED_MAX_ROW_MSG_2ARGS,
+                    dataSize, maxRowsPerSheet
+                ), dtoTypeName);
+        }
+    }
+
+    /**
+     * Adds the rows of the data list, written when the file is written.
+     *
+     * @param data The list of data objects to be added as rows
+     */
+    @Override
+    public void addRows(List<T> data) {
+        deferredData.add(data);
+    }
+
+    /**
+     * Adds the remaining rows of the iterator, pulled when the file is written.
+     *
+     * @param data The iterator of data objects to be added as rows
+     */
+    @Override
+    public void addRows(Iterator<T> data) {
+        deferredData.add(() -> data);
+    }
+
+    /**
+     * Writes the Excel file to the specified output stream, pulling the rows of the data.
+     * The exporter is closed afterward, whether the writing succeeds or not.
+     *
+     * @param stream The output stream to write the Excel file to
+     * @throws IOException    if an I/O error occurs during writing
+     * @throws ExcelException if a row cannot be written, or the ONE_SHEET strategy is used and
+     *                        the data exceeds the max rows limit
+     */
+    @Override
+    public void write(OutputStream stream) throws IOException {
+        if (stream == null) {
+            throw new ExcelException("Output stream is null.");
+        }
+        if (closed) {
+            throw new ExcelException("The exporter is already written or closed.", dtoTypeName);
+        }
+        logger.info("Start to write Excel file for DTO class({}.java).", dtoTypeName);
+
+        try {
+            // The zip stream is closed to release its deflater, but not the output stream
+            writer = new SpreadsheetMLWriter(SXSSFOptions.defaults().createStreamingOutputStream(
+                CloseShieldOutputStream.wrap(stream), sheetStrategy.getZip64Mode()));
+            createNewSheet();
+            for (Iterable<T> data : deferredData) {
+                addRows(data.iterator(), data instanceof Collection
+                    ? ((Collection<T>) data).size()
+                    : DefaultExcelExporter.UNKNOWN_DATA_SIZE);
+            }
+            writer.finish(styleWorkbook.getStylesSource());
+            logger.info("Successfully wrote Excel file for DTO class({}.java).", dtoTypeName);
+        } finally {
+            close();
+        }
+    }
+
+    private void addRows(Iterator<T> data, int dataSize) throws IOException {
+        if (rowExecutor != null) {
+            addRowsInParallel(data, dataSize);
+            return;
+        }
+        while (data.hasNext()) {
+            T renderedData = data.next();
+            if (currentRowIndex == maxRowsPerSheet) {
+                checkOneSheet(dataSize);
+                createNewSheet();
+            }
+            createBody(writer, renderedData, currentRowIndex++);
+        }
+    }
+
+    /**
+     * Adds the rows in batches serialized on the row executor.
+     *
+     * <p>Batches are pulled on the writing thread and never span two sheets, since the row
+     * numbers are part of the serialized rows. The fragments are appended in the order of their
+     * batches; once more than {@link #MAX_PENDING_BATCHES} batches are pending, the oldest one is
+     * awaited and written before the next batch is pulled. All pending batches are written before
+     * a new sheet is started.</p>
+     */
+    private void addRowsInParallel(Iterator<T> data, int dataSize) throws IOException {
+        Deque<CompletableFuture<String>> pendingBatches = new ArrayDeque<>();
+        while (data.hasNext()) {
+            if (currentRowIndex == maxRowsPerSheet) {
+                checkOneSheet(dataSize);
+                writeBatches(pendingBatches, 0);
+                createNewSheet();
+            }
+
+            int batchEndRowIndex = Math.min(currentRowIndex + rowBatchSize, maxRowsPerSheet);
+            List<T> batch = new ArrayList<>(batchEndRowIndex - currentRowIndex);
+            while (currentRowIndex + batch.size() < batchEndRowIndex && data.hasNext()) {
+                batch.add(data.next());
+            }
+            int startRowIndex = currentRowIndex;
+            pendingBatches.add(CompletableFuture.supplyAsync(
+                () -> serializeRows(batch, startRowIndex), rowExecutor));
+            currentRowIndex += batch.size();
+            writeBatches(pendingBatches, MAX_PENDING_BATCHES);
+        }
+        writeBatches(pendingBatches, 0);
+    }
+
+    private void writeBatches(Deque<CompletableFuture<String>> pendingBatches, int maxPending)
+        throws IOException {
+        while (pendingBatches.size() > maxPending) {
+            try {
+                writer.writeRows(pendingBatches.poll().join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new ExcelException("Failed to serialize rows.", dtoTypeName, e.getCause());
+            }
+        }
+    }
+
+    private String serializeRows(List<T> rows, int startRowIndex) {
+        StringBuilderWriter out = new StringBuilderWriter();
+        SpreadsheetMLWriter rowWriter = SpreadsheetMLWriter.forRows(out);
+        int rowIndex = startRowIndex;
+        try {
+            for (T row : rows) {
+                createBody(rowWriter, row, rowIndex++);
+            }
+        } catch (IOException e) {
+            throw new ExcelException("Failed to serialize rows.", dtoTypeName, e);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Throws an exception if the current sheet is full and the ONE_SHEET strategy is used.
+     */
+    private void checkOneSheet(int dataSize) {
+        if (SheetStrategy.isOneSheet(sheetStrategy)) {
+            throw new ExcelException(dataSize == DefaultExcelExporter.UNKNOWN_DATA_SIZE
+                ? MessageFormat.format(DefaultExcelExporter.EXCEED_MAX_ROW_MSG_1ARG,
+                    maxRowsPerSheet)
+                : MessageFormat.format(DefaultExcelExporter.EXCEED_MAX_ROW_MSG_2ARGS,
+                    dataSize, maxRowsPerSheet), dtoTypeName);
+        }
+    }
+
+    /**
+     * Starts a new sheet and writes its header row.
+     * If a sheet name is provided, it is used as a base name with an index suffix.
+     */
+    private void createNewSheet() throws IOException {
+        String finalSheetName = (sheetName != null)
+            ? String.format("%s(%d)", sheetName, sheetIndex)
+            : "Sheet" + sheetIndex;
+        WorkbookUtil.validateSheetName(finalSheetName);
+        sheetIndex++;
+
+        writer.startSheet(finalSheetName);
+        logger.debug("Create new Sheet : {}.", finalSheetName);
+
+        writer.startRow(ROW_START_INDEX);
+        for (int i = 0; i < columnPlan.size(); i++) {
+            writer.writeString(columnPlan.getColumnIndex(i),
+                columnPlan.getHeaderStyle(i).getIndex(), columnPlan.getHeaderName(i));
+        }
+        writer.endRow();
+        currentRowIndex = ROW_START_INDEX + 1;
+    }
+
+    private void createBody(SpreadsheetMLWriter rowWriter, Object data, int rowIndex)
+        throws IOException {
+        rowWriter.startRow(rowIndex);
+        for (int i = 0; i < columnPlan.size(); i++) {
+            try {
+                rowWriter.writeCell(columnPlan.getColumnIndex(i),
+                    columnPlan.getBodyStyle(i).getIndex(), columnPlan.getColumnType(i),
+                    columnPlan.readValue(data, i));
+            } catch (ExcelException e) {
+                throw new ExcelException(
+                    String.format("Failed to create body(column:%d, row:%d) : %s",
+                        columnPlan.getColumnIndex(i), rowIndex, e.getMessage()), e);
+            }
+        }
+        rowWriter.endRow();
+    }
+
+    /**
+     * Releases the styles of the exporter without writing the file.
+     * Closing an exporter that is already written or closed has no effect.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        deferredData.clear();
+        if (writer != null) {
+            // Releases the zip stream of a write that failed; no effect once it is finished
+            try {
+                writer.abort();
+            } catch (IOException e) {
+                logger.warn("Failed to release zip stream for DTO class({}.java).", dtoTypeName,
+                    e);
+            }
+            writer = null;
+        }
+        try {
+            styleWorkbook.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close workbook for DTO class({}.java).", dtoTypeName, e);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package io.github.hee9841.excel.core.exporter;
+
+import io.github.hee9841.excel.exception.ExcelException;
+import io.github.hee9841.excel.strategy.SheetStrategy;
+import java.util.concurrent.Executor;
+
+/**
+ * Builder class for creating and configuring {@link OoxmlExcelExporter} instances.
+ *
+ * <p>Default configuration:</p>
+ * <ul>
+ *     <li>Sheet Strategy: MULTI_SHEET</li>
+ *     <li>Max Rows per Sheet: Excel 2007+ maximum - 1</li>
+ *     <li>Sheet Name: null (default sheet names will be used)</li>
+ *     <li>Row serialization: on the writing thread</li>
+ * </ul>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * OoxmlExcelExporter.builder(MyData.class, dataList)
+ *     .sheetStrategy(SheetStrategy.ONE_SHEET)
+ *     .sheetName("MySheet")
+ *     .build()
+ *     .write(outputStream);
+ * </pre>
+ *
+ * @param <T> The type of data to be exported
+ */
+public class OoxmlExcelExporterBuilder<T> {
+
+    private final Class<T> type;
+    private final Iterable<T> data;
+
+    private final int supplyExcelMaxRows;
+
+    private int maxRowsPerSheet;
+    private SheetStrategy sheetStrategy;
+    private String sheetName;
+    private Executor rowExecutor;
+    private int rowBatchSize;
+
+    /**
+     * Constructs a new OoxmlExcelExporterBuilder with the specified type and data.
+     *
+     * @param type               The class type of the data to be exported
+     * @param data               The data objects to be exported
+     * @param supplyExcelMaxRows The maximum number of rows supported by the Excel version
+     */
+    OoxmlExcelExporterBuilder(
+        Class<T> type,
+        Iterable<T> data,
+        int supplyExcelMaxRows
+    ) {
+        this.type = type;
+        this.data = data;
+        this.supplyExcelMaxRows = supplyExcelMaxRows;
+        this.maxRowsPerSheet = supplyExcelMaxRows - 1;
+        this.sheetStrategy = SheetStrategy.MULTI_SHEET;
+        this.sheetName = null;
+    }
+
+    /**
+     * Sets the sheet strategy for the Excel exporter.
+     *
+     * @param sheetStrategy The strategy to use for sheet management (ONE_SHEET or MULTI_SHEET)
+     * @return This builder instance for method chaining
+     */
+    public OoxmlExcelExporterBuilder<T> sheetStrategy(SheetStrategy sheetStrategy) {
+        this.sheetStrategy = sheetStrategy;
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of rows allowed per sheet.
+     *
+     * @param maxRowsPerSheet The maximum number of rows per sheet
+     * @return This builder instance for method chaining
+     * @throws ExcelException if maxRowsPerSheet exceeds the Excel version's maximum row limit
+     */
+    public OoxmlExcelExporterBuilder<T> maxRows(int maxRowsPerSheet) {
+        if (maxRowsPerSheet > supplyExcelMaxRows) {
+            throw new ExcelException(String.format(
+                "The maximum rows per sheet(%d) cannot exceed the supplied Excel sheet version's maximum row limit(%d).",
+                maxRowsPerSheet, supplyExcelMaxRows));
+        }
+        this.maxRowsPerSheet = maxRowsPerSheet;
+        return this;
+    }
+
+    /**
+     * Sets the base name for sheets in the Excel file.
+     * If set, each sheet will be named using this base name with an index suffix.
+     *
+     * @param sheetName The base name for sheets
+     * @return This builder instance for method chaining
+     */
+    public OoxmlExcelExporterBuilder<T> sheetName(String sheetName) {
+        this.sheetName = sheetName;
+        return this;
+    }
+
+    /**
+     * Serializes the rows in batches on the given executor, while the writing thread appends the
+     * serialized batches to the sheets in order.
+     *
+     * <p>Reading the fields of the DTOs and converting their values (e.g. dates and numbers) is
+     * spread across the executor's threads, and the file is the same as without the executor. The
+     * DTO getters must be safe to call from the executor's threads.</p>
+     *
+     * @param rowExecutor  The executor to serialize the rows on
+     * @param rowBatchSize The number of rows serialized by each task
+     * @return This builder instance for method chaining
+     * @throws ExcelException if the executor is null or the batch size is not positive
+     */
+    public OoxmlExcelExporterBuilder<T> parallelRows(Executor rowExecutor, int rowBatchSize) {
+        if (rowExecutor == null) {
+            throw new ExcelException("Row executor is null.");
+        }
+        if (rowBatchSize <= 0) {
+            throw new ExcelException(
+                String.format("The row batch size(%d) must be positive.", rowBatchSize));
+        }
+        this.rowExecutor = rowExecutor;
+        this.rowBatchSize = rowBatchSize;
+        return this;
+    }
+
+    /**
+     * Builds and returns a new OoxmlExcelExporter instance with the configured settings.
+     *
+     * @return A new OoxmlExcelExporter instance
+     */
+    public OoxmlExcelExporter<T> build() {
+        return new OoxmlExcelExporter<>(
+            this.type,
+            this.data,
+            this.sheetStrategy,
+            this.sheetName,
+            this.maxRowsPerSheet,
+            this.rowExecutor,
+            this.rowBatchSize
+        );
+    }
+}
@@ -0,0 +1,30 @@
+package io.github.hee9841.excel.core.exporter;
+
+import java.util.List;
+
+/**
+ * Fetches the data to be exported page by page, e.g. from a database.
+ *
+ * <p>Pages are fetched in order, starting from page index 0. A page with fewer rows than the page
+ * size (including an empty page or null) is the last page.</p>
+ *
+ * <pre>
+ * PageFetcher&lt;MyData&gt; fetcher = (pageIndex, pageSize) -&gt;
+ *     repository.findAll(PageRequest.of(pageIndex, pageSize)).getContent();
+ * </pre>
+ *
+ * @param <T> The type of data to be fetched
+ * @see DefaultExcelExporter#builder(Class, PageFetcher, int)
+ */
+@FunctionalInterface
+public interface PageFetcher<T> {
+
+    /**
+     * Fetches a page of data.
+     *
+     * @param pageIndex The index of the page to fetch, starting from 0
+     * @param pageSize  The maximum number of rows of the page
+     * @return The rows of the page
+     */
+    List<T> fetch(int pageIndex, int pageSize);
+}
@@ -0,0 +1,211 @@
+package io.github.hee9841.excel.core.exporter;
+
+import io.github.hee9841.excel.exception.ExcelException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+/**
+ * Iterable over the rows of the pages fetched by a {@link PageFetcher} or a
+ * {@link CursorPageFetcher}.
+ *
+ * <p>Only the page being written is held in memory. When a prefetch {@link Executor} is set, the
+ * next page is fetched on the executor while the rows of the current page are written, so the
+ * latency of the data source overlaps with the cell serialization; at most two pages are held in
+ * memory then. A prefetch still running when the rows stop being consumed, e.g. after a failure,
+ * is cancelled with {@link #cancelPrefetch(Iterator)}.</p>
+ *
+ * @param <T> The type of data to be exported
+ * @see PageFetcher
+ * @see CursorPageFetcher
+ */
+final class PagedData<T> implements Iterable<T> {
+
+    private final PageSource<T> source;
+    private final int pageSize;
+    /**
+     * The executor to prefetch the next page on, or null to fetch pages on the writing thread
+     */
+    private final Executor prefetchExecutor;
+
+
+    private PagedData(PageSource<T> source, int pageSize, Executor prefetchExecutor) {
+        this.source = source;
+        this.pageSize = pageSize;
+        this.prefetchExecutor = prefetchExecutor;
+    }
+
+    /**
+     * Factory method to create a new {@link PagedData} instance fetching pages by index.
+     *
+     * @param fetcher  The fetcher of the pages
+     * @param pageSize The number of rows requested per page
+     * @return A new {@link PagedData} instance fetching pages on the writing thread
+     * @throws ExcelException If the fetcher is null or the page size is not positive
+     */
+    static <T> PagedData<T> of(PageFetcher<T> fetcher, int pageSize) {
+        if (fetcher == null) {
+            throw new ExcelException("Page fetcher is null.");
+        }
+        validatePageSize(pageSize);
+        return new PagedData<>((pageIndex, lastRow) -> fetcher.fetch(pageIndex, pageSize),
+            pageSize, null);
+    }
+
+    /**
+     * Factory method to create a new {@link PagedData} instance fetching pages after the last
+     * row of the previous page.
+     *
+     * @param fetcher  The fetcher of the pages
+     * @param pageSize The number of rows requested per page
+     * @return A new {@link PagedData} instance fetching pages on the writing thread
+     * @throws ExcelException If the fetcher is null or the page size is not positive
+     */
+    static <T> PagedData<T> of(CursorPageFetcher<T> fetcher, int pageSize) {
+        if (fetcher == null) {
+            throw new ExcelException("Cursor page fetcher is null.");
+        }
+        validatePageSize(pageSize);
+        return new PagedData<>((pageIndex, lastRow) -> fetcher.fetch(lastRow, pageSize),
+            pageSize, null);
+    }
+
+    private static void validatePageSize(int pageSize) {
+        if (pageSize <= 0) {
+            throw new ExcelException(
+                String.format("The page size(%d) must be greater than 0.", pageSize));
+        }
+    }
+
+    /**
+     * Returns a copy of this paged data prefetching the next page on the given executor.
+     *
+     * @param executor The executor to fetch the next page on
+     * @return A new {@link PagedData} instance
+     */
+    PagedData<T> prefetch(Executor executor) {
+        return new PagedData<>(source, pageSize, executor);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new PagedIterator();
+    }
+
+    /**
+     * Cancels the page being prefetched by the given iterator, if it iterates paged data.
+     * The fetch is interrupted if it is running.
+     *
+     * @param rows An iterator of any data
+     */
+    static void cancelPrefetch(Iterator<?> rows) {
+        if (rows instanceof PagedData.PagedIterator) {
+            ((PagedData<?>.PagedIterator) rows).cancelPrefetch();
+        }
+    }
+
+    /**
+     * Fetches a page from a {@link PageFetcher} or a {@link CursorPageFetcher}.
+     */
+    @FunctionalInterface
+    private interface PageSource<T> {
+
+        List<T> fetch(int pageIndex, T lastRow);
+    }
+
+    private class PagedIterator implements Iterator<T> {
+
+        private Iterator<T> currentPage = Collections.emptyIterator();
+        private int nextPageIndex = 0;
+        /**
+         * The last row of the pages fetched so far, or null
+         */
+        private T lastRow;
+        private boolean lastPageFetched = false;
+        /**
+         * The next page being fetched on the prefetch executor, or null
+         */
+        private FutureTask<List<T>> prefetchedPage;
+
+        @Override
+        public boolean hasNext() {
+            while (!currentPage.hasNext()) {
+                if (lastPageFetched) {
+                    return false;
+                }
+                currentPage = nextPage().iterator();
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return currentPage.next();
+        }
+
+        private List<T> nextPage() {
+            int pageIndex = nextPageIndex++;
+            List<T> page = prefetchedPage != null
+                ? join(prefetchedPage, pageIndex)
+                : fetch(pageIndex, lastRow);
+            prefetchedPage = null;
+
+            lastPageFetched = page.size() < pageSize;
+            if (!page.isEmpty()) {
+                lastRow = page.get(page.size() - 1);
+            }
+            if (!lastPageFetched && prefetchExecutor != null) {
+                int prefetchIndex = nextPageIndex;
+                T prefetchAfter = lastRow;
+                prefetchedPage = new FutureTask<>(() -> fetch(prefetchIndex, prefetchAfter));
+                prefetchExecutor.execute(prefetchedPage);
+            }
+            return page;
+        }
+
+        private List<T> fetch(int pageIndex, T after) {
+            List<T> page = source.fetch(pageIndex, after);
+            return page == null ? Collections.emptyList() : page;
+        }
+
+        private List<T> join(FutureTask<List<T>> page, int pageIndex) {
+            try {
+                return page.get();
+            } catch (InterruptedException e) {
+                page.cancel(true);
+                Thread.currentThread().interrupt();
+                throw new ExcelException(
+                    String.format("Interrupted while waiting for page %d.", pageIndex), e);
+            } catch (CancellationException e) {
+                throw new ExcelException(
+                    String.format("The fetch of page %d was cancelled.", pageIndex), e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new ExcelException(
+                    String.format("Failed to fetch page %d.", pageIndex), e.getCause());
+            }
+        }
+
+        private void cancelPrefetch() {
+            if (prefetchedPage != null) {
+                prefetchedPage.cancel(true);
+                prefetchedPage = null;
+            }
+            lastPageFetched = true;
+            currentPage = Collections.emptyIterator();
+        }
+    }
+}
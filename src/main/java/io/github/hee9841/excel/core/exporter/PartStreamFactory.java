@@ -0,0 +1,30 @@
+package io.github.hee9841.excel.core.exporter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Opens the output stream of each part file of a {@link RollingExcelExporter}.
+ *
+ * <p>Parts are opened in order, starting from part index 0, once each part is complete. The
+ * stream is closed by the exporter after the part is written.</p>
+ *
+ * <pre>
+ * PartStreamFactory parts = partIndex -&gt;
+ *     Files.newOutputStream(directory.resolve("export-" + partIndex + ".xlsx"));
+ * </pre>
+ *
+ * @see DefaultExcelExporter#rolling(Class, PartStreamFactory)
+ */
+@FunctionalInterface
+public interface PartStreamFactory {
+
+    /**
+     * Opens the output stream of a part file.
+     *
+     * @param partIndex The index of the part, starting from 0
+     * @return The output stream to write the part to
+     * @throws IOException if the stream cannot be opened
+     */
+    OutputStream open(int partIndex) throws IOException;
+}
@@ -0,0 +1,233 @@
+package io.github.hee9841.excel.core.exporter;
+
+import io.github.hee9841.excel.exception.ExcelException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Exports rows into a sequence of Excel files, rolling over into a new file once the current one
+ * reaches a number of rows or an estimated compressed size.
+ *
+ * <p>Each part is a complete workbook exported by a {@link DefaultExcelExporter}, with its own
+ * headers and sheets split by the sheet strategy. When a part is full, it is written right away
+ * to the output stream opened by the {@link PartStreamFactory}, which is then closed, and its
+ * temporary files are deleted before the next part is started. The memory and temp disk used by
+ * the export are therefore bounded by one part, however many rows are exported.</p>
+ *
+ * <p>The size of a part is estimated from its temporary sheet files, so rows still held in the
+ * row access window are not counted. When the temporary files are gzip-compressed, their size is
+ * close to the size of the sheets in the file; otherwise the size of the XML is divided by
+ * {@link #ASSUMED_COMPRESSION_RATIO}. The size is checked every {@link #SIZE_CHECK_INTERVAL}
+ * rows, so a part can exceed the size limit by the rows added until the next check.</p>
+ *
+ * <p>Use the {@link RollingExcelExporterBuilder} to configure and instantiate this class.</p>
+ *
+ * @param <T> The type of data to be exported
+ * @see DefaultExcelExporter#rolling(Class, PartStreamFactory)
+ */
+public class RollingExcelExporter<T> implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RollingExcelExporter.class);
+
+    /**
+     * The assumed ratio between the sheet XML and its deflated size in the file
+     */
+    static final int ASSUMED_COMPRESSION_RATIO = 8;
+
+    /**
+     * The number of rows added between two checks of the part size
+     */
+    static final int SIZE_CHECK_INTERVAL = 1000;
+
+    /**
+     * Creates the exporter of a part with its first rows
+     */
+    private final Function<Iterable<T>, DefaultExcelExporter<T>> exporterFactory;
+    private final PartStreamFactory streams;
+    private final long maxRowsPerFile;
+    private final long maxFileSize;
+    private final boolean compressTempFiles;
+    private final String dtoTypeName;
+
+    private DefaultExcelExporter<T> currentPart;
+    private long currentPartRows;
+    private int partCount;
+    private boolean closed;
+
+
+    /**
+     * Constructs a RollingExcelExporter with the specified configuration.
+     *
+     * <p>This constructor is not meant to be called directly. Use
+     * {@link RollingExcelExporterBuilder} to create instances of RollingExcelExporter.</p>
+     *
+     * @param type              The class type of the data to be exported
+     * @param exporterFactory   Creates the exporter of a part with its first rows
+     * @param streams           Opens the output stream of each part
+     * @param maxRowsPerFile    The maximum number of data rows of a part
+     * @param maxFileSize       The estimated compressed size in bytes a part is rolled over at
+     * @param compressTempFiles Whether the temporary sheet files are gzip-compressed
+     */
+    RollingExcelExporter(Class<T> type,
+        Function<Iterable<T>, DefaultExcelExporter<T>> exporterFactory, PartStreamFactory streams,
+        long maxRowsPerFile, long maxFileSize, boolean compressTempFiles) {
+        this.dtoTypeName = type.getName();
+        this.exporterFactory = exporterFactory;
+        this.streams = streams;
+        this.maxRowsPerFile = maxRowsPerFile;
+        this.maxFileSize = maxFileSize;
+        this.compressTempFiles = compressTempFiles;
+    }
+
+    /**
+     * Adds a list of data rows, writing the parts that become full.
+     *
+     * @param data The list of data objects to be added as rows
+     * @throws IOException if a part cannot be written
+     */
+    public void addRows(List<T> data) throws IOException {
+        addRows(data.iterator());
+    }
+
+    /**
+     * Adds the remaining data rows of an iterator, writing the parts that become full.
+     * Rows are pulled from the iterator one by one.
+     *
+     * @param data The iterator of data objects to be added as rows
+     * @throws IOException if a part cannot be written
+     */
+    public void addRows(Iterator<T> data) throws IOException {
+        checkNotClosed();
+        try {
+            while (data.hasNext()) {
+                if (currentPart == null) {
+                    currentPartRows = 1;
+                    currentPart = exporterFactory.apply(Collections.singletonList(data.next()));
+                }
+                currentPart.addRows(new PartRows(data));
+                if (isCurrentPartFull()) {
+                    writeCurrentPart();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Writes the last part and ends the export. A file with headers only is written if no rows
+     * were added.
+     *
+     * @return The number of parts written
+     * @throws IOException if the last part cannot be written
+     */
+    public int finish() throws IOException {
+        checkNotClosed();
+        try {
+            if (currentPart == null && partCount == 0) {
+                currentPart = exporterFactory.apply(Collections.emptyList());
+            }
+            if (currentPart != null) {
+                writeCurrentPart();
+            }
+        } finally {
+            close();
+        }
+        return partCount;
+    }
+
+    /**
+     * Returns the number of parts written so far.
+     *
+     * @return the number of written parts
+     */
+    public int getPartCount() {
+        return partCount;
+    }
+
+    /**
+     * Deletes the temporary files of the current part without writing it. The parts already
+     * written are kept. Closing an exporter that is already finished or closed has no effect.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        if (currentPart != null) {
+            currentPart.close();
+            currentPart = null;
+        }
+    }
+
+    private void checkNotClosed() {
+        if (closed) {
+            throw new ExcelException("The exporter is already finished or closed.", dtoTypeName);
+        }
+    }
+
+    private boolean isCurrentPartFull() {
+        return currentPartRows >= maxRowsPerFile
+            || (currentPartRows % SIZE_CHECK_INTERVAL == 0
+            && estimateCurrentPartSize() >= maxFileSize);
+    }
+
+    /**
+     * Estimates the compressed size of the rows of the current part flushed so far.
+     */
+    private long estimateCurrentPartSize() {
+        long tempFileSize = currentPart.getTempFileSize();
+        return compressTempFiles ? tempFileSize : tempFileSize / ASSUMED_COMPRESSION_RATIO;
+    }
+
+    private void writeCurrentPart() throws IOException {
+        DefaultExcelExporter<T> part = currentPart;
+        currentPart = null;
+        try (OutputStream stream = streams.open(partCount)) {
+            if (stream == null) {
+                throw new ExcelException(
+                    String.format("The output stream of part %d is null.", partCount),
+                    dtoTypeName);
+            }
+            part.write(stream);
+        } finally {
+            // Deletes the temporary files if the part was not written
+            part.close();
+        }
+        logger.info("Wrote part {} of Excel files for DTO class({}.java) - rows: {}.",
+            partCount, dtoTypeName, currentPartRows);
+        partCount++;
+    }
+
+    /**
+     * The rows of the data that fit in the current part, ending when the part is full.
+     */
+    private final class PartRows implements Iterator<T> {
+
+        private final Iterator<T> data;
+
+        private PartRows(Iterator<T> data) {
+            this.data = data;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !isCurrentPartFull() && data.hasNext();
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            currentPartRows++;
+            return data.next();
+        }
+    }
+}
@@ -0,0 +1,216 @@
+package io.github.hee9841.excel.core.exporter;
+
+import io.github.hee9841.excel.exception.ExcelException;
+import io.github.hee9841.excel.strategy.SheetStrategy;
+import java.nio.file.Path;
+import java.util.Collections;
+
+/**
+ * Builder class for creating and configuring {@link RollingExcelExporter} instances.
+ *
+ * <p>Default configuration:</p>
+ * <ul>
+ *     <li>Max Rows per File: unlimited</li>
+ *     <li>Max File Size: unlimited</li>
+ *     <li>Sheet Strategy, Max Rows per Sheet, Sheet Name and workbook options: same as
+ *     {@link DefaultExcelExporterBuilder}</li>
+ * </ul>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * try (RollingExcelExporter&lt;MyData&gt; exporter = DefaultExcelExporter
+ *     .rolling(MyData.class, partIndex -&gt; openPartStream(partIndex))
+ *     .maxRowsPerFile(1_000_000)
+ *     .maxFileSize(100L * 1024 * 1024)
+ *     .build()) {
+ *     exporter.addRows(repository.streamAll().iterator());
+ *     exporter.finish();
+ * }
+ * </pre>
+ *
+ * @param <T> The type of data to be exported
+ * @see RollingExcelExporter
+ */
+public class RollingExcelExporterBuilder<T> {
+
+    private final Class<T> type;
+    private final DefaultExcelExporterBuilder<T> exporterBuilder;
+    private final PartStreamFactory streams;
+
+    private long maxRowsPerFile;
+    private long maxFileSize;
+    private boolean compressTempFiles;
+
+    /**
+     * Constructs a new RollingExcelExporterBuilder with the specified type and part streams.
+     *
+     * @param type               The class type of the data to be exported
+     * @param streams            Opens the output stream of each part
+     * @param supplyExcelMaxRows The maximum number of rows supported by the Excel version
+     */
+    RollingExcelExporterBuilder(Class<T> type, PartStreamFactory streams,
+        int supplyExcelMaxRows) {
+        if (streams == null) {
+            throw new ExcelException("Part stream factory is null.");
+        }
+        this.type = type;
+        this.exporterBuilder = new DefaultExcelExporterBuilder<>(type,
+            Collections.<T>emptyList(), supplyExcelMaxRows);
+        this.streams = streams;
+        this.maxRowsPerFile = Long.MAX_VALUE;
+        this.maxFileSize = Long.MAX_VALUE;
+    }
+
+    /**
+     * Sets the number of data rows after which the export rolls over into a new file.
+     * The header rows are not counted.
+     *
+     * @param maxRowsPerFile The maximum number of data rows per file
+     * @return This builder instance for method chaining
+     * @throws ExcelException if the maximum is not positive
+     */
+    public RollingExcelExporterBuilder<T> maxRowsPerFile(long maxRowsPerFile) {
+        if (maxRowsPerFile <= 0) {
+            throw new ExcelException(
+                String.format("The maximum rows per file(%d) must be positive.", maxRowsPerFile));
+        }
+        this.maxRowsPerFile = maxRowsPerFile;
+        return this;
+    }
+
+    /**
+     * Sets the estimated compressed size after which the export rolls over into a new file.
+     * The size is estimated from the temporary sheet files of the part; see
+     * {@link RollingExcelExporter} for its accuracy.
+     *
+     * @param maxFileSize The estimated file size in bytes
+     * @return This builder instance for method chaining
+     * @throws ExcelException if the size is not positive
+     */
+    public RollingExcelExporterBuilder<T> maxFileSize(long maxFileSize) {
+        if (maxFileSize <= 0) {
+            throw new ExcelException(
+                String.format("The maximum file size(%d) must be positive.", maxFileSize));
+        }
+        this.maxFileSize = maxFileSize;
+        return this;
+    }
+
+    /**
+     * Sets the sheet strategy of each file.
+     *
+     * @param sheetStrategy The strategy to use for sheet management (ONE_SHEET or MULTI_SHEET)
+     * @return This builder instance for method chaining
+     * @see DefaultExcelExporterBuilder#sheetStrategy(SheetStrategy)
+     */
+    public RollingExcelExporterBuilder<T> sheetStrategy(SheetStrategy sheetStrategy) {
+        exporterBuilder.sheetStrategy(sheetStrategy);
+        return this;
+    }
+
+    /**
+     * Sets the maximum number of rows allowed per sheet.
+     *
+     * @param maxRowsPerSheet The maximum number of rows per sheet
+     * @return This builder instance for method chaining
+     * @throws ExcelException if maxRowsPerSheet exceeds the Excel version's maximum row limit
+     * @see DefaultExcelExporterBuilder#maxRows(int)
+     */
+    public RollingExcelExporterBuilder<T> maxRows(int maxRowsPerSheet) {
+        exporterBuilder.maxRows(maxRowsPerSheet);
+        return this;
+    }
+
+    /**
+     * Sets the base name for sheets in each file.
+     *
+     * @param sheetName The base name for sheets
+     * @return This builder instance for method chaining
+     * @see DefaultExcelExporterBuilder#sheetName(String)
+     */
+    public RollingExcelExporterBuilder<T> sheetName(String sheetName) {
+        exporterBuilder.sheetName(sheetName);
+        return this;
+    }
+
+    /**
+     * Sets the number of rows kept in memory before older rows are flushed to the temporary
+     * sheet files of the SXSSF workbook.
+     *
+     * @param rowAccessWindowSize The number of rows kept in memory, or -1 to keep all rows
+     * @return This builder instance for method chaining
+     * @throws ExcelException if the window size is 0 or less than -1
+     * @see DefaultExcelExporterBuilder#windowSize(int)
+     */
+    public RollingExcelExporterBuilder<T> windowSize(int rowAccessWindowSize) {
+        exporterBuilder.windowSize(rowAccessWindowSize);
+        return this;
+    }
+
+    /**
+     * Sets whether the temporary sheet files are gzip-compressed, which also makes the estimated
+     * file size more accurate.
+     *
+     * @param compressTempFiles Whether to compress the temporary sheet files
+     * @return This builder instance for method chaining
+     * @see DefaultExcelExporterBuilder#compressTempFiles(boolean)
+     */
+    public RollingExcelExporterBuilder<T> compressTempFiles(boolean compressTempFiles) {
+        exporterBuilder.compressTempFiles(compressTempFiles);
+        this.compressTempFiles = compressTempFiles;
+        return this;
+    }
+
+    /**
+     * Sets whether string cell values are written to a shared strings table instead of inline.
+     *
+     * @param useSharedStringsTable Whether to use a shared strings table
+     * @return This builder instance for method chaining
+     * @see DefaultExcelExporterBuilder#useSharedStringsTable(boolean)
+     */
+    public RollingExcelExporterBuilder<T> useSharedStringsTable(boolean useSharedStringsTable) {
+        exporterBuilder.useSharedStringsTable(useSharedStringsTable);
+        return this;
+    }
+
+    /**
+     * Sets the directory the temporary sheet files of the parts are created in.
+     *
+     * @param tempDirectory An existing directory, or null for POI's default temp directory
+     * @return This builder instance for method chaining
+     * @see DefaultExcelExporterBuilder#tempDirectory(Path)
+     */
+    public RollingExcelExporterBuilder<T> tempDirectory(Path tempDirectory) {
+        exporterBuilder.tempDirectory(tempDirectory);
+        return this;
+    }
+
+    /**
+     * Sets the deflate level of each file.
+     *
+     * @param compressionLevel The deflate level, from 0 to 9, or -1 for the default level
+     * @return This builder instance for method chaining
+     * @throws ExcelException If the level is not between -1 and 9
+     * @see DefaultExcelExporterBuilder#compressionLevel(int)
+     */
+    public RollingExcelExporterBuilder<T> compressionLevel(int compressionLevel) {
+        exporterBuilder.compressionLevel(compressionLevel);
+        return this;
+    }
+
+    /**
+     * Builds and returns a new RollingExcelExporter instance with the configured settings.
+     *
+     * @return A new RollingExcelExporter instance
+     */
+    public RollingExcelExporter<T> build() {
+        return new RollingExcelExporter<>(
+            this.type,
+            exporterBuilder::build,
+            this.streams,
+            this.maxRowsPerFile,
+            this.maxFileSize,
+            this.compressTempFiles
+        );
+    }
+}
@@ -0,0 +1,293 @@
+package io.github.hee9841.excel.core.exporter;
+
+import io.github.hee9841.excel.core.meta.ColumnPlan;
+import io.github.hee9841.excel.exception.ExcelException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pipelines the rows of the data through a fetch stage and a conversion stage, each on its own
+ * thread, ahead of the thread that writes them.
+ *
+ * <ol>
+ *     <li>The fetch stage pulls the rows from the data in batches.</li>
+ *     <li>The conversion stage reads the column values of the rows with the
+ *     {@link ColumnPlan}.</li>
+ *     <li>The thread iterating this pipeline gets the values of each row, to set them to the cells
+ *     of the workbook and write them.</li>
+ * </ol>
+ *
+ * <p>The column values are read boxed, and set with the generic setter of their
+ * {@link io.github.hee9841.excel.core.meta.ColumnDataType}, so the generated row writer and the
+ * unboxed setters of the primitive and {@link java.util.Date} values are not used: setting a cell
+ * costs more than without a pipeline, which pays off only when fetching the rows dominates. A
+ * value that cannot be read is passed as a {@link ReadFailure} in place of the value, and thrown
+ * with its column and row when the row is written.</p>
+ *
+ * <p>The stages are connected by bounded queues of batches, so a slow stage throttles the ones
+ * before it and only a few batches are held in memory. A failure of a stage is thrown by
+ * {@link #hasNext()} once the rows before it are consumed. The pipeline must be closed, which
+ * stops the stages if the rows were not all consumed and waits for their threads to end.</p>
+ *
+ * <p>A pipeline runs over the rows of one {@code addRows} call, and its two threads end with it.
+ * Creating them costs far less than the batches they convert, unless rows are added in many small
+ * calls; such rows are better added through a single iterator, or with a factory of cheap threads
+ * such as virtual threads.</p>
+ *
+ * @see DefaultExcelExporterBuilder#pipeline(ThreadFactory, int)
+ */
+final class RowPipeline implements Iterator<Object[]>, AutoCloseable {
+
+    /**
+     * The number of batches each queue holds
+     */
+    private static final int QUEUE_CAPACITY = 4;
+    /**
+     * The time {@link #close()} waits for each stage thread to end, in milliseconds
+     */
+    private static final long CLOSE_TIMEOUT_MILLIS = 10_000;
+
+    private static final Logger logger = LoggerFactory.getLogger(RowPipeline.class);
+
+    private final Iterator<?> source;
+    private final ColumnPlan columnPlan;
+    private final int batchSize;
+
+    private final BlockingQueue<Batch<List<?>>> fetchedBatches =
+        new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final BlockingQueue<Batch<Object[][]>> convertedBatches =
+        new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+
+    private final Thread fetchThread;
+    private final Thread convertThread;
+
+    private Object[][] currentBatch = new Object[0][];
+    private int nextRowInBatch;
+    private boolean ended;
+
+
+    private RowPipeline(Iterator<?> source, ColumnPlan columnPlan, ThreadFactory threadFactory,
+        int batchSize) {
+        this.source = source;
+        this.columnPlan = columnPlan;
+        this.batchSize = batchSize;
+        this.fetchThread = threadFactory.newThread(this::fetch);
+        this.convertThread = threadFactory.newThread(this::convert);
+    }
+
+    /**
+     * Starts the stages of a pipeline over the remaining rows of the data.
+     *
+     * @param source        The rows to pipeline, pulled on the fetch thread
+     * @param columnPlan    The column plan to read the values of the rows with
+     * @param threadFactory The factory of the stage threads
+     * @param batchSize     The number of rows passed between the stages at a time
+     * @return The started pipeline
+     */
+    static RowPipeline start(Iterator<?> source, ColumnPlan columnPlan,
+        ThreadFactory threadFactory, int batchSize) {
+        RowPipeline pipeline = new RowPipeline(source, columnPlan, threadFactory, batchSize);
+        pipeline.fetchThread.start();
+        pipeline.convertThread.start();
+        return pipeline;
+    }
+
+    private void fetch() {
+        try {
+            while (source.hasNext()) {
+                List<Object> rows = new ArrayList<>(batchSize);
+                while (rows.size() < batchSize && source.hasNext()) {
+                    rows.add(source.next());
+                }
+                fetchedBatches.put(Batch.of(rows));
+            }
+            fetchedBatches.put(Batch.end());
+        } catch (InterruptedException e) {
+            // Closed before all rows were consumed
+        } catch (Throwable e) {
+            putFailure(fetchedBatches, e);
+        }
+    }
+
+    private void convert() {
+        try {
+            while (true) {
+                Batch<List<?>> fetched = fetchedBatches.take();
+                if (fetched.rows == null) {
+                    convertedBatches.put(Batch.forward(fetched));
+                    return;
+                }
+                convertedBatches.put(Batch.of(readValues(fetched.rows)));
+            }
+        } catch (InterruptedException e) {
+            // Closed before all rows were consumed
+        } catch (Throwable e) {
+            putFailure(convertedBatches, e);
+        }
+    }
+
+    private static <V> void putFailure(BlockingQueue<Batch<V>> batches, Throwable failure) {
+        try {
+            batches.put(Batch.failed(failure));
+        } catch (InterruptedException e) {
+            // Closed before the failure was consumed
+        }
+    }
+
+    private Object[][] readValues(List<?> rows) {
+        Object[][] values = new Object[rows.size()][];
+        for (int r = 0; r < values.length; r++) {
+            Object row = rows.get(r);
+            values[r] = new Object[columnPlan.size()];
+            for (int i = 0; i < columnPlan.size(); i++) {
+                try {
+                    values[r][i] = columnPlan.readValue(row, i);
+                } catch (ExcelException e) {
+                    values[r][i] = new ReadFailure(e);
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Waits for the next converted batch if the current one is consumed.
+     *
+     * @throws ExcelException if a stage failed, or the thread is interrupted while waiting
+     */
+    @Override
+    public boolean hasNext() {
+        while (!ended && nextRowInBatch == currentBatch.length) {
+            Batch<Object[][]> converted;
+            try {
+                converted = convertedBatches.take();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new ExcelException("Interrupted while waiting for pipelined rows.", e);
+            }
+            if (converted.failure != null) {
+                ended = true;
+                throw rethrow(converted.failure);
+            }
+            if (converted.rows == null) {
+                ended = true;
+                break;
+            }
+            currentBatch = converted.rows;
+            nextRowInBatch = 0;
+        }
+        return !ended;
+    }
+
+    /**
+     * Returns the column values of the next row, in the order of the column plan. A value that
+     * could not be read is a {@link ReadFailure}.
+     */
+    @Override
+    public Object[] next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        Object[] values = currentBatch[nextRowInBatch];
+        currentBatch[nextRowInBatch++] = null;
+        return values;
+    }
+
+    private static RuntimeException rethrow(Throwable failure) {
+        if (failure instanceof RuntimeException) {
+            return (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        return new ExcelException("Failed to pipeline rows.", failure);
+    }
+
+    /**
+     * Stops the stages and waits for their threads to end, so that the data is not iterated
+     * anymore once this method returns. Rows that were not consumed are not fetched or converted
+     * anymore.
+     *
+     * <p>The wait is bounded, as the fetch stage may be blocked in the data by I/O that does not
+     * respond to interruption. A stage thread still running after the wait is logged and left to
+     * end on its own.</p>
+     */
+    @Override
+    public void close() {
+        fetchThread.interrupt();
+        convertThread.interrupt();
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(CLOSE_TIMEOUT_MILLIS);
+        try {
+            for (Thread thread : new Thread[]{fetchThread, convertThread}) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis > 0) {
+                    thread.join(remainingMillis);
+                }
+                if (thread.isAlive()) {
+                    logger.warn("Pipeline stage thread({}) did not end within {} ms after close.",
+                        thread.getName(), CLOSE_TIMEOUT_MILLIS);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * A column value that could not be read by the conversion stage
+     */
+    static final class ReadFailure {
+
+        private final ExcelException failure;
+
+        private ReadFailure(ExcelException failure) {
+            this.failure = failure;
+        }
+
+        ExcelException getFailure() {
+            return failure;
+        }
+    }
+
+    /**
+     * A batch passed between stages: rows, the end of the rows, or the failure of a stage.
+     */
+    private static final class Batch<V> {
+
+        private final V rows;
+        private final Throwable failure;
+
+        private Batch(V rows, Throwable failure) {
+            this.rows = rows;
+            this.failure = failure;
+        }
+
+        static <V> Batch<V> of(V rows) {
+            return new Batch<>(rows, null);
+        }
+
+        static <V> Batch<V> end() {
+            return new Batch<>(null, null);
+        }
+
+        static <V> Batch<V> failed(Throwable failure) {
+            return new Batch<>(null, failure);
+        }
+
+        /**
+         * Returns the end or the failure of the given batch, as a batch of another stage.
+         */
+        static <V> Batch<V> forward(Batch<?> batch) {
+            return new Batch<>(null, batch.failure);
+        }
+    }
+}
@@ -1,14 +1,10 @@
 package io.github.hee9841.excel.core.exporter;
 
-import io.github.hee9841.excel.core.meta.ColumnInfo;
 import io.github.hee9841.excel.core.meta.ColumnInfoMapper;
+import io.github.hee9841.excel.core.meta.ColumnPlan;
 import io.github.hee9841.excel.exception.ExcelException;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.lang.reflect.Field;
-import java.util.List;
-import java.util.Map;
-import org.apache.commons.lang3.reflect.FieldUtils;
 import org.apache.poi.ss.SpreadsheetVersion;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Row;
@@ -29,6 +25,11 @@ import org.slf4j.LoggerFactory;
  *     <li>Supports Excel 2007+ format (XLSX)</li>
  *     <li>Provides column mapping and header generation</li>
  *     <li>Handles cell styling and data type conversion</li>
+ *     <li>Uses the {@link io.github.hee9841.excel.core.writer.ExcelRowWriter} generated for the
+ *     DTO, if any, instead of reflection</li>
+ *     <li>Deletes the temporary sheet files of the workbook when it is written or closed</li>
+ *     <li>Optionally writes the rows straight into the output stream, without temporary sheet
+ *     files</li>
  * </ul>
  *
  * <p>This class implements the core functionality while leaving sheet management strategies
@@ -43,15 +44,27 @@ public abstract class SXSSFExporter<T> implements ExcelExporter<T> {
     protected static final SpreadsheetVersion supplyExcelVersion = SpreadsheetVersion.EXCEL2007;
 
     protected SXSSFWorkbook workbook;
-    protected Map<Integer, ColumnInfo> columnsMappingInfo;
+    protected ColumnPlan columnPlan;
 
     protected String dtoTypeName;
 
+    private boolean closed;
+
     /**
      * Constructs a new SXSSFExporter with a new SXSSFWorkbook instance.
      */
     protected SXSSFExporter() {
-        this.workbook = new SXSSFWorkbook();
+        this(SXSSFOptions.defaults());
+    }
+
+    /**
+     * Constructs a new SXSSFExporter with a new SXSSFWorkbook instance configured with the given
+     * options.
+     *
+     * @param options The options of the workbook
+     */
+    protected SXSSFExporter(SXSSFOptions options) {
+        this.workbook = options.createWorkbook();
     }
 
     /**
@@ -59,9 +72,9 @@ public abstract class SXSSFExporter<T> implements ExcelExporter<T> {
      * This method performs validation and sets up column mapping information.
      *
      * @param type The class type of the data to be exported
-     * @param data The list of data objects to be exported
+     * @param data The data objects to be exported
      */
-    protected void initialize(Class<?> type, List<T> data) {
+    protected void initialize(Class<?> type, Iterable<T> data) {
         this.dtoTypeName = type.getName();
         logger.info("Initializing Excel file for DTO: {}.java.", dtoTypeName);
 
@@ -69,7 +82,7 @@ public abstract class SXSSFExporter<T> implements ExcelExporter<T> {
 
         logger.debug("Mapping DTO to Excel data - DTO class({}).", dtoTypeName);
         //Map DTO to Excel data
-        this.columnsMappingInfo = ColumnInfoMapper.of(type, workbook).map();
+        this.columnPlan = ColumnInfoMapper.of(type, workbook).plan();
     }
 
 
@@ -81,11 +94,10 @@ public abstract class SXSSFExporter<T> implements ExcelExporter<T> {
      */
     protected void createHeader(Sheet sheet, Integer headerRowIndex) {
         Row row = sheet.createRow(headerRowIndex);
-        for (Integer colIndex : columnsMappingInfo.keySet()) {
-            ColumnInfo columnMappingInfo = columnsMappingInfo.get(colIndex);
-            Cell cell = row.createCell(colIndex);
-            cell.setCellValue(columnMappingInfo.getHeaderName());
-            cell.setCellStyle(columnMappingInfo.getHeaderStyle());
+        for (int i = 0; i < columnPlan.size(); i++) {
+            Cell cell = row.createCell(columnPlan.getColumnIndex(i));
+            cell.setCellValue(columnPlan.getHeaderName(i));
+            cell.setCellStyle(columnPlan.getHeaderStyle(i));
         }
     }
 
@@ -114,7 +126,8 @@ public abstract class SXSSFExporter<T> implements ExcelExporter<T> {
 
     /**
      * Creates a row in the Excel sheet for the given data object.
-     * This method handles field access and cell value setting based on column mapping information.
+     * This method reads field values through the generated writer, or through the accessors
+     * resolved while mapping columns, and sets cell values based on column mapping information.
      *
      * @param sheet    The Sheet object to create a row.
      * @param data     The data object for rendering data to cell
@@ -124,27 +137,54 @@ public abstract class SXSSFExporter<T> implements ExcelExporter<T> {
     protected void createBody(Sheet sheet, Object data, int rowIndex) {
         logger.debug("Add rows data - row:{}.", rowIndex);
         Row row = sheet.createRow(rowIndex);
-        for (Integer colIndex : columnsMappingInfo.keySet()) {
-            ColumnInfo columnInfo = columnsMappingInfo.get(colIndex);
+        for (int i = 0; i < columnPlan.size(); i++) {
+            Cell cell = row.createCell(columnPlan.getColumnIndex(i));
             try {
-                Field field = FieldUtils.getField(data.getClass(), columnInfo.getFieldName(), true);
-                Cell cell = row.createCell(colIndex);
                 //Set cell value by cell type
-                columnInfo.getColumnType().setCellValueByCellType(cell, field.get(data));
-                //Set cell style
-                cell.setCellStyle(columnInfo.getBodyStyle());
-            } catch (IllegalAccessException e) {
+                columnPlan.writeCell(data, i, cell);
+            } catch (ExcelException e) {
                 throw new ExcelException(
-                    String.format("Failed to create body(column:%d, row:%d) : "
-                            + "Access to field %s failed.",
-                        colIndex, rowIndex, columnInfo.getFieldName()), e);
+                    String.format("Failed to create body(column:%d, row:%d) : %s",
+                        columnPlan.getColumnIndex(i), rowIndex, e.getMessage()), e);
             }
+            //Set cell style
+            cell.setCellStyle(columnPlan.getBodyStyle(i));
+        }
+    }
+
+    /**
+     * Creates a row in the Excel sheet from the column values already read from a data object,
+     * e.g. by another thread.
+     *
+     * @param sheet    The Sheet object to create a row.
+     * @param values   The values of the columns, in the order of the column plan, where a
+     *                 {@link RowPipeline.ReadFailure} stands for a value that could not be read
+     * @param rowIndex The index of the row to create
+     * @throws ExcelException if a value could not be read or cannot be set to its cell
+     */
+    protected void createBodyFromValues(Sheet sheet, Object[] values, int rowIndex) {
+        logger.debug("Add rows data - row:{}.", rowIndex);
+        Row row = sheet.createRow(rowIndex);
+        for (int i = 0; i < columnPlan.size(); i++) {
+            Cell cell = row.createCell(columnPlan.getColumnIndex(i));
+            try {
+                if (values[i] instanceof RowPipeline.ReadFailure) {
+                    throw ((RowPipeline.ReadFailure) values[i]).getFailure();
+                }
+                columnPlan.getColumnType(i).setCellValueByCellType(cell, values[i]);
+            } catch (ExcelException e) {
+                throw new ExcelException(
+                    String.format("Failed to create body(column:%d, row:%d) : %s",
+                        columnPlan.getColumnIndex(i), rowIndex, e.getMessage()), e);
+            }
+            cell.setCellStyle(columnPlan.getBodyStyle(i));
         }
     }
 
     /**
      * Writes the Excel file content to the specified output stream.
-     * This method ensures proper resource cleanup using try-with-resources.
+     * The workbook is closed and its temporary files are deleted afterward, whether the writing
+     * succeeds or not.
      *
      * @param stream The output stream to write the Excel file to
      * @throws IOException if an I/O error occurs during writing
@@ -154,30 +194,93 @@ public abstract class SXSSFExporter<T> implements ExcelExporter<T> {
         if (stream == null) {
             throw new ExcelException("Output stream is null.");
         }
+        if (closed) {
+            throw new ExcelException("The exporter is already written or closed.", dtoTypeName);
+        }
         logger.info("Start to write Excel file for DTO class({}.java).", dtoTypeName);
 
-        try (SXSSFWorkbook autoCloseableWb = this.workbook) {
-            autoCloseableWb.write(stream);
+        try {
+            writeWorkbook(stream);
             logger.info("Successfully wrote Excel file for DTO class({}.java).", dtoTypeName);
+        } finally {
+            close();
+        }
+    }
+
+    /**
+     * Writes the workbook to the output stream.
+     * Subclasses can override this method to add rows while the workbook is written.
+     *
+     * @param stream The output stream to write the Excel file to
+     * @throws IOException if an I/O error occurs during writing
+     */
+    protected void writeWorkbook(OutputStream stream) throws IOException {
+        workbook.write(stream);
+    }
+
+    /**
+     * Checks if the rows of the workbook are written straight into the output stream.
+     * In this case, rows must be added while the workbook is written, in
+     * {@link #writeWorkbook(OutputStream)}.
+     *
+     * @return true if the workbook was created with {@link SXSSFOptions#withDirectWrite(boolean)}
+     */
+    protected boolean isDirectWrite() {
+        return workbook instanceof DirectWriteWorkbook;
+    }
+
+    /**
+     * Deletes the temporary sheet files of the workbook and closes it without writing it.
+     * Closing an exporter that is already written or closed has no effect.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            workbook.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close workbook for DTO class({}.java).", dtoTypeName, e);
+        }
+        if (workbook instanceof TempFileTrackingWorkbook
+            && ((TempFileTrackingWorkbook) workbook).hasTempFiles()) {
+            logger.warn("Failed to delete temporary files of Excel file for DTO class({}.java).",
+                dtoTypeName);
         }
     }
 
+    /**
+     * Returns the total size of the temporary sheet files currently held by this exporter.
+     * The size can be read from any thread, e.g. to enforce a disk quota while rows are added.
+     *
+     * @return the size of the temporary files in bytes, 0 once the exporter is written or closed
+     */
+    public long getTempFileSize() {
+        return workbook instanceof TempFileTrackingWorkbook
+            ? ((TempFileTrackingWorkbook) workbook).getTempFileSize()
+            : 0;
+    }
+
     /**
      * Validates the provided data and type.
      * This method can be overridden by subclasses to add custom validation logic.
      *
      * @param type The class of the data type
-     * @param data The list of data objects to be exported
+     * @param data The data objects to be exported. Unless it is a {@link java.util.Collection},
+     *             it may be iterated only once and must not be consumed by the validation.
      */
-    protected abstract void validate(Class<?> type, List<T> data);
+    protected abstract void validate(Class<?> type, Iterable<T> data);
 
     /**
      * Creates the Excel file with the provided data.
      * This method must be implemented by subclasses to define their specific sheet management
      * strategy.
      *
-     * @param data The list of data objects to be exported
+     * @param data The data objects to be exported
      */
-    protected abstract void createExcel(List<T> data);
+    protected abstract void createExcel(Iterable<T> data);
 
 }
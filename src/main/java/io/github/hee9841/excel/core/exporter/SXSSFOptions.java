@@ -0,0 +1,268 @@
+package io.github.hee9841.excel.core.exporter;
+
+import io.github.hee9841.excel.exception.ExcelException;
+import java.nio.file.Files;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
+import org.apache.commons.compress.archivers.zip.Zip64Mode;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+
+/**
+ * Immutable options of the {@link SXSSFWorkbook} created by an {@link SXSSFExporter}.
+ *
+ * <ul>
+ *     <li>Row access window: the number of rows kept in memory before older rows are flushed to
+ *     the temporary sheet files (default {@link SXSSFWorkbook#DEFAULT_WINDOW_SIZE})</li>
+ *     <li>Compress temp files: whether the temporary sheet files are gzip-compressed
+ *     (default false)</li>
+ *     <li>Use shared strings table: whether strings are written to a shared strings table instead
+ *     of inline (default false)</li>
+ *     <li>Temp directory: the directory of the temporary sheet files of this export
+ *     (default null, the directory of POI's {@link org.apache.poi.util.TempFile} strategy)</li>
+ *     <li>Direct write: whether the rows are written straight into the output stream when the
+ *     workbook is written, without temporary sheet files (default false)</li>
+ *     <li>Compression level: the deflate level of the zip package
+ *     (default {@link Deflater#DEFAULT_COMPRESSION})</li>
+ *     <li>Parallel deflate: the executor the worksheet entries of the zip package are deflated on
+ *     in blocks (default null, deflated on the writing thread)</li>
+ * </ul>
+ *
+ * @see DefaultExcelExporterBuilder
+ */
+public final class SXSSFOptions {
+
+    private static final SXSSFOptions DEFAULTS = new SXSSFOptions(
+        SXSSFWorkbook.DEFAULT_WINDOW_SIZE, false, false, null, false,
+        Deflater.DEFAULT_COMPRESSION, null);
+
+    private final int rowAccessWindowSize;
+    private final boolean compressTempFiles;
+    private final boolean useSharedStringsTable;
+    private final Path tempDirectory;
+    private final boolean directWrite;
+    private final int compressionLevel;
+    private final Executor deflateExecutor;
+
+
+    private SXSSFOptions(int rowAccessWindowSize, boolean compressTempFiles,
+        boolean useSharedStringsTable, Path tempDirectory, boolean directWrite,
+        int compressionLevel, Executor deflateExecutor) {
+        this.rowAccessWindowSize = rowAccessWindowSize;
+        this.compressTempFiles = compressTempFiles;
+        this.useSharedStringsTable = useSharedStringsTable;
+        this.tempDirectory = tempDirectory;
+        this.directWrite = directWrite;
+        this.compressionLevel = compressionLevel;
+        this.deflateExecutor = deflateExecutor;
+    }
+
+    /**
+     * Returns the default options, the same as {@code new SXSSFWorkbook()}.
+     *
+     * @return The default options
+     */
+    public static SXSSFOptions defaults() {
+        return DEFAULTS;
+    }
+
+    /**
+     * Returns a copy of these options with the given row access window size.
+     *
+     * @param rowAccessWindowSize The number of rows kept in memory, or -1 to keep all rows
+     * @return A new {@link SXSSFOptions} instance
+     * @throws ExcelException If the window size is 0 or less than -1
+     */
+    public SXSSFOptions withRowAccessWindowSize(int rowAccessWindowSize) {
+        if (rowAccessWindowSize == 0 || rowAccessWindowSize < -1) {
+            throw new ExcelException(String.format(
+                "The row access window size(%d) must be greater than 0, or -1 for unlimited.",
+                rowAccessWindowSize));
+        }
+        return new SXSSFOptions(rowAccessWindowSize, compressTempFiles, useSharedStringsTable,
+            tempDirectory, directWrite, compressionLevel, deflateExecutor);
+    }
+
+    /**
+     * Returns a copy of these options with the given temp file compression.
+     *
+     * @param compressTempFiles Whether the temporary sheet files are gzip-compressed
+     * @return A new {@link SXSSFOptions} instance
+     */
+    public SXSSFOptions withCompressTempFiles(boolean compressTempFiles) {
+        return new SXSSFOptions(rowAccessWindowSize, compressTempFiles, useSharedStringsTable,
+            tempDirectory, directWrite, compressionLevel, deflateExecutor);
+    }
+
+    /**
+     * Returns a copy of these options with the given shared strings table usage.
+     *
+     * @param useSharedStringsTable Whether strings are written to a shared strings table
+     * @return A new {@link SXSSFOptions} instance
+     */
+    public SXSSFOptions withUseSharedStringsTable(boolean useSharedStringsTable) {
+        return new SXSSFOptions(rowAccessWindowSize, compressTempFiles, useSharedStringsTable,
+            tempDirectory, directWrite, compressionLevel, deflateExecutor);
+    }
+
+    /**
+     * Returns a copy of these options with the given temp directory.
+     *
+     * @param tempDirectory The directory of the temporary sheet files, or null for POI's default
+     * @return A new {@link SXSSFOptions} instance
+     */
+    public SXSSFOptions withTempDirectory(Path tempDirectory) {
+        return new SXSSFOptions(rowAccessWindowSize, compressTempFiles, useSharedStringsTable,
+            tempDirectory, directWrite, compressionLevel, deflateExecutor);
+    }
+
+    /**
+     * Returns a copy of these options with the given direct write mode.
+     *
+     * <p>With direct write, the rows are not written while they are added but pulled from the data
+     * when the workbook is written, and their XML is streamed straight into the zip package on
+     * the output stream. No temporary sheet file is created, so the compression and temp
+     * directory options have no effect.</p>
+     *
+     * @param directWrite Whether the rows are written straight into the output stream
+     * @return A new {@link SXSSFOptions} instance
+     */
+    public SXSSFOptions withDirectWrite(boolean directWrite) {
+        return new SXSSFOptions(rowAccessWindowSize, compressTempFiles, useSharedStringsTable,
+            tempDirectory, directWrite, compressionLevel, deflateExecutor);
+    }
+
+    /**
+     * Returns a copy of these options with the given compression level of the zip package.
+     *
+     * <p>{@link Deflater#BEST_SPEED} trades a larger file for less CPU time, and
+     * {@link Deflater#NO_COMPRESSION} stores the data in deflate blocks without compressing it,
+     * e.g. for internal transfers. The zip entries keep the deflate method, since the stored
+     * method needs the size and CRC of an entry before its data, which are not known while the
+     * sheets are streamed.</p>
+     *
+     * @param compressionLevel The deflate level, from 0 to 9, or -1 for the default level
+     * @return A new {@link SXSSFOptions} instance
+     * @throws ExcelException If the level is not between -1 and 9
+     */
+    public SXSSFOptions withCompressionLevel(int compressionLevel) {
+        if (compressionLevel < Deflater.DEFAULT_COMPRESSION
+            || compressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new ExcelException(String.format(
+                "The compression level(%d) must be between 0 and 9, or -1 for the default.",
+                compressionLevel));
+        }
+        return new SXSSFOptions(rowAccessWindowSize, compressTempFiles, useSharedStringsTable,
+            tempDirectory, directWrite, compressionLevel, deflateExecutor);
+    }
+
+    /**
+     * Returns a copy of these options with the given parallel deflate executor.
+     *
+     * <p>With an executor, the worksheet entries of the zip package are cut into blocks of 1 MB
+     * deflated concurrently on the executor, and joined into one deflate stream. The package is
+     * written faster on multiple cores, and gets slightly larger since every block is flushed.
+     * The deflated blocks are written to the output stream in order as they complete, so only a
+     * few blocks per core are held in memory at a time. The entries are written with data
+     * descriptors, and the Zip64 mode of the workbook or sheet strategy is kept.</p>
+     *
+     * @param deflateExecutor The executor to deflate the blocks on, or null to deflate the
+     *                        package on the writing thread
+     * @return A new {@link SXSSFOptions} instance
+     */
+    public SXSSFOptions withParallelDeflate(Executor deflateExecutor) {
+        return new SXSSFOptions(rowAccessWindowSize, compressTempFiles, useSharedStringsTable,
+            tempDirectory, directWrite, compressionLevel, deflateExecutor);
+    }
+
+    /**
+     * Creates the zip stream of the package with the compression options.
+     *
+     * <p>Like {@link SXSSFWorkbook}, the package is written with data descriptors in
+     * {@link Zip64Mode#Always}, the layout Excel reads, and with a plain
+     * {@link ZipArchiveOutputStream} in the other modes. With parallel deflate, the package is
+     * always written with data descriptors, in the given mode.</p>
+     *
+     * @param out       The output stream to write the package to
+     * @param zip64Mode The Zip64 mode of the package
+     * @return A new zip stream
+     */
+    ZipArchiveOutputStream createArchiveOutputStream(OutputStream out, Zip64Mode zip64Mode) {
+        if (deflateExecutor != null || zip64Mode == Zip64Mode.Always) {
+            return createStreamingOutputStream(out, zip64Mode);
+        }
+        ZipArchiveOutputStream zip = new ZipArchiveOutputStream(out);
+        zip.setUseZip64(zip64Mode);
+        zip.setLevel(compressionLevel);
+        return zip;
+    }
+
+    /**
+     * Creates a zip stream of the package with the compression options that writes every entry
+     * with a data descriptor, in the given mode. Unlike a plain {@link ZipArchiveOutputStream},
+     * the stream can release its deflater without finishing the package, after a failure.
+     *
+     * @param out       The output stream to write the package to
+     * @param zip64Mode The Zip64 mode of the package
+     * @return A new zip stream
+     */
+    StreamingZipOutputStream createStreamingOutputStream(OutputStream out, Zip64Mode zip64Mode) {
+        StreamingZipOutputStream zip = new StreamingZipOutputStream(out, zip64Mode,
+            deflateExecutor);
+        zip.setLevel(compressionLevel);
+        return zip;
+    }
+
+    /**
+     * Creates a new workbook configured with these options.
+     *
+     * @return A new {@link DirectWriteWorkbook} instance with direct write, otherwise a new
+     * {@link TempFileTrackingWorkbook} instance
+     * @throws ExcelException If the temp directory does not exist or is not a directory, or if the
+     *                        shared strings table is used with direct write
+     */
+    SXSSFWorkbook createWorkbook() {
+        if (directWrite) {
+            if (useSharedStringsTable) {
+                throw new ExcelException(
+                    "The shared strings table cannot be used with direct write.");
+            }
+            return new DirectWriteWorkbook(this);
+        }
+        if (tempDirectory != null && !Files.isDirectory(tempDirectory)) {
+            throw new ExcelException(
+                String.format("The temp directory(%s) is not a directory.", tempDirectory));
+        }
+        return new TempFileTrackingWorkbook(this);
+    }
+
+    public int getRowAccessWindowSize() {
+        return rowAccessWindowSize;
+    }
+
+    public boolean isCompressTempFiles() {
+        return compressTempFiles;
+    }
+
+    public boolean isUseSharedStringsTable() {
+        return useSharedStringsTable;
+    }
+
+    public Path getTempDirectory() {
+        return tempDirectory;
+    }
+
+    public boolean isDirectWrite() {
+        return directWrite;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public Executor getDeflateExecutor() {
+        return deflateExecutor;
+    }
+}
@@ -0,0 +1,433 @@
+package io.github.hee9841.excel.core.exporter;
+
+import io.github.hee9841.excel.core.meta.ColumnDataType;
+import io.github.hee9841.excel.exception.ExcelException;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.io.output.CloseShieldOutputStream;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.xssf.model.StylesTable;
+
+/**
+ * Writes an XLSX package (SpreadsheetML) straight into a zip stream, without the Apache POI
+ * usermodel.
+ *
+ * <p>Sheets are written one after another as zip entries, row by row and cell by cell. When all
+ * sheets are written, {@link #finish(StylesTable)} adds the workbook, relationship, content type
+ * and styles parts. Only the styles are taken from POI, as a {@link StylesTable} holding the cell
+ * styles the columns were mapped to.</p>
+ *
+ * <p>Cell values are written according to their {@link ColumnDataType}, the same way the SXSSF
+ * exporters set them to cells: numbers and dates as numeric values, booleans as boolean values,
+ * formulas as formulas and everything else as inline strings. Null values are written as empty
+ * strings, and NaN or infinite numbers as error cells.</p>
+ *
+ * <p>A writer created with {@link #forRows(Writer)} serializes rows into a fragment instead, e.g.
+ * on another thread; the fragment is then appended to the current sheet with
+ * {@link #writeRows(String)}.</p>
+ *
+ * @see OoxmlExcelExporter
+ */
+class SpreadsheetMLWriter {
+
+    private static final String MAIN_NS =
+        "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    private static final String RELATIONSHIPS_NS =
+        "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+    private static final String PACKAGE_RELATIONSHIPS_NS =
+        "http://schemas.openxmlformats.org/package/2006/relationships";
+    private static final String XML_DECLARATION =
+        "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final StreamingZipOutputStream zip;
+    private final Writer out;
+
+    /**
+     * The names of the sheets written so far, in order
+     */
+    private final List<String> sheetNames = new ArrayList<>();
+    /**
+     * Column letters by column index, computed once per column
+     */
+    private String[] columnLetters = new String[0];
+    /**
+     * The 1-based number of the current row, as written in cell references
+     */
+    private String rowNumber;
+    private boolean sheetOpen;
+
+
+    SpreadsheetMLWriter(StreamingZipOutputStream zip) {
+        // Closing the writer must not close the zip stream
+        this(zip, new BufferedWriter(new OutputStreamWriter(
+            CloseShieldOutputStream.wrap(zip), StandardCharsets.UTF_8), BUFFER_SIZE));
+    }
+
+    private SpreadsheetMLWriter(StreamingZipOutputStream zip, Writer out) {
+        this.zip = zip;
+        this.out = out;
+    }
+
+    /**
+     * Creates a writer that serializes rows into the given writer, as a fragment of a sheet.
+     * Only the row and cell methods can be used; the fragment is written to a sheet with
+     * {@link #writeRows(String)}.
+     *
+     * @param out The writer the rows are serialized into
+     * @return A new row fragment writer
+     */
+    static SpreadsheetMLWriter forRows(Writer out) {
+        return new SpreadsheetMLWriter(null, out);
+    }
+
+    /**
+     * Starts a new sheet, finishing the current one if any.
+     *
+     * @param sheetName The name of the sheet
+     * @throws IOException if an I/O error occurs during writing
+     */
+    void startSheet(String sheetName) throws IOException {
+        endSheet();
+        sheetNames.add(sheetName);
+        startEntry("xl/worksheets/sheet" + sheetNames.size() + ".xml");
+        out.write(XML_DECLARATION);
+        out.write("<worksheet xmlns=\"" + MAIN_NS + "\" xmlns:r=\"" + RELATIONSHIPS_NS + "\">");
+        out.write("<sheetData>\n");
+        sheetOpen = true;
+    }
+
+    /**
+     * Finishes the current sheet. Does nothing if no sheet is open.
+     *
+     * @throws IOException if an I/O error occurs during writing
+     */
+    void endSheet() throws IOException {
+        if (!sheetOpen) {
+            return;
+        }
+        out.write("</sheetData></worksheet>");
+        endEntry();
+        sheetOpen = false;
+    }
+
+    /**
+     * Starts a row of the current sheet. Rows must be written in ascending order.
+     *
+     * @param rowIndex The 0-based index of the row
+     * @throws IOException if an I/O error occurs during writing
+     */
+    void startRow(int rowIndex) throws IOException {
+        rowNumber = Integer.toString(rowIndex + 1);
+        out.write("<row r=\"");
+        out.write(rowNumber);
+        out.write("\">");
+    }
+
+    void endRow() throws IOException {
+        out.write("</row>\n");
+    }
+
+    /**
+     * Appends rows serialized by a {@link #forRows(Writer)} writer to the current sheet.
+     * The rows must follow the rows written so far.
+     *
+     * @param rows The serialized rows
+     * @throws IOException if an I/O error occurs during writing
+     */
+    void writeRows(String rows) throws IOException {
+        out.write(rows);
+    }
+
+    /**
+     * Writes a string cell to the current row.
+     *
+     * @param columnIndex The 0-based index of the column
+     * @param styleIndex  The index of the cell style in the styles table
+     * @param value       The string value
+     * @throws IOException if an I/O error occurs during writing
+     */
+    void writeString(int columnIndex, int styleIndex, String value) throws IOException {
+        startCell(columnIndex, styleIndex);
+        writeInlineString(value);
+    }
+
+    /**
+     * Writes a cell to the current row, converting the value according to the column data type.
+     *
+     * @param columnIndex The 0-based index of the column
+     * @param styleIndex  The index of the cell style in the styles table
+     * @param columnType  The column data type
+     * @param value       The value to write, or null for an empty string
+     * @throws IOException    if an I/O error occurs during writing
+     * @throws ExcelException if the value does not match the column data type
+     */
+    void writeCell(int columnIndex, int styleIndex, ColumnDataType columnType, Object value)
+        throws IOException {
+        startCell(columnIndex, styleIndex);
+        if (value == null) {
+            writeInlineString("");
+            return;
+        }
+
+        try {
+            switch (columnType) {
+                case NUMBER:
+                    writeNumber((Number) value);
+                    return;
+                case BOOLEAN:
+                    out.write(" t=\"b\"><v>");
+                    out.write((Boolean) value ? '1' : '0');
+                    out.write("</v></c>");
+                    return;
+                case FORMULA:
+                    out.write("><f>");
+                    writeEscaped(String.valueOf(value));
+                    out.write("</f></c>");
+                    return;
+                case DATE:
+                    writeNumericValue(Double.toString(DateUtil.getExcelDate((Date) value)));
+                    return;
+                case LOCAL_DATE:
+                    writeNumericValue(Double.toString(DateUtil.getExcelDate((LocalDate) value)));
+                    return;
+                case LOCAL_DATE_TIME:
+                    writeNumericValue(
+                        Double.toString(DateUtil.getExcelDate((LocalDateTime) value)));
+                    return;
+                default:
+                    writeInlineString(value.toString());
+            }
+        } catch (ClassCastException e) {
+            throw new ExcelException("Failed to set cell value by cell type: " + e.getMessage());
+        }
+    }
+
+    private void startCell(int columnIndex, int styleIndex) throws IOException {
+        out.write("<c r=\"");
+        out.write(getColumnLetters(columnIndex));
+        out.write(rowNumber);
+        out.write('"');
+        if (styleIndex != 0) {
+            out.write(" s=\"");
+            out.write(Integer.toString(styleIndex));
+            out.write('"');
+        }
+    }
+
+    private String getColumnLetters(int columnIndex) {
+        if (columnIndex >= columnLetters.length) {
+            columnLetters = Arrays.copyOf(columnLetters, columnIndex + 1);
+        }
+        String letters = columnLetters[columnIndex];
+        if (letters == null) {
+            letters = CellReference.convertNumToColString(columnIndex);
+            columnLetters[columnIndex] = letters;
+        }
+        return letters;
+    }
+
+    /**
+     * Writes a number, keeping integral types free of a fraction part and {@link Float} values
+     * in their decimal representation. NaN and infinite values are written as error cells, as
+     * POI sets them: {@code #NUM!} for NaN and {@code #DIV/0!} for infinity.
+     */
+    private void writeNumber(Number number) throws IOException {
+        if (number instanceof Integer || number instanceof Long
+            || number instanceof Short || number instanceof Byte) {
+            writeNumericValue(Long.toString(number.longValue()));
+            return;
+        }
+
+        double value = number.doubleValue();
+        if (Double.isNaN(value)) {
+            writeErrorValue(FormulaError.NUM);
+        } else if (Double.isInfinite(value)) {
+            writeErrorValue(FormulaError.DIV0);
+        } else if (number instanceof Float) {
+            writeNumericValue(number.toString());
+        } else {
+            writeNumericValue(Double.toString(value));
+        }
+    }
+
+    private void writeErrorValue(FormulaError error) throws IOException {
+        out.write(" t=\"e\"><v>");
+        writeEscaped(error.getString());
+        out.write("</v></c>");
+    }
+
+    private void writeNumericValue(String value) throws IOException {
+        out.write("><v>");
+        out.write(value);
+        out.write("</v></c>");
+    }
+
+    private void writeInlineString(String value) throws IOException {
+        out.write(" t=\"inlineStr\"><is><t");
+        if (!value.isEmpty() && (Character.isWhitespace(value.charAt(0))
+            || Character.isWhitespace(value.charAt(value.length() - 1)))) {
+            out.write(" xml:space=\"preserve\"");
+        }
+        out.write('>');
+        writeEscaped(value);
+        out.write("</t></is></c>");
+    }
+
+    /**
+     * Writes the text escaped for XML content and attributes.
+     * Characters that are not allowed in XML 1.0 are dropped.
+     */
+    private void writeEscaped(String text) throws IOException {
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            String replacement;
+            switch (c) {
+                case '<':
+                    replacement = "&lt;";
+                    break;
+                case '>':
+                    replacement = "&gt;";
+                    break;
+                case '&':
+                    replacement = "&amp;";
+                    break;
+                case '"':
+                    replacement = "&quot;";
+                    break;
+                case '\t':
+                    replacement = "&#x9;";
+                    break;
+                case '\n':
+                    replacement = "&#xa;";
+                    break;
+                case '\r':
+                    replacement = "&#xd;";
+                    break;
+                default:
+                    if (c >= 0x20 && c != 0xFFFE && c != 0xFFFF) {
+                        continue;
+                    }
+                    replacement = "";
+            }
+            out.write(text, start, i - start);
+            out.write(replacement);
+            start = i + 1;
+        }
+        out.write(text, start, text.length() - start);
+    }
+
+    /**
+     * Finishes the current sheet, writes the remaining parts of the package, and finishes and
+     * closes the zip stream, which releases its deflater.
+     *
+     * @param styles The styles table of the cell styles used by the sheets
+     * @throws IOException if an I/O error occurs during writing
+     */
+    void finish(StylesTable styles) throws IOException {
+        endSheet();
+
+        startEntry("xl/styles.xml");
+        out.flush();
+        styles.writeTo(CloseShieldOutputStream.wrap(zip));
+        endEntry();
+
+        writeWorkbook();
+        writeWorkbookRelationships();
+        writePackageRelationships();
+        writeContentTypes();
+        zip.finish();
+        zip.close();
+    }
+
+    /**
+     * Releases the zip stream without finishing the package, after a failure.
+     * Aborting a writer that is already finished has no effect.
+     *
+     * @throws IOException if the underlying stream cannot be closed
+     */
+    void abort() throws IOException {
+        zip.abort();
+    }
+
+    private void writeWorkbook() throws IOException {
+        startEntry("xl/workbook.xml");
+        out.write(XML_DECLARATION);
+        out.write("<workbook xmlns=\"" + MAIN_NS + "\" xmlns:r=\"" + RELATIONSHIPS_NS + "\">");
+        out.write("<bookViews><workbookView activeTab=\"0\"/></bookViews><sheets>");
+        for (int i = 0; i < sheetNames.size(); i++) {
+            out.write("<sheet name=\"");
+            writeEscaped(sheetNames.get(i));
+            out.write("\" sheetId=\"" + (i + 1) + "\" r:id=\"rId" + (i + 1) + "\"/>");
+        }
+        out.write("</sheets></workbook>");
+        endEntry();
+    }
+
+    private void writeWorkbookRelationships() throws IOException {
+        startEntry("xl/_rels/workbook.xml.rels");
+        out.write(XML_DECLARATION);
+        out.write("<Relationships xmlns=\"" + PACKAGE_RELATIONSHIPS_NS + "\">");
+        for (int i = 1; i <= sheetNames.size(); i++) {
+            out.write("<Relationship Id=\"rId" + i + "\" Type=\"" + RELATIONSHIPS_NS
+                + "/worksheet\" Target=\"worksheets/sheet" + i + ".xml\"/>");
+        }
+        out.write("<Relationship Id=\"rId" + (sheetNames.size() + 1) + "\" Type=\""
+            + RELATIONSHIPS_NS + "/styles\" Target=\"styles.xml\"/>");
+        out.write("</Relationships>");
+        endEntry();
+    }
+
+    private void writePackageRelationships() throws IOException {
+        startEntry("_rels/.rels");
+        out.write(XML_DECLARATION);
+        out.write("<Relationships xmlns=\"" + PACKAGE_RELATIONSHIPS_NS + "\">");
+        out.write("<Relationship Id=\"rId1\" Type=\"" + RELATIONSHIPS_NS
+            + "/officeDocument\" Target=\"xl/workbook.xml\"/>");
+        out.write("</Relationships>");
+        endEntry();
+    }
+
+    private void writeContentTypes() throws IOException {
+        String spreadsheetml = "application/vnd.openxmlformats-officedocument.spreadsheetml";
+        startEntry("[Content_Types].xml");
+        out.write(XML_DECLARATION);
+        out.write("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">");
+        out.write("<Default Extension=\"rels\" "
+            + "ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>");
+        out.write("<Default Extension=\"xml\" ContentType=\"application/xml\"/>");
+        out.write("<Override PartName=\"/xl/workbook.xml\" ContentType=\""
+            + spreadsheetml + ".sheet.main+xml\"/>");
+        out.write("<Override PartName=\"/xl/styles.xml\" ContentType=\""
+            + spreadsheetml + ".styles+xml\"/>");
+        for (int i = 1; i <= sheetNames.size(); i++) {
+            out.write("<Override PartName=\"/xl/worksheets/sheet" + i + ".xml\" ContentType=\""
+                + spreadsheetml + ".worksheet+xml\"/>");
+        }
+        out.write("</Types>");
+        endEntry();
+    }
+
+    private void startEntry(String name) throws IOException {
+        zip.putArchiveEntry(new ZipArchiveEntry(name));
+    }
+
+    private void endEntry() throws IOException {
+        out.flush();
+        zip.closeArchiveEntry();
+    }
+}
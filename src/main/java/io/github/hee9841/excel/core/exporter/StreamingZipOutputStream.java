@@ -0,0 +1,555 @@
+package io.github.hee9841.excel.core.exporter;
+
+import io.github.hee9841.excel.exception.ExcelException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+import org.apache.commons.compress.archivers.zip.Zip64Mode;
+import org.apache.commons.compress.archivers.zip.Zip64RequiredException;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+
+/**
+ * Zip stream that writes every entry in one pass, with the CRC and sizes in a data descriptor
+ * after the entry data, and optionally deflates the worksheet entries in parallel blocks.
+ *
+ * <p>The layout follows the zip stream POI's SXSSF workbook uses for
+ * {@link Zip64Mode#Always}, which Excel reads: the local headers carry no Zip64 extra field, and
+ * with {@code Always} they require version 4.5 and are followed by data descriptors with 8-byte
+ * sizes. With {@link Zip64Mode#AsNeeded} and {@link Zip64Mode#Never}, the data descriptors have
+ * 4-byte sizes, and an entry that grows beyond 4 GB fails with a
+ * {@link Zip64RequiredException}. The central directory uses the Zip64 format for the sizes,
+ * offsets and entry counts that need it, unless the mode is {@code Never}.</p>
+ *
+ * <p>With an executor, the data of a worksheet entry is cut into blocks of {@link #BLOCK_SIZE}
+ * bytes, like pigz. Each block is deflated by a task on the executor, primed with the last 32 KB
+ * of the previous block as dictionary, and ends on a byte boundary with a sync flush, except the
+ * last one, so the blocks form a single deflate stream. The deflated blocks are written to the
+ * underlying stream in order as they complete, and a bounded number of blocks is deflated or
+ * waiting at a time. Other entries, and all entries without an executor, are deflated on the
+ * writing thread.</p>
+ *
+ * @see SXSSFOptions#withParallelDeflate(Executor)
+ */
+class StreamingZipOutputStream extends ZipArchiveOutputStream {
+
+    static final int BLOCK_SIZE = 1024 * 1024;
+
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+
+    /**
+     * The maximum number of blocks deflated or waiting to be written at a time
+     */
+    private static final int MAX_PENDING_BLOCKS =
+        Math.max(2, Runtime.getRuntime().availableProcessors() * 2);
+
+    private static final String WORKSHEET_ENTRY_PREFIX = "xl/worksheets/";
+
+    private static final int LOCAL_FILE_HEADER_SIG = 0x04034b50;
+    private static final int DATA_DESCRIPTOR_SIG = 0x08074b50;
+    private static final int CENTRAL_FILE_HEADER_SIG = 0x02014b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIG = 0x06064b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIG = 0x07064b50;
+    private static final int END_OF_CENTRAL_DIRECTORY_SIG = 0x06054b50;
+
+    private static final int VERSION_DEFAULT = 20;
+    private static final int VERSION_ZIP64 = 45;
+    private static final int FLAG_DATA_DESCRIPTOR = 0x08;
+    private static final int FLAG_UTF8 = 0x800;
+    private static final int ZIP64_EXTRA_HEADER_ID = 0x0001;
+    private static final long MAX_32 = 0xFFFFFFFFL;
+    private static final int MAX_16 = 0xFFFF;
+
+    private final OutputStream target;
+    private final Executor executor;
+    private Zip64Mode zip64Mode;
+
+    private final List<Entry> entries = new ArrayList<>();
+    private final CRC32 crc = new CRC32();
+    private final byte[] buffer = new byte[64 * 1024];
+    private final byte[] scratch = new byte[8];
+    /**
+     * The number of bytes written to the target stream
+     */
+    private long written;
+
+    /**
+     * The entry being written, or null
+     */
+    private Entry current;
+    private int level = Deflater.DEFAULT_COMPRESSION;
+
+    // The state of a worksheet entry deflated in parallel blocks
+    private boolean parallel;
+    private byte[] block;
+    private int blockLength;
+    private byte[] previousBlock;
+    private Deque<CompletableFuture<byte[]>> pendingBlocks;
+
+    private boolean archiveFinished;
+    private boolean closed;
+
+
+    /**
+     * Creates a zip stream deflating every entry on the writing thread.
+     *
+     * @param out       The stream to write the package to
+     * @param zip64Mode The Zip64 mode of the package
+     */
+    StreamingZipOutputStream(OutputStream out, Zip64Mode zip64Mode) {
+        this(out, zip64Mode, null);
+    }
+
+    /**
+     * Creates a zip stream deflating the worksheet entries in blocks on the executor.
+     *
+     * @param out       The stream to write the package to
+     * @param zip64Mode The Zip64 mode of the package
+     * @param executor  The executor to deflate the blocks on, or null to deflate every entry on
+     *                  the writing thread
+     */
+    StreamingZipOutputStream(OutputStream out, Zip64Mode zip64Mode, Executor executor) {
+        super(out);
+        this.target = out;
+        this.zip64Mode = zip64Mode;
+        this.executor = executor;
+    }
+
+    @Override
+    public void setLevel(int level) {
+        this.level = level;
+        def.setLevel(level);
+    }
+
+    /**
+     * Sets the Zip64 mode of the entries written afterward.
+     *
+     * @param mode The Zip64 mode
+     */
+    @Override
+    public void setUseZip64(Zip64Mode mode) {
+        this.zip64Mode = mode;
+    }
+
+    @Override
+    public void putArchiveEntry(ZipArchiveEntry archiveEntry) throws IOException {
+        if (current != null) {
+            closeArchiveEntry();
+        }
+        current = new Entry(archiveEntry.getName(), archiveEntry.getTime(),
+            zip64Mode == Zip64Mode.Always, written);
+        writeLocalFileHeader(current);
+        current.headerWritten = true;
+        crc.reset();
+
+        String name = archiveEntry.getName();
+        parallel = executor != null && name.startsWith(WORKSHEET_ENTRY_PREFIX)
+            && name.endsWith(".xml");
+        if (parallel) {
+            block = new byte[BLOCK_SIZE];
+            blockLength = 0;
+            previousBlock = null;
+            pendingBlocks = new ArrayDeque<>();
+        }
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (current == null) {
+            throw new IOException("No current zip entry.");
+        }
+        crc.update(b, off, len);
+        current.size += len;
+
+        if (!parallel) {
+            def.setInput(b, off, len);
+            while (!def.needsInput()) {
+                deflateToTarget();
+            }
+            return;
+        }
+
+        while (len > 0) {
+            int copied = Math.min(len, BLOCK_SIZE - blockLength);
+            System.arraycopy(b, off, block, blockLength, copied);
+            blockLength += copied;
+            off += copied;
+            len -= copied;
+            if (blockLength == BLOCK_SIZE) {
+                submitBlock(false);
+            }
+        }
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    private void deflateToTarget() throws IOException {
+        int length = def.deflate(buffer, 0, buffer.length);
+        if (length > 0) {
+            writeData(buffer, 0, length);
+        }
+    }
+
+    private void submitBlock(boolean last) throws IOException {
+        byte[] data = block;
+        int length = blockLength;
+        byte[] dictionary = previousBlock;
+        int deflateLevel = level;
+        pendingBlocks.add(CompletableFuture.supplyAsync(
+            () -> deflate(data, length, dictionary, last, deflateLevel), executor));
+
+        previousBlock = data;
+        block = last ? null : new byte[BLOCK_SIZE];
+        blockLength = 0;
+        writeCompletedBlocks(MAX_PENDING_BLOCKS - 1);
+    }
+
+    /**
+     * Writes the deflated blocks at the head of the queue, waiting for them while more than the
+     * given number of blocks are pending.
+     */
+    private void writeCompletedBlocks(int maxPending) throws IOException {
+        while (!pendingBlocks.isEmpty()
+            && (pendingBlocks.size() > maxPending || pendingBlocks.peek().isDone())) {
+            byte[] deflated = join(pendingBlocks.poll());
+            writeData(deflated, 0, deflated.length);
+        }
+    }
+
+    /**
+     * Deflates a block into raw deflate data, ending on a byte boundary unless it is the last.
+     */
+    private static byte[] deflate(byte[] data, int length, byte[] dictionary, boolean last,
+        int level) {
+        Deflater deflater = new Deflater(level, true);
+        try {
+            if (dictionary != null) {
+                deflater.setDictionary(dictionary, dictionary.length - DICTIONARY_SIZE,
+                    DICTIONARY_SIZE);
+            }
+            deflater.setInput(data, 0, length);
+            ByteArrayOutputStream deflated = new ByteArrayOutputStream(length / 4 + 64);
+            byte[] buffer = new byte[64 * 1024];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    deflated.write(buffer, 0, deflater.deflate(buffer));
+                }
+            } else {
+                int count;
+                do {
+                    count = deflater.deflate(buffer, 0, buffer.length, Deflater.SYNC_FLUSH);
+                    deflated.write(buffer, 0, count);
+                } while (count == buffer.length);
+            }
+            return deflated.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] join(CompletableFuture<byte[]> deflatedBlock) {
+        try {
+            return deflatedBlock.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof Error) {
+                throw (Error) e.getCause();
+            }
+            throw new ExcelException("Failed to deflate a block of a worksheet.", e.getCause());
+        }
+    }
+
+    @Override
+    public void closeArchiveEntry() throws IOException {
+        if (current == null) {
+            throw new IOException("No current zip entry.");
+        }
+        if (parallel) {
+            submitBlock(true);
+            writeCompletedBlocks(0);
+            previousBlock = null;
+            pendingBlocks = null;
+            parallel = false;
+        } else {
+            def.finish();
+            while (!def.finished()) {
+                deflateToTarget();
+            }
+            def.reset();
+        }
+
+        Entry entry = current;
+        current = null;
+        entry.crc = crc.getValue();
+        if (!entry.zip64 && (entry.size > MAX_32 || entry.compressedSize > MAX_32)) {
+            throw new Zip64RequiredException(
+                entry.name + "'s size exceeds the limit of 4GByte.");
+        }
+        writeDataDescriptor(entry);
+        entries.add(entry);
+    }
+
+    @Override
+    public void finish() throws IOException {
+        if (archiveFinished) {
+            return;
+        }
+        if (current != null) {
+            closeArchiveEntry();
+        }
+
+        long centralDirectoryOffset = written;
+        for (Entry entry : entries) {
+            writeCentralFileHeader(entry);
+        }
+        long centralDirectorySize = written - centralDirectoryOffset;
+        writeEndOfCentralDirectory(centralDirectoryOffset, centralDirectorySize);
+        target.flush();
+        archiveFinished = true;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        target.flush();
+    }
+
+    /**
+     * Finishes the package, releases the deflater and closes the underlying stream.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            finish();
+        } finally {
+            try {
+                def.end();
+            } finally {
+                target.close();
+            }
+        }
+    }
+
+    /**
+     * Releases the deflater and closes the underlying stream without finishing the package, e.g.
+     * after a failure. The blocks still being deflated are discarded. Aborting a closed stream has
+     * no effect.
+     *
+     * @throws IOException if the underlying stream fails to close
+     */
+    void abort() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        if (pendingBlocks != null) {
+            pendingBlocks.forEach(pendingBlock -> pendingBlock.cancel(false));
+        }
+        try {
+            def.end();
+        } finally {
+            target.close();
+        }
+    }
+
+    private void writeLocalFileHeader(Entry entry) throws IOException {
+        writeInt(LOCAL_FILE_HEADER_SIG);
+        writeShort(entry.zip64 ? VERSION_ZIP64 : VERSION_DEFAULT);
+        writeShort(entry.flags);
+        writeShort(ZipEntry.DEFLATED);
+        writeInt(entry.dosTime);
+        // CRC-32 and sizes follow in the data descriptor
+        writeInt(0);
+        writeInt(0);
+        writeInt(0);
+        writeShort(entry.nameBytes.length);
+        writeShort(0);
+        writeData(entry.nameBytes, 0, entry.nameBytes.length);
+    }
+
+    private void writeDataDescriptor(Entry entry) throws IOException {
+        writeInt(DATA_DESCRIPTOR_SIG);
+        writeInt(entry.crc);
+        if (entry.zip64) {
+            writeLong(entry.compressedSize);
+            writeLong(entry.size);
+        } else {
+            writeInt(entry.compressedSize);
+            writeInt(entry.size);
+        }
+    }
+
+    private void writeCentralFileHeader(Entry entry) throws IOException {
+        boolean zip64Size = entry.size >= MAX_32;
+        boolean zip64CompressedSize = entry.compressedSize >= MAX_32;
+        boolean zip64Offset = entry.offset >= MAX_32;
+        int extraLength = (zip64Size ? 8 : 0) + (zip64CompressedSize ? 8 : 0)
+            + (zip64Offset ? 8 : 0);
+        if (extraLength > 0 && zip64Mode == Zip64Mode.Never) {
+            throw new Zip64RequiredException(
+                "Archive's size exceeds the limit of 4GByte.");
+        }
+
+        writeInt(CENTRAL_FILE_HEADER_SIG);
+        writeShort(VERSION_ZIP64);
+        writeShort(entry.zip64 || extraLength > 0 ? VERSION_ZIP64 : VERSION_DEFAULT);
+        writeShort(entry.flags);
+        writeShort(ZipEntry.DEFLATED);
+        writeInt(entry.dosTime);
+        writeInt(entry.crc);
+        writeInt(zip64CompressedSize ? MAX_32 : entry.compressedSize);
+        writeInt(zip64Size ? MAX_32 : entry.size);
+        writeShort(entry.nameBytes.length);
+        writeShort(extraLength > 0 ? extraLength + 4 : 0);
+        // comment length, disk number, internal and external attributes
+        writeShort(0);
+        writeShort(0);
+        writeShort(0);
+        writeInt(0);
+        writeInt(zip64Offset ? MAX_32 : entry.offset);
+        writeData(entry.nameBytes, 0, entry.nameBytes.length);
+        if (extraLength > 0) {
+            writeShort(ZIP64_EXTRA_HEADER_ID);
+            writeShort(extraLength);
+            if (zip64Size) {
+                writeLong(entry.size);
+            }
+            if (zip64CompressedSize) {
+                writeLong(entry.compressedSize);
+            }
+            if (zip64Offset) {
+                writeLong(entry.offset);
+            }
+        }
+    }
+
+    private void writeEndOfCentralDirectory(long offset, long size) throws IOException {
+        boolean zip64 = entries.size() >= MAX_16 || offset >= MAX_32 || size >= MAX_32;
+        if (zip64) {
+            if (zip64Mode == Zip64Mode.Never) {
+                throw new Zip64RequiredException(
+                    "Archive's size exceeds the limit of 4GByte.");
+            }
+            long zip64EndOffset = written;
+            writeInt(ZIP64_END_OF_CENTRAL_DIRECTORY_SIG);
+            // size of the remaining record
+            writeLong(44);
+            writeShort(VERSION_ZIP64);
+            writeShort(VERSION_ZIP64);
+            writeInt(0);
+            writeInt(0);
+            writeLong(entries.size());
+            writeLong(entries.size());
+            writeLong(size);
+            writeLong(offset);
+
+            writeInt(ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR_SIG);
+            writeInt(0);
+            writeLong(zip64EndOffset);
+            writeInt(1);
+        }
+
+        writeInt(END_OF_CENTRAL_DIRECTORY_SIG);
+        writeShort(0);
+        writeShort(0);
+        writeShort(Math.min(entries.size(), MAX_16));
+        writeShort(Math.min(entries.size(), MAX_16));
+        writeInt(Math.min(size, MAX_32));
+        writeInt(Math.min(offset, MAX_32));
+        writeShort(0);
+    }
+
+    private void writeShort(int value) throws IOException {
+        scratch[0] = (byte) value;
+        scratch[1] = (byte) (value >>> 8);
+        writeData(scratch, 0, 2);
+    }
+
+    private void writeInt(long value) throws IOException {
+        for (int i = 0; i < 4; i++) {
+            scratch[i] = (byte) (value >>> (8 * i));
+        }
+        writeData(scratch, 0, 4);
+    }
+
+    private void writeLong(long value) throws IOException {
+        for (int i = 0; i < 8; i++) {
+            scratch[i] = (byte) (value >>> (8 * i));
+        }
+        writeData(scratch, 0, 8);
+    }
+
+    /**
+     * Writes to the target stream, counting the deflated data of the current entry.
+     */
+    private void writeData(byte[] b, int off, int len) throws IOException {
+        target.write(b, off, len);
+        written += len;
+        if (current != null && current.headerWritten) {
+            current.compressedSize += len;
+        }
+    }
+
+    /**
+     * An entry of the central directory
+     */
+    private static final class Entry {
+
+        private final String name;
+        private final byte[] nameBytes;
+        private final int flags;
+        private final long dosTime;
+        /**
+         * Whether the local header announces Zip64 data descriptors
+         */
+        private final boolean zip64;
+        private final long offset;
+        private long crc;
+        private long size;
+        private long compressedSize;
+        private boolean headerWritten;
+
+        private Entry(String name, long time, boolean zip64, long offset) {
+            this.name = name;
+            this.nameBytes = name.getBytes(StandardCharsets.UTF_8);
+            this.flags = FLAG_DATA_DESCRIPTOR
+                | (nameBytes.length != name.length() ? FLAG_UTF8 : 0);
+            this.dosTime = toDosTime(time >= 0 ? time : System.currentTimeMillis());
+            this.zip64 = zip64;
+            this.offset = offset;
+        }
+
+        private static long toDosTime(long time) {
+            Calendar calendar = Calendar.getInstance();
+            calendar.setTimeInMillis(time);
+            int year = calendar.get(Calendar.YEAR);
+            if (year < 1980) {
+                return (1 << 21) | (1 << 16);
+            }
+            return ((long) (year - 1980) << 25)
+                | ((long) (calendar.get(Calendar.MONTH) + 1) << 21)
+                | ((long) calendar.get(Calendar.DAY_OF_MONTH) << 16)
+                | ((long) calendar.get(Calendar.HOUR_OF_DAY) << 11)
+                | ((long) calendar.get(Calendar.MINUTE) << 5)
+                | ((long) calendar.get(Calendar.SECOND) >> 1);
+        }
+    }
+}
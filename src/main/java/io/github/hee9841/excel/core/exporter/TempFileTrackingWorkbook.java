@@ -0,0 +1,190 @@
+package io.github.hee9841.excel.core.exporter;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.io.output.CountingOutputStream;
+import org.apache.poi.util.TempFile;
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.apache.poi.xssf.streaming.GZIPSheetDataWriter;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.apache.poi.xssf.streaming.SheetDataWriter;
+
+/**
+ * {@link SXSSFWorkbook} that keeps track of the temporary sheet files it creates.
+ *
+ * <p>The temporary files are created in the given temp directory, or in the directory of POI's
+ * {@link TempFile} strategy when none is given. Their total size can be read from any thread with
+ * {@link #getTempFileSize()}, e.g. to enforce a disk quota while the workbook is written.</p>
+ *
+ * <p>The bytes of sheet data serialized into each temporary file are also counted before any
+ * compression, which is the size of the rows in the sheet entry of the package.</p>
+ *
+ * @see SXSSFOptions#createWorkbook()
+ */
+class TempFileTrackingWorkbook extends SXSSFWorkbook {
+
+    private static final String TEMP_FILE_PREFIX = "poi-sxssf-sheet";
+    /**
+     * The length of the markup around a string of the shared strings table: {@code <si><t></t></si>}
+     */
+    private static final int SHARED_STRING_MARKUP_SIZE = 16;
+
+    /**
+     * The directory of the temporary sheet files, or null for POI's default
+     */
+    private final Path tempDirectory;
+    /**
+     * The temporary sheet files created so far
+     */
+    private final List<File> tempFiles = new CopyOnWriteArrayList<>();
+    /**
+     * The streams counting the sheet data serialized, in sheet creation order
+     */
+    private final List<CountingOutputStream> sheetDataStreams = new CopyOnWriteArrayList<>();
+    /**
+     * The options of the zip package
+     */
+    private final SXSSFOptions options;
+
+
+    TempFileTrackingWorkbook(SXSSFOptions options) {
+        super(null, options.getRowAccessWindowSize(), options.isCompressTempFiles(),
+            options.isUseSharedStringsTable());
+        this.tempDirectory = options.getTempDirectory();
+        this.options = options;
+    }
+
+    @Override
+    protected ZipArchiveOutputStream createArchiveOutputStream(OutputStream out) {
+        return options.createArchiveOutputStream(out, zip64Mode);
+    }
+
+    @Override
+    protected SheetDataWriter createSheetDataWriter() throws IOException {
+        // The writers create their temp file in their constructor, before the fields of an
+        // anonymous subclass are assigned, so only captured locals are used.
+        TempFileTrackingWorkbook workbook = this;
+        SharedStringsTable sharedStringSource = getSharedStringSource();
+
+        // Overriding createTempFile() is the only way to choose the directory of the temp files
+        // of one workbook, until POI makes it protected
+        if (isCompressTempFiles()) {
+            return new GZIPSheetDataWriter(sharedStringSource) {
+                @Override
+                @SuppressWarnings("deprecation")
+                public File createTempFile() throws IOException {
+                    return workbook.createTempFile(".xml.gz");
+                }
+
+                @Override
+                protected OutputStream decorateOutputStream(FileOutputStream fos)
+                    throws IOException {
+                    return workbook.countSheetData(super.decorateOutputStream(fos));
+                }
+            };
+        }
+        return new SheetDataWriter(sharedStringSource) {
+            @Override
+            @SuppressWarnings("deprecation")
+            public File createTempFile() throws IOException {
+                return workbook.createTempFile(".xml");
+            }
+
+            @Override
+            protected OutputStream decorateOutputStream(FileOutputStream fos) throws IOException {
+                return workbook.countSheetData(super.decorateOutputStream(fos));
+            }
+        };
+    }
+
+    private File createTempFile(String suffix) throws IOException {
+        File tempFile = tempDirectory == null
+            ? TempFile.createTempFile(TEMP_FILE_PREFIX, suffix)
+            : Files.createTempFile(tempDirectory, TEMP_FILE_PREFIX, suffix).toFile();
+        tempFiles.add(tempFile);
+        return tempFile;
+    }
+
+    private OutputStream countSheetData(OutputStream sheetData) {
+        CountingOutputStream counting = new CountingOutputStream(sheetData);
+        sheetDataStreams.add(counting);
+        return counting;
+    }
+
+    /**
+     * Returns the number of bytes of sheet data serialized so far for a sheet, before the
+     * temporary file compression. Rows not flushed yet are not counted.
+     *
+     * @param sheetIndex The index of the sheet
+     * @return the size of the serialized rows of the sheet in bytes
+     */
+    long getSheetDataSize(int sheetIndex) {
+        return sheetDataStreams.get(sheetIndex).getByteCount();
+    }
+
+    /**
+     * Returns the projected size of the shared strings entry of the package: the UTF-8 length of
+     * the unique strings and the markup around each one, without escaping.
+     *
+     * @return the size of the shared strings in bytes, or 0 if strings are written inline
+     */
+    long getSharedStringsSize() {
+        if (!options.isUseSharedStringsTable()) {
+            return 0;
+        }
+        SharedStringsTable sharedStrings = getSharedStringSource();
+        long size = 0;
+        for (int i = 0; i < sharedStrings.getUniqueCount(); i++) {
+            size += sharedStrings.getItemAt(i).getString().getBytes(StandardCharsets.UTF_8).length
+                + SHARED_STRING_MARKUP_SIZE;
+        }
+        return size;
+    }
+
+    /**
+     * Returns the total size of the temporary sheet files that currently exist.
+     *
+     * @return the size of the temporary files in bytes
+     */
+    long getTempFileSize() {
+        long size = 0;
+        for (File tempFile : tempFiles) {
+            size += tempFile.length();
+        }
+        return size;
+    }
+
+    /**
+     * Returns whether temporary sheet files still exist, e.g. because the workbook is not closed
+     * yet or some of them could not be deleted.
+     *
+     * @return true if a temporary file of this workbook exists
+     */
+    boolean hasTempFiles() {
+        tempFiles.removeIf(tempFile -> !tempFile.exists());
+        return !tempFiles.isEmpty();
+    }
+
+    /**
+     * Closes the workbook, which deletes the temporary sheet files, and deletes the files POI
+     * failed to delete.
+     *
+     * @throws IOException if an I/O error occurs while closing the workbook
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            super.close();
+        } finally {
+            tempFiles.removeIf(tempFile -> !tempFile.exists() || tempFile.delete());
+        }
+    }
+}
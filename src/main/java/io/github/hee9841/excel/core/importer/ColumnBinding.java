@@ -0,0 +1,278 @@
+package io.github.hee9841.excel.core.importer;
+
+import io.github.hee9841.excel.core.meta.ColumnDataType;
+import io.github.hee9841.excel.core.meta.ColumnSchema;
+import io.github.hee9841.excel.exception.ExcelException;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.Locale;
+import org.apache.commons.lang3.ClassUtils;
+import org.apache.commons.lang3.reflect.FieldUtils;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaError;
+
+/**
+ * Binds the cells of a column to the field of a {@link ColumnSchema.Column}, converting the cell
+ * value to the field type the reverse way {@link ColumnDataType} sets it to a cell.
+ *
+ * <ul>
+ *     <li>{@code NUMBER} cells are parsed as a decimal and converted to the numeric field type,
+ *     including {@link BigDecimal} and {@link BigInteger}. Values with a fraction or out of the
+ *     range of the field type fail instead of being truncated. The error cells written for
+ *     non-finite values are read back into {@code double} and {@code float} fields:
+ *     {@code #NUM!} as NaN and {@code #DIV/0!} as positive infinity, since the sign of an
+ *     infinite value is not written. Other error cells, and error cells of other numeric types,
+ *     fail.</li>
+ *     <li>{@code BOOLEAN} cells accept {@code 1}/{@code 0} and {@code true}/{@code false}.</li>
+ *     <li>{@code STRING} cells keep their text; numbers are read as their plain decimal text.
+ *     {@code char} fields take the first character.</li>
+ *     <li>{@code ENUM} cells are matched against the constant names, then their
+ *     {@code toString()} values, which is what the exporter writes.</li>
+ *     <li>{@code FORMULA} cells are read as the formula text.</li>
+ *     <li>{@code DATE}, {@code LOCAL_DATE} and {@code LOCAL_DATE_TIME} number cells are
+ *     converted from the Excel serial date in the POI user time zone.</li>
+ * </ul>
+ *
+ * <p>Columns without a data type are written as the {@code String.valueOf} text of the field, and
+ * are converted by the data type matching the field type, parsing the text: e.g. a
+ * {@link LocalDate} from its ISO text and a {@link Date} from its {@link Date#toString()} text.
+ * Empty cells leave the field unset, so primitive fields keep their default value.</p>
+ */
+final class ColumnBinding {
+
+    /**
+     * The pattern of {@link Date#toString()}
+     */
+    private static final String DATE_TO_STRING_PATTERN = "EEE MMM dd HH:mm:ss zzz yyyy";
+
+    private final String headerName;
+    /**
+     * The data type the cells are converted by: the column data type, or the data type matching
+     * the field type for columns without one
+     */
+    private final ColumnDataType columnType;
+    private final Field field;
+    /**
+     * The field type, with primitive types replaced by their wrapper types
+     */
+    private final Class<?> valueType;
+
+
+    private ColumnBinding(String headerName, ColumnDataType columnType, Field field) {
+        this.headerName = headerName;
+        this.columnType = columnType.isNone() || columnType.isAuto()
+            ? ColumnDataType.from(field.getType())
+            : columnType;
+        this.field = field;
+        this.valueType = ClassUtils.primitiveToWrapper(field.getType());
+    }
+
+    /**
+     * Creates the binding of a column.
+     * The field is made accessible if it is not already.
+     *
+     * @param column The column of the schema
+     * @return A new binding of the column
+     * @throws ExcelException If the field cannot be found or made accessible
+     */
+    static ColumnBinding of(ColumnSchema.Column column) {
+        Class<?> declaringClass = column.getAccessor().getDeclaringClass();
+        Field field = FieldUtils.getDeclaredField(declaringClass, column.getFieldName(), true);
+        if (field == null) {
+            throw new ExcelException(
+                String.format("Failed to create binding : Access to field %s failed.",
+                    column.getFieldName()), declaringClass.getName());
+        }
+        return new ColumnBinding(column.getHeaderName(), column.getColumnType(), field);
+    }
+
+    /**
+     * Converts the cell value and sets it to the field of the target.
+     *
+     * @param target   The object to set the field of
+     * @param cell     The cell to read the value from
+     * @param date1904 Whether the workbook uses the 1904 date system
+     * @throws ExcelException If the value cannot be converted to the field type or set
+     */
+    void bind(Object target, SheetCell cell, boolean date1904) {
+        if (cell.isEmpty()) {
+            return;
+        }
+        Object value;
+        try {
+            value = toFieldValue(cell, date1904);
+        } catch (ExcelException e) {
+            throw e;
+        } catch (ParseException | RuntimeException e) {
+            throw new ExcelException(String.format(
+                "Failed to convert value '%s' to %s of field %s.",
+                cell.getValue(), field.getType().getSimpleName(), field.getName()), e);
+        }
+        if (value == null) {
+            return;
+        }
+        try {
+            field.set(target, value);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new ExcelException(String.format("Failed to set field %s to %s.",
+                field.getName(), target.getClass().getName()), e);
+        }
+    }
+
+    private Object toFieldValue(SheetCell cell, boolean date1904) throws ParseException {
+        String value = cell.getValue();
+        switch (columnType) {
+            case FORMULA:
+                return cell.hasFormula ? cell.getFormula() : value;
+            case NUMBER:
+                return cell.isError()
+                    ? toNonFiniteNumber(value)
+                    : toNumber(new BigDecimal(value.trim()));
+            case BOOLEAN:
+                return toBoolean(value);
+            case ENUM:
+                return toEnum(value);
+            case DATE:
+                Date date = cell.isNumber()
+                    ? DateUtil.getJavaDate(toSerialDate(cell), date1904)
+                    : new SimpleDateFormat(DATE_TO_STRING_PATTERN, Locale.US).parse(value);
+                return valueType == java.sql.Date.class
+                    ? new java.sql.Date(date.getTime()) : date;
+            case LOCAL_DATE:
+                return cell.isNumber()
+                    ? toLocalDateTime(cell, date1904).toLocalDate()
+                    : LocalDate.parse(value);
+            case LOCAL_DATE_TIME:
+                return cell.isNumber()
+                    ? toLocalDateTime(cell, date1904)
+                    : LocalDateTime.parse(value);
+            default:
+                return toText(cell);
+        }
+    }
+
+    /**
+     * Narrows the decimal to the numeric field type, failing with an {@link ArithmeticException}
+     * if the value has a fraction or is out of the range of an integral type, or out of the range
+     * of a floating-point type.
+     */
+    private Object toNumber(BigDecimal number) {
+        if (valueType == Integer.class) {
+            return number.intValueExact();
+        }
+        if (valueType == Long.class) {
+            return number.longValueExact();
+        }
+        if (valueType == Short.class) {
+            return number.shortValueExact();
+        }
+        if (valueType == Byte.class) {
+            return number.byteValueExact();
+        }
+        if (valueType == BigDecimal.class) {
+            return number;
+        }
+        if (valueType == BigInteger.class) {
+            return number.toBigIntegerExact();
+        }
+        if (valueType == Float.class) {
+            float value = number.floatValue();
+            if (Float.isInfinite(value)) {
+                throw new ArithmeticException("Overflow of float");
+            }
+            return value;
+        }
+        if (valueType == Double.class || valueType == Number.class) {
+            double value = number.doubleValue();
+            if (Double.isInfinite(value)) {
+                throw new ArithmeticException("Overflow of double");
+            }
+            return value;
+        }
+        throw new IllegalArgumentException(
+            "Unsupported number type: " + valueType.getName());
+    }
+
+    /**
+     * Converts the error value written for a non-finite number back to the floating-point field
+     * type, failing with an {@link IllegalArgumentException} for other errors or field types.
+     */
+    private Object toNonFiniteNumber(String error) {
+        double value;
+        if (FormulaError.NUM.getString().equals(error)) {
+            value = Double.NaN;
+        } else if (FormulaError.DIV0.getString().equals(error)) {
+            value = Double.POSITIVE_INFINITY;
+        } else {
+            throw new IllegalArgumentException("Not a number: error " + error);
+        }
+
+        if (valueType == Double.class || valueType == Number.class) {
+            return value;
+        }
+        if (valueType == Float.class) {
+            return (float) value;
+        }
+        throw new IllegalArgumentException(String.format(
+            "Error %s is not a finite %s value.", error, valueType.getSimpleName()));
+    }
+
+    private static Boolean toBoolean(String value) {
+        if ("1".equals(value) || "true".equalsIgnoreCase(value)) {
+            return Boolean.TRUE;
+        }
+        if ("0".equals(value) || "false".equalsIgnoreCase(value)) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("Not a boolean value: " + value);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private Object toEnum(String value) {
+        Class<? extends Enum> enumType = (Class<? extends Enum>) valueType;
+        for (Enum constant : enumType.getEnumConstants()) {
+            if (constant.name().equals(value)) {
+                return constant;
+            }
+        }
+        for (Enum constant : enumType.getEnumConstants()) {
+            if (constant.toString().equals(value)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException(
+            String.format("No enum constant %s.%s", enumType.getName(), value));
+    }
+
+    private static double toSerialDate(SheetCell cell) {
+        return Double.parseDouble(cell.getValue());
+    }
+
+    private static LocalDateTime toLocalDateTime(SheetCell cell, boolean date1904) {
+        return DateUtil.getLocalDateTime(toSerialDate(cell), date1904);
+    }
+
+    private Object toText(SheetCell cell) {
+        String text = cell.isNumber()
+            ? new BigDecimal(cell.getValue().trim()).stripTrailingZeros().toPlainString()
+            : cell.getValue();
+        if (valueType == Character.class) {
+            return text.isEmpty() ? null : text.charAt(0);
+        }
+        return text;
+    }
+
+    String getHeaderName() {
+        return headerName;
+    }
+
+    String getFieldName() {
+        return field.getName();
+    }
+}
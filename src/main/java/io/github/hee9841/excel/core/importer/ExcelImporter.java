@@ -0,0 +1,290 @@
+package io.github.hee9841.excel.core.importer;
+
+import io.github.hee9841.excel.core.meta.ColumnSchema;
+import io.github.hee9841.excel.exception.ExcelException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Constructor;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the rows of an Excel (.xlsx) file into DTOs annotated with
+ * {@link io.github.hee9841.excel.annotation.Excel}, one row at a time.
+ *
+ * <p>The columns are bound by the same {@code @Excel}/{@code @ExcelColumn} metadata the exporters
+ * write with: the first row of each sheet is the header, and each {@code @ExcelColumn} is read
+ * from the column whose header matches its header name. The cell values are converted to the
+ * field types according to the {@link io.github.hee9841.excel.core.meta.ColumnDataType} of the
+ * columns, so a file written by an exporter is read back into equal DTOs, except for negative
+ * infinity, which is written as the same {@code #DIV/0!} error cell as positive infinity and read
+ * back as positive infinity.</p>
+ *
+ * <p>The sheets are parsed with a StAX pull parser over the sheet XML of the package, and only
+ * the current row is held in memory, whatever the size of the sheets. The shared strings table,
+ * if the file has one, is the exception: all its strings are loaded into memory when the file is
+ * opened, so the memory used grows with the number of distinct strings of the file. Files
+ * written by the exporters without the shared strings table use inline strings and do not have
+ * this cost. Files given as an
+ * {@link InputStream} are copied to a temporary file first, so the package is read from disk
+ * instead of being unzipped into memory.</p>
+ *
+ * <p>Rows can be passed to an action with {@code read}, or pulled lazily from a {@link Stream}
+ * with {@code stream}, which parses only as far as the rows consumed.</p>
+ *
+ * <p>The DTO class must have a constructor without parameters, which may be private. Fields of
+ * columns whose cells are empty are left unset.</p>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * ExcelImporter.builder(MyData.class)
+ *     .sheetName("MySheet0")
+ *     .build()
+ *     .read(inputStream, repository::save);
+ * </pre>
+ *
+ * <p>Use the {@link ExcelImporterBuilder} to configure and instantiate this class.</p>
+ *
+ * @param <T> The type of data to be imported from Excel
+ * @see ExcelImporterBuilder
+ */
+public class ExcelImporter<T> {
+
+    private static final Logger logger = LoggerFactory.getLogger(ExcelImporter.class);
+
+    private static final String TEMP_FILE_PREFIX = "excel-import";
+    private static final String TEMP_FILE_SUFFIX = ".xlsx";
+
+    private final String dtoTypeName;
+    private final Constructor<T> constructor;
+    private final List<ColumnBinding> bindings;
+    /**
+     * The name of the only sheet to read, or null to read every sheet
+     */
+    private final String sheetName;
+
+
+    /**
+     * Constructs an ExcelImporter with the specified configuration.
+     *
+     * <p>This constructor is not meant to be called directly. Use {@link ExcelImporterBuilder}
+     * to create instances of ExcelImporter.</p>
+     *
+     * @param type      The class type of the data to be imported
+     * @param sheetName The name of the only sheet to read, or null to read every sheet
+     * @throws ExcelException If the class is not properly annotated or has no constructor
+     *                        without parameters
+     */
+    ExcelImporter(Class<T> type, String sheetName) {
+        if (type == null) {
+            throw new ExcelException("DTO class is null.");
+        }
+        this.dtoTypeName = type.getName();
+        this.sheetName = sheetName;
+
+        List<ColumnBinding> columnBindings = new ArrayList<>();
+        for (ColumnSchema.Column column : ColumnSchema.of(type).getColumns()) {
+            columnBindings.add(ColumnBinding.of(column));
+        }
+        this.bindings = Collections.unmodifiableList(columnBindings);
+        this.constructor = getConstructor(type);
+    }
+
+    /**
+     * Creates a new builder for configuring and instantiating an ExcelImporter.
+     *
+     * @param <T>  The type of data to be imported
+     * @param type The class of the data type
+     * @return A new ExcelImporterBuilder instance
+     */
+    public static <T> ExcelImporterBuilder<T> builder(Class<T> type) {
+        return new ExcelImporterBuilder<>(type);
+    }
+
+    private static <T> Constructor<T> getConstructor(Class<T> type) {
+        try {
+            Constructor<T> constructor = type.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            return constructor;
+        } catch (NoSuchMethodException | RuntimeException e) {
+            throw new ExcelException(
+                "Missing a constructor without parameters to create rows.", type.getName(), e);
+        }
+    }
+
+    /**
+     * Reads the rows of the Excel file in the stream and passes them to the action in order.
+     * The stream is copied to a temporary file, which is deleted when the rows are read; the
+     * stream is not closed.
+     *
+     * @param stream The input stream of the Excel file
+     * @param action The action to perform on each row
+     * @return The number of rows read
+     * @throws IOException    if an I/O error occurs while reading the file
+     * @throws ExcelException if the file is not a valid Excel file, a header is missing or a
+     *                        cell cannot be converted to its field
+     */
+    public long read(InputStream stream, Consumer<? super T> action) throws IOException {
+        try (ExcelRowReader<T> rows = open(stream)) {
+            return read(rows, action);
+        }
+    }
+
+    /**
+     * Reads the rows of the Excel file and passes them to the action in order.
+     *
+     * @param file   The Excel file
+     * @param action The action to perform on each row
+     * @return The number of rows read
+     * @throws IOException    if an I/O error occurs while reading the file
+     * @throws ExcelException if the file is not a valid Excel file, a header is missing or a
+     *                        cell cannot be converted to its field
+     */
+    public long read(File file, Consumer<? super T> action) throws IOException {
+        try (ExcelRowReader<T> rows = open(file)) {
+            return read(rows, action);
+        }
+    }
+
+    /**
+     * Returns a lazily evaluated stream of the rows of the Excel file in the input stream, read
+     * with the default configuration.
+     *
+     * @param <T>    The type of data to be imported
+     * @param stream The input stream of the Excel file
+     * @param type   The class of the data type
+     * @return A stream of the rows, which must be closed
+     * @throws IOException    if an I/O error occurs while copying the input stream
+     * @throws ExcelException if the class cannot be mapped or the file is not a valid Excel file
+     * @see #stream(InputStream)
+     */
+    public static <T> Stream<T> stream(InputStream stream, Class<T> type) throws IOException {
+        return builder(type).build().stream(stream);
+    }
+
+    /**
+     * Returns a lazily evaluated stream of the rows of the Excel file in the input stream.
+     *
+     * <p>The input stream is copied to a temporary file when the stream is created, but the
+     * sheets are parsed only as rows are pulled from the stream, so short-circuiting operations
+     * such as {@code limit} or {@code findFirst} stop parsing at the rows they need. Closing the
+     * stream closes the package and deletes the temporary file, so it should be used in a
+     * try-with-resources statement:</p>
+     * <pre>
+     * try (Stream&lt;MyData&gt; rows = importer.stream(inputStream)) {
+     *     rows.filter(MyData::isActive).limit(100).forEach(repository::save);
+     * }
+     * </pre>
+     *
+     * <p>Errors of the rows are thrown as {@link ExcelException}s by the operation pulling
+     * them. The input stream is not closed.</p>
+     *
+     * @param stream The input stream of the Excel file
+     * @return A sequential, ordered stream of the rows, which must be closed
+     * @throws IOException    if an I/O error occurs while copying the input stream
+     * @throws ExcelException if the file is not a valid Excel file
+     */
+    public Stream<T> stream(InputStream stream) throws IOException {
+        return stream(open(stream));
+    }
+
+    /**
+     * Returns a lazily evaluated stream of the rows of the Excel file.
+     * The sheets are parsed as rows are pulled, and closing the stream closes the package.
+     *
+     * @param file The Excel file
+     * @return A sequential, ordered stream of the rows, which must be closed
+     * @throws IOException    if an I/O error occurs while opening the file
+     * @throws ExcelException if the file is not a valid Excel file
+     * @see #stream(InputStream)
+     */
+    public Stream<T> stream(File file) throws IOException {
+        return stream(open(file));
+    }
+
+    private Stream<T> stream(ExcelRowReader<T> rows) {
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(rows,
+                    Spliterator.ORDERED | Spliterator.NONNULL), false)
+            .onClose(() -> {
+                try {
+                    rows.close();
+                } catch (IOException e) {
+                    throw new ExcelException("Failed to close Excel file.", dtoTypeName, e);
+                }
+            });
+    }
+
+    private long read(ExcelRowReader<T> rows, Consumer<? super T> action) {
+        long count = 0;
+        while (rows.hasNext()) {
+            action.accept(rows.next());
+            count++;
+        }
+        logger.info("Read {} rows of DTO: {}.java.", count, dtoTypeName);
+        return count;
+    }
+
+    /**
+     * Opens a reader of the rows of the Excel file in the stream.
+     * The stream is copied to a temporary file, which is deleted when the reader is closed.
+     */
+    ExcelRowReader<T> open(InputStream stream) throws IOException {
+        if (stream == null) {
+            throw new ExcelException("Input stream is null.", dtoTypeName);
+        }
+        Path tempFile = Files.createTempFile(TEMP_FILE_PREFIX, TEMP_FILE_SUFFIX);
+        try {
+            Files.copy(stream, tempFile, StandardCopyOption.REPLACE_EXISTING);
+            return new ExcelRowReader<>(this, tempFile.toFile(), tempFile);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(tempFile);
+            throw e;
+        }
+    }
+
+    /**
+     * Opens a reader of the rows of the Excel file.
+     */
+    ExcelRowReader<T> open(File file) throws IOException {
+        if (file == null) {
+            throw new ExcelException("File is null.", dtoTypeName);
+        }
+        return new ExcelRowReader<>(this, file, null);
+    }
+
+    /**
+     * Creates an empty row object.
+     */
+    T newRow() {
+        try {
+            return constructor.newInstance();
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            throw new ExcelException("Failed to create a row object.", dtoTypeName, e);
+        }
+    }
+
+    String getDtoTypeName() {
+        return dtoTypeName;
+    }
+
+    List<ColumnBinding> getBindings() {
+        return bindings;
+    }
+
+    String getSheetName() {
+        return sheetName;
+    }
+}
@@ -0,0 +1,59 @@
+package io.github.hee9841.excel.core.importer;
+
+/**
+ * Builder class for creating and configuring {@link ExcelImporter} instances.
+ *
+ * <p>Default configuration:</p>
+ * <ul>
+ *     <li>Sheet Name: null (every sheet is read)</li>
+ * </ul>
+ *
+ * <p>Example usage:</p>
+ * <pre>
+ * ExcelImporter&lt;MyData&gt; importer = ExcelImporter.builder(MyData.class)
+ *     .sheetName("MySheet0")
+ *     .build();
+ * </pre>
+ *
+ * @param <T> The type of data to be imported
+ */
+public class ExcelImporterBuilder<T> {
+
+    private final Class<T> type;
+
+    private String sheetName;
+
+    /**
+     * Constructs a new ExcelImporterBuilder with the specified type.
+     *
+     * @param type The class type of the data to be imported
+     */
+    ExcelImporterBuilder(Class<T> type) {
+        this.type = type;
+        this.sheetName = null;
+    }
+
+    /**
+     * Sets the name of the only sheet to read.
+     * If not set, the rows of every sheet are read in the order of the sheets.
+     *
+     * @param sheetName The name of the sheet to read
+     * @return This builder instance for method chaining
+     */
+    public ExcelImporterBuilder<T> sheetName(String sheetName) {
+        this.sheetName = sheetName;
+        return this;
+    }
+
+    /**
+     * Builds and returns a new ExcelImporter instance with the configured settings.
+     *
+     * @return A new ExcelImporter instance
+     * @throws io.github.hee9841.excel.exception.ExcelException if the class is not properly
+     *                                                          annotated or has no constructor
+     *                                                          without parameters
+     */
+    public ExcelImporter<T> build() {
+        return new ExcelImporter<>(this.type, this.sheetName);
+    }
+}
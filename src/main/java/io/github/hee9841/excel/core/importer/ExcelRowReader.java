@@ -0,0 +1,388 @@
+package io.github.hee9841.excel.core.importer;
+
+import io.github.hee9841.excel.exception.ExcelException;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.util.CellReference;
+import org.apache.poi.util.XMLHelper;
+import org.apache.poi.xssf.eventusermodel.ReadOnlySharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStrings;
+import org.xml.sax.SAXException;
+
+/**
+ * Iterator over the rows of an Excel file, pulling the sheet XML of the package with a StAX
+ * parser as rows are requested.
+ *
+ * <p>Each sheet starts with a header row, which maps the columns of the sheet to the
+ * {@link ColumnBinding}s of the importer by their header names. The following rows are read into
+ * new row objects; rows without any cell are skipped. Only the current sheet is open at a time,
+ * and the package (and the temporary copy of the file, if any) is released on {@link #close()}.
+ * </p>
+ *
+ * @param <T> The type of data to be imported
+ * @see ExcelImporter
+ */
+final class ExcelRowReader<T> implements Iterator<T>, Closeable {
+
+    private static final XMLInputFactory XML_INPUT_FACTORY = XMLHelper.newXMLInputFactory();
+
+    private final ExcelImporter<T> importer;
+    /**
+     * The temporary copy of the file to delete on close, or null
+     */
+    private final Path tempFile;
+    private final OPCPackage pkg;
+    private final SharedStrings sharedStrings;
+    private final XSSFReader.SheetIterator sheets;
+    private final boolean date1904;
+    private final SheetCell cell = new SheetCell();
+
+    private InputStream sheetStream;
+    private XMLStreamReader parser;
+    private String currentSheetName;
+    /**
+     * The bindings of the current sheet by column index, with null for unmapped columns
+     */
+    private ColumnBinding[] columnBindings;
+    /**
+     * The one-based number of the current row
+     */
+    private int rowNumber;
+    private boolean sheetFound;
+
+    private T next;
+    private boolean closed;
+
+
+    ExcelRowReader(ExcelImporter<T> importer, File file, Path tempFile) throws IOException {
+        this.importer = importer;
+        this.tempFile = tempFile;
+        OPCPackage opened = null;
+        try {
+            opened = OPCPackage.open(file, PackageAccess.READ);
+            XSSFReader reader = new XSSFReader(opened);
+            this.sharedStrings = new ReadOnlySharedStringsTable(opened);
+            this.sheets = reader.getSheetIterator();
+            this.date1904 = isDate1904(reader);
+            this.pkg = opened;
+        } catch (OpenXML4JException | SAXException | XMLStreamException
+                 | RuntimeException e) {
+            release(opened);
+            throw new ExcelException("Failed to open Excel file.", importer.getDtoTypeName(), e);
+        } catch (IOException e) {
+            release(opened);
+            throw e;
+        }
+    }
+
+    /**
+     * Reads the {@code date1904} attribute of the workbook properties.
+     */
+    private static boolean isDate1904(XSSFReader reader)
+        throws IOException, OpenXML4JException, XMLStreamException {
+        try (InputStream workbook = reader.getWorkbookData()) {
+            XMLStreamReader workbookParser = XML_INPUT_FACTORY.createXMLStreamReader(workbook);
+            try {
+                while (workbookParser.hasNext()) {
+                    if (workbookParser.next() != XMLStreamConstants.START_ELEMENT) {
+                        continue;
+                    }
+                    String name = workbookParser.getLocalName();
+                    if ("workbookPr".equals(name)) {
+                        String value = workbookParser.getAttributeValue(null, "date1904");
+                        return "1".equals(value) || "true".equals(value);
+                    }
+                    if ("sheets".equals(name)) {
+                        return false;
+                    }
+                }
+                return false;
+            } finally {
+                workbookParser.close();
+            }
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !closed) {
+            next = readNext();
+        }
+        return next != null;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        T row = next;
+        next = null;
+        return row;
+    }
+
+    private T readNext() {
+        try {
+            while (true) {
+                if (parser == null && !openNextSheet()) {
+                    return null;
+                }
+                T row = readRow();
+                if (row != null) {
+                    return row;
+                }
+                closeSheet();
+            }
+        } catch (XMLStreamException | IOException e) {
+            throw new ExcelException(
+                String.format("Failed to read sheet '%s'.", currentSheetName),
+                importer.getDtoTypeName(), e);
+        }
+    }
+
+    /**
+     * Opens the next sheet to read and maps its columns from the header row.
+     *
+     * @return false if there are no more sheets to read
+     */
+    private boolean openNextSheet() throws XMLStreamException, IOException {
+        String targetSheetName = importer.getSheetName();
+        while (sheets.hasNext()) {
+            sheetStream = sheets.next();
+            currentSheetName = sheets.getSheetName();
+            if (targetSheetName != null && !targetSheetName.equals(currentSheetName)) {
+                closeSheet();
+                continue;
+            }
+            sheetFound = true;
+            rowNumber = 0;
+            parser = XML_INPUT_FACTORY.createXMLStreamReader(sheetStream);
+            if (readHeader()) {
+                return true;
+            }
+            closeSheet();
+        }
+        if (targetSheetName != null && !sheetFound) {
+            throw new ExcelException(
+                String.format("The sheet '%s' is not found.", targetSheetName),
+                importer.getDtoTypeName());
+        }
+        return false;
+    }
+
+    /**
+     * Reads the first row with cells as the header, and maps the bindings to its columns.
+     *
+     * @return false if the sheet has no rows
+     * @throws ExcelException if the header of a column is missing
+     */
+    private boolean readHeader() throws XMLStreamException {
+        Map<String, Integer> headerColumns = new HashMap<>();
+        int lastColumn = -1;
+        while (headerColumns.isEmpty()) {
+            if (!nextRow()) {
+                return false;
+            }
+            while (nextCell()) {
+                headerColumns.putIfAbsent(cell.getValue(), cell.column);
+                lastColumn = Math.max(lastColumn, cell.column);
+            }
+        }
+
+        List<ColumnBinding> bindings = importer.getBindings();
+        columnBindings = new ColumnBinding[lastColumn + 1];
+        for (ColumnBinding binding : bindings) {
+            Integer column = headerColumns.get(binding.getHeaderName());
+            if (column == null) {
+                throw new ExcelException(String.format(
+                    "Missing header : The header '%s' of field %s is not found in sheet '%s'.",
+                    binding.getHeaderName(), binding.getFieldName(), currentSheetName),
+                    importer.getDtoTypeName());
+            }
+            columnBindings[column] = binding;
+        }
+        return true;
+    }
+
+    /**
+     * Reads the next row with cells into a new row object.
+     *
+     * @return the row object, or null at the end of the sheet
+     */
+    private T readRow() throws XMLStreamException {
+        while (nextRow()) {
+            T row = null;
+            while (nextCell()) {
+                if (row == null) {
+                    row = importer.newRow();
+                }
+                if (cell.column < columnBindings.length && columnBindings[cell.column] != null) {
+                    bindCell(row, columnBindings[cell.column]);
+                }
+            }
+            if (row != null) {
+                return row;
+            }
+        }
+        return null;
+    }
+
+    private void bindCell(T row, ColumnBinding binding) {
+        try {
+            binding.bind(row, cell, date1904);
+        } catch (ExcelException e) {
+            throw new ExcelException(String.format("Failed to read cell %s%d of sheet '%s'.",
+                CellReference.convertNumToColString(cell.column), rowNumber, currentSheetName),
+                importer.getDtoTypeName(), e);
+        }
+    }
+
+    /**
+     * Moves the parser to the start of the next {@code <row>} element.
+     *
+     * @return false at the end of the sheet
+     */
+    private boolean nextRow() throws XMLStreamException {
+        while (parser.hasNext()) {
+            int event = parser.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "row".equals(parser.getLocalName())) {
+                String reference = parser.getAttributeValue(null, "r");
+                rowNumber = reference != null ? Integer.parseInt(reference) : rowNumber + 1;
+                cell.column = -1;
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT
+                && "sheetData".equals(parser.getLocalName())) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads the next {@code <c>} element of the current row into {@link #cell}.
+     *
+     * @return false at the end of the row
+     */
+    private boolean nextCell() throws XMLStreamException {
+        while (parser.hasNext()) {
+            int event = parser.next();
+            if (event == XMLStreamConstants.START_ELEMENT && "c".equals(parser.getLocalName())) {
+                readCell();
+                return true;
+            }
+            if (event == XMLStreamConstants.END_ELEMENT && "row".equals(parser.getLocalName())) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private void readCell() throws XMLStreamException {
+        String reference = parser.getAttributeValue(null, "r");
+        int column = reference != null ? columnIndexOf(reference) : cell.column + 1;
+        cell.reset(column, parser.getAttributeValue(null, "t"));
+
+        while (parser.hasNext()) {
+            int event = parser.next();
+            if (event == XMLStreamConstants.END_ELEMENT && "c".equals(parser.getLocalName())) {
+                break;
+            }
+            if (event != XMLStreamConstants.START_ELEMENT) {
+                continue;
+            }
+            String name = parser.getLocalName();
+            if ("v".equals(name) || "t".equals(name)) {
+                // <v> holds the value, and <t> the text of an inline string or one of its runs
+                cell.value.append(parser.getElementText());
+            } else if ("f".equals(name)) {
+                cell.hasFormula = true;
+                cell.formula.append(parser.getElementText());
+            }
+        }
+
+        if (SheetCell.TYPE_SHARED_STRING.equals(cell.type) && cell.value.length() > 0) {
+            int index = Integer.parseInt(cell.getValue());
+            cell.value.setLength(0);
+            cell.value.append(sharedStrings.getItemAt(index).getString());
+        }
+    }
+
+    /**
+     * Returns the zero-based column index of a cell reference such as {@code AB12}.
+     */
+    private static int columnIndexOf(String reference) {
+        int column = 0;
+        for (int i = 0; i < reference.length(); i++) {
+            char c = reference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    private void closeSheet() throws IOException {
+        try {
+            if (parser != null) {
+                parser.close();
+            }
+        } catch (XMLStreamException e) {
+            throw new IOException(e);
+        } finally {
+            parser = null;
+            if (sheetStream != null) {
+                sheetStream.close();
+                sheetStream = null;
+            }
+        }
+    }
+
+    /**
+     * Closes the current sheet and the package, and deletes the temporary copy of the file.
+     * Closing a closed reader has no effect.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        next = null;
+        try {
+            closeSheet();
+        } finally {
+            release(pkg);
+        }
+    }
+
+    private void release(OPCPackage opened) throws IOException {
+        try {
+            if (opened != null) {
+                opened.revert();
+            }
+        } finally {
+            if (tempFile != null) {
+                Files.deleteIfExists(tempFile);
+            }
+        }
+    }
+}
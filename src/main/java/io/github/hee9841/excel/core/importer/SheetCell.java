@@ -0,0 +1,61 @@
+package io.github.hee9841.excel.core.importer;
+
+/**
+ * Raw content of a {@code <c>} element of sheet XML, reused for every cell of a sheet.
+ *
+ * <p>The value is the text of the cell: the resolved shared string or inline string for string
+ * cells, and the content of the {@code <v>} element for other cells. The formula is the content
+ * of the {@code <f>} element, if any.</p>
+ */
+final class SheetCell {
+
+    /**
+     * Cell type of numbers, the default when the {@code t} attribute is absent
+     */
+    static final String TYPE_NUMBER = "n";
+    static final String TYPE_SHARED_STRING = "s";
+    /**
+     * Cell type of error values such as {@code #NUM!}
+     */
+    static final String TYPE_ERROR = "e";
+
+    /**
+     * Zero-based column index of the cell
+     */
+    int column;
+    /**
+     * The {@code t} attribute of the cell
+     */
+    String type;
+    final StringBuilder value = new StringBuilder();
+    final StringBuilder formula = new StringBuilder();
+    boolean hasFormula;
+
+    void reset(int column, String type) {
+        this.column = column;
+        this.type = type == null ? TYPE_NUMBER : type;
+        this.value.setLength(0);
+        this.formula.setLength(0);
+        this.hasFormula = false;
+    }
+
+    boolean isNumber() {
+        return TYPE_NUMBER.equals(type);
+    }
+
+    boolean isError() {
+        return TYPE_ERROR.equals(type);
+    }
+
+    boolean isEmpty() {
+        return value.length() == 0 && !hasFormula;
+    }
+
+    String getValue() {
+        return value.toString();
+    }
+
+    String getFormula() {
+        return formula.toString();
+    }
+}
@@ -0,0 +1,213 @@
+package io.github.hee9841.excel.core.meta;
+
+import io.github.hee9841.excel.annotation.ExcelColumnStyle;
+import io.github.hee9841.excel.format.CellFormats;
+import io.github.hee9841.excel.format.ExcelDataFormater;
+import io.github.hee9841.excel.style.ExcelCellStyle;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFColor;
+import org.apache.poi.xssf.usermodel.XSSFFont;
+
+/**
+ * Per-workbook pool of the {@link CellStyle}s created for Excel columns.
+ *
+ * <p>The pool identifies a cell style by the properties it effectively applies: font, fill,
+ * borders, alignment and data format. Each distinct combination is created only once in the
+ * workbook, so columns whose style definitions differ but apply the same properties, such as
+ * columns using the default style of {@link io.github.hee9841.excel.annotation.Excel} and columns
+ * using an equivalent custom style, share a single cell style. This keeps the number of styles in
+ * the workbook well below the Excel limit of 64,000 styles.</p>
+ *
+ * <p>The properties of a style definition are read by applying its {@link ExcelCellStyle} once to
+ * a detached style, which is not added to the workbook.</p>
+ *
+ * <p>All pools of the same workbook share the styles they created, e.g. when several classes are
+ * mapped into one workbook with {@link ColumnInfoMapper#of(Class, Workbook)}. A pool is not
+ * thread-safe, like the workbook itself. The styles it returns are shared and must not be
+ * modified.</p>
+ *
+ * @see ColumnInfoMapper
+ */
+public final class CellStylePool {
+
+    /**
+     * The styles created in each workbook. Only style indexes are kept, as the styles would
+     * otherwise keep their workbook from being garbage collected.
+     */
+    private static final Map<Workbook, WorkbookStyles> WORKBOOK_STYLES = new WeakHashMap<>();
+
+    /**
+     * The Apache POI Workbook to create cell styles in
+     */
+    private final Workbook wb;
+    /**
+     * The styles created in the workbook by all its pools
+     */
+    private final WorkbookStyles workbookStyles;
+    /**
+     * The cell styles returned by this pool by style definition and data format pattern
+     */
+    private final Map<StyleKey, CellStyle> styles = new HashMap<>();
+
+
+    private CellStylePool(Workbook wb, WorkbookStyles workbookStyles) {
+        this.wb = wb;
+        this.workbookStyles = workbookStyles;
+    }
+
+    /**
+     * Factory method to create a {@link CellStylePool} for the given workbook.
+     * The pool shares the styles created by the other pools of the workbook.
+     *
+     * @param workbook The Apache POI Workbook to create styles in
+     * @return A new {@link CellStylePool} instance
+     */
+    public static CellStylePool of(Workbook workbook) {
+        WorkbookStyles workbookStyles;
+        synchronized (WORKBOOK_STYLES) {
+            workbookStyles = WORKBOOK_STYLES.computeIfAbsent(workbook, wb -> new WorkbookStyles());
+        }
+        return new CellStylePool(workbook, workbookStyles);
+    }
+
+    /**
+     * Returns the cell style for the given style definition and data format pattern,
+     * creating it in the workbook if no style with the same properties exists yet.
+     *
+     * @param style             The style definition
+     * @param dataFormatPattern The data format pattern, or a pattern for which
+     *                          {@link CellFormats#isNone(String)} is true to apply no format
+     * @param excelCellStyle    Supplies the {@link ExcelCellStyle} of the style definition when
+     *                          its properties are not known yet
+     * @return The shared cell style
+     */
+    public CellStyle get(ExcelColumnStyle style, String dataFormatPattern,
+        Supplier<ExcelCellStyle> excelCellStyle) {
+        StyleKey key = new StyleKey(style, dataFormatPattern);
+        CellStyle cellStyle = styles.get(key);
+        if (cellStyle != null) {
+            return cellStyle;
+        }
+
+        Integer index = workbookStyles.byDefinition.get(key);
+        if (index == null) {
+            List<Object> properties = getProperties(excelCellStyle.get(), key.dataFormatPattern);
+            index = workbookStyles.byProperties.get(properties);
+            if (index == null) {
+                CellStyle created = wb.createCellStyle();
+                excelCellStyle.get().apply(created);
+                ExcelDataFormater.of(wb.createDataFormat(), key.dataFormatPattern).apply(created);
+                index = created.getIndex() & 0xFFFF;
+                workbookStyles.byProperties.put(properties, index);
+            }
+            workbookStyles.byDefinition.put(key, index);
+        }
+
+        cellStyle = wb.getCellStyleAt(index);
+        styles.put(key, cellStyle);
+        return cellStyle;
+    }
+
+    /**
+     * Returns the number of distinct cell styles created in the workbook by its pools.
+     *
+     * @return the number of distinct cell styles
+     */
+    public int size() {
+        return workbookStyles.byProperties.size();
+    }
+
+    /**
+     * Returns the properties a style definition applies to a cell style, in a fixed order.
+     *
+     * @param excelCellStyle    The style definition
+     * @param dataFormatPattern The data format pattern, or null if no format is applied
+     * @return the applied properties
+     */
+    private static List<Object> getProperties(ExcelCellStyle excelCellStyle,
+        String dataFormatPattern) {
+        // The default style of an empty styles table
+        XSSFCellStyle probe = new XSSFCellStyle(0, 0, new StylesTable(), null);
+        excelCellStyle.apply(probe);
+
+        XSSFFont font = probe.getFont();
+        return Arrays.asList(
+            font.getFontName(), font.getFontHeight(), font.getBold(), font.getItalic(),
+            font.getUnderline(), font.getStrikeout(), font.getTypeOffset(),
+            argb(font.getXSSFColor()),
+            probe.getFillPattern(),
+            probe.getFillForegroundColor(), argb(probe.getFillForegroundXSSFColor()),
+            probe.getFillBackgroundColor(), argb(probe.getFillBackgroundXSSFColor()),
+            probe.getBorderTop(), argb(probe.getTopBorderXSSFColor()),
+            probe.getBorderBottom(), argb(probe.getBottomBorderXSSFColor()),
+            probe.getBorderLeft(), argb(probe.getLeftBorderXSSFColor()),
+            probe.getBorderRight(), argb(probe.getRightBorderXSSFColor()),
+            probe.getAlignment(), probe.getVerticalAlignment(), probe.getWrapText(),
+            probe.getRotation(), probe.getIndention(), probe.getShrinkToFit(),
+            probe.getHidden(), probe.getLocked(), probe.getQuotePrefixed(),
+            dataFormatPattern);
+    }
+
+    private static String argb(XSSFColor color) {
+        return color == null ? null : color.getARGBHex();
+    }
+
+    /**
+     * The styles created in one workbook, by their index in the workbook
+     */
+    private static final class WorkbookStyles {
+
+        private final Map<StyleKey, Integer> byDefinition = new HashMap<>();
+        private final Map<List<Object>, Integer> byProperties = new HashMap<>();
+    }
+
+    private static final class StyleKey {
+
+        private final Class<? extends ExcelCellStyle> cellStyleClass;
+        /**
+         * The enum constant name, or null if the style class is not an enum
+         */
+        private final String enumName;
+        /**
+         * The data format pattern, or null if no format is applied
+         */
+        private final String dataFormatPattern;
+
+        private StyleKey(ExcelColumnStyle style, String dataFormatPattern) {
+            this.cellStyleClass = style.cellStyleClass();
+            this.enumName = cellStyleClass.isEnum() ? style.enumName() : null;
+            this.dataFormatPattern = CellFormats.isNone(dataFormatPattern)
+                ? null
+                : dataFormatPattern;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof StyleKey)) {
+                return false;
+            }
+            StyleKey other = (StyleKey) o;
+            return cellStyleClass == other.cellStyleClass
+                && Objects.equals(enumName, other.enumName)
+                && Objects.equals(dataFormatPattern, other.dataFormatPattern);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(cellStyleClass, enumName, dataFormatPattern);
+        }
+    }
+}
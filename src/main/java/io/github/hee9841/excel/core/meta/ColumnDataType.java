@@ -9,8 +9,12 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.TimeZone;
 import java.util.function.BiConsumer;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.Date1904Support;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.util.LocaleUtil;
 
 /**
  * Enum defining the supported cell types for Excel export/import operations.
@@ -18,6 +22,11 @@ import org.apache.poi.ss.usermodel.Cell;
  * supported.
  * The enum also provides utility methods for type matching and cell value setting.
  *
+ * <p>Besides {@link #setCellValueByCellType(Cell, Object)}, the enum provides overloads for
+ * primitive values and dates, so callers that read fields without boxing (the accessors and the
+ * generated row writers) can set numbers and booleans without boxing or converting them to a
+ * String first.</p>
+ *
  * @see ColumnInfoMapper
  * @see ColumnInfo
  * @see io.github.hee9841.excel.annotation.Excel
@@ -40,7 +49,7 @@ public enum ColumnDataType {
      * Numeric cell type for various number formats
      */
     NUMBER(
-        (cell, o) -> cell.setCellValue(Double.parseDouble(String.valueOf(o))),
+        (cell, o) -> cell.setCellValue(toDouble((Number) o)),
         Collections.unmodifiableList(
             Arrays.asList(
                 Integer.TYPE, Double.TYPE,
@@ -121,6 +130,19 @@ public enum ColumnDataType {
         true
     );
 
+    /**
+     * Milliseconds of a day
+     */
+    private static final long DAY_MILLIS = 86_400_000L;
+    /**
+     * Excel serial date(1900 date system) of 1970-01-01
+     */
+    private static final long EPOCH_SERIAL_DAY = 25_569L;
+    /**
+     * Days from 1970-01-01 to 1900-03-01, the first day after the 1900 leap year bug of Excel
+     */
+    private static final long FIRST_SERIAL_EPOCH_DAY = -25_508L;
+
     /**
      * Function to set a cell's value based on the given object
      */
@@ -219,6 +241,168 @@ public enum ColumnDataType {
     }
 
 
+    /**
+     * Sets a {@code long} value (or a widened {@code int}, {@code short} or {@code byte} value)
+     * to the cell without boxing it.
+     * Numbers are set as numeric values and text types use the decimal representation of the
+     * value. Other types are handled by {@link #setCellValueByCellType(Cell, Object)}.
+     *
+     * @param cell  The Excel cell to set the value for
+     * @param value The value to set in the cell
+     * @throws ExcelException If the value cannot be set for any reason
+     */
+    public void setCellValueByCellType(Cell cell, long value) {
+        if (this == NUMBER) {
+            cell.setCellValue((double) value);
+        } else if (isText()) {
+            cell.setCellValue(String.valueOf(value));
+        } else {
+            setCellValueByCellType(cell, (Object) value);
+        }
+    }
+
+    /**
+     * Sets a {@code double} value to the cell without boxing it.
+     *
+     * @param cell  The Excel cell to set the value for
+     * @param value The value to set in the cell
+     * @throws ExcelException If the value cannot be set for any reason
+     * @see #setCellValueByCellType(Cell, long)
+     */
+    public void setCellValueByCellType(Cell cell, double value) {
+        if (this == NUMBER) {
+            cell.setCellValue(value);
+        } else if (isText()) {
+            cell.setCellValue(String.valueOf(value));
+        } else {
+            setCellValueByCellType(cell, (Object) value);
+        }
+    }
+
+    /**
+     * Sets a {@code float} value to the cell without boxing it.
+     * The numeric value keeps the decimal representation of the float (e.g. {@code 1.1f} is set
+     * as {@code 1.1}, not {@code 1.100000023841858}).
+     *
+     * @param cell  The Excel cell to set the value for
+     * @param value The value to set in the cell
+     * @throws ExcelException If the value cannot be set for any reason
+     * @see #setCellValueByCellType(Cell, long)
+     */
+    public void setCellValueByCellType(Cell cell, float value) {
+        if (this == NUMBER) {
+            cell.setCellValue(Double.parseDouble(Float.toString(value)));
+        } else if (isText()) {
+            cell.setCellValue(String.valueOf(value));
+        } else {
+            setCellValueByCellType(cell, (Object) value);
+        }
+    }
+
+    /**
+     * Sets a {@code boolean} value to the cell without boxing it.
+     *
+     * @param cell  The Excel cell to set the value for
+     * @param value The value to set in the cell
+     * @throws ExcelException If the value cannot be set for any reason
+     */
+    public void setCellValueByCellType(Cell cell, boolean value) {
+        if (this == BOOLEAN) {
+            cell.setCellValue(value);
+        } else if (isText()) {
+            cell.setCellValue(String.valueOf(value));
+        } else {
+            setCellValueByCellType(cell, (Object) value);
+        }
+    }
+
+    /**
+     * Sets a {@code char} value to the cell without boxing it.
+     *
+     * @param cell  The Excel cell to set the value for
+     * @param value The value to set in the cell
+     * @throws ExcelException If the value cannot be set for any reason
+     */
+    public void setCellValueByCellType(Cell cell, char value) {
+        if (isText()) {
+            cell.setCellValue(String.valueOf(value));
+        } else {
+            setCellValueByCellType(cell, (Object) value);
+        }
+    }
+
+    /**
+     * Sets a {@link Date} value to the cell.
+     * For {@link #DATE}, the value is converted through
+     * {@link #setCellValueByEpochMillis(Cell, long)}.
+     * If the value is null, an empty string will be set.
+     *
+     * @param cell  The Excel cell to set the value for
+     * @param value The value to set in the cell
+     * @throws ExcelException If the value cannot be set for any reason
+     */
+    public void setCellValueByCellType(Cell cell, Date value) {
+        if (this == DATE && value != null) {
+            setCellValueByEpochMillis(cell, value.getTime());
+        } else {
+            setCellValueByCellType(cell, (Object) value);
+        }
+    }
+
+    /**
+     * Sets a date given as milliseconds since the epoch to the cell.
+     *
+     * <p>For {@link #DATE}, the Excel serial date is computed arithmetically in the POI user time
+     * zone, instead of through a {@link java.util.Calendar} for every cell. Dates before
+     * 1900-03-01 and workbooks using the 1904 date system are handed to POI as a {@link Date}.
+     * Other types are handled by {@link #setCellValueByCellType(Cell, Object)} with a
+     * {@link Date}.</p>
+     *
+     * @param cell        The Excel cell to set the value for
+     * @param epochMillis The date in milliseconds since 1970-01-01T00:00:00Z
+     * @throws ExcelException If the value cannot be set for any reason
+     */
+    public void setCellValueByEpochMillis(Cell cell, long epochMillis) {
+        if (this != DATE) {
+            setCellValueByCellType(cell, (Object) new Date(epochMillis));
+            return;
+        }
+
+        TimeZone timeZone = LocaleUtil.getUserTimeZone();
+        long localMillis = epochMillis + timeZone.getOffset(epochMillis);
+        long epochDay = Math.floorDiv(localMillis, DAY_MILLIS);
+        if (epochDay < FIRST_SERIAL_EPOCH_DAY || isDate1904(cell)) {
+            cell.setCellValue(new Date(epochMillis));
+            return;
+        }
+
+        double fraction = Math.floorMod(localMillis, DAY_MILLIS) / (double) DAY_MILLIS;
+        cell.setCellValue(fraction + (epochDay + EPOCH_SERIAL_DAY));
+    }
+
+    private static boolean isDate1904(Cell cell) {
+        Workbook workbook = cell.getSheet().getWorkbook();
+        return workbook instanceof Date1904Support && ((Date1904Support) workbook).isDate1904();
+    }
+
+    /**
+     * Converts a number to a double without a String round trip, except for {@link Float},
+     * which keeps its decimal representation.
+     */
+    private static double toDouble(Number number) {
+        if (number instanceof Float) {
+            return Double.parseDouble(number.toString());
+        }
+        return number.doubleValue();
+    }
+
+    /**
+     * Checks if values of this type are written as their String representation.
+     */
+    private boolean isText() {
+        return this == STRING || this == _NONE || this == AUTO;
+    }
+
     public boolean isAuto() {
         return this == AUTO;
     }
@@ -28,6 +28,10 @@ public class ColumnInfo {
      * The column data type(body) to use for this column
      */
     private final ColumnDataType columnType;
+    /**
+     * The pre-resolved accessor used to read the field value
+     */
+    private final FieldAccessor accessor;
     /**
      * The cell style to apply to the header cell
      */
@@ -42,12 +46,14 @@ public class ColumnInfo {
         String fieldName,
         String headerName,
         ColumnDataType columnType,
+        FieldAccessor accessor,
         CellStyle headerStyle,
         CellStyle bodyStyle
     ) {
         this.fieldName = fieldName;
         this.headerName = headerName;
         this.columnType = columnType;
+        this.accessor = accessor;
         this.headerStyle = headerStyle;
         this.bodyStyle = bodyStyle;
     }
@@ -58,6 +64,7 @@ public class ColumnInfo {
      * @param fieldName   The name of the Java field
      * @param headerName  The display name for the Excel header
      * @param columnType  The cell type for this column
+     * @param accessor    The pre-resolved accessor of the field
      * @param headerStyle The style for the header cell
      * @param bodyStyle   The style for the body cells
      * @return A new {@link ColumnInfo} instance
@@ -66,10 +73,12 @@ public class ColumnInfo {
         String fieldName,
         String headerName,
         ColumnDataType columnType,
+        FieldAccessor accessor,
         CellStyle headerStyle,
         CellStyle bodyStyle
     ) {
-        return new ColumnInfo(fieldName, headerName, columnType, headerStyle, bodyStyle);
+        return new ColumnInfo(fieldName, headerName, columnType, accessor, headerStyle,
+            bodyStyle);
     }
 
 
@@ -87,6 +96,11 @@ public class ColumnInfo {
     }
 
 
+    public FieldAccessor getAccessor() {
+        return accessor;
+    }
+
+
     public CellStyle getHeaderStyle() {
         return headerStyle;
     }
@@ -0,0 +1,174 @@
+package io.github.hee9841.excel.core.meta;
+
+import io.github.hee9841.excel.core.writer.ExcelRowWriter;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+
+/**
+ * Immutable, column index ordered plan of the columns mapped from a DTO class.
+ *
+ * <p>The plan stores the mapped columns as parallel arrays, so exporters can walk every column
+ * of a row with a plain {@code int} position instead of iterating and looking up a map of
+ * {@link ColumnInfo} per cell. A position is the order of the column in the plan (from 0 to
+ * {@link #size()} - 1), while the column index is the index of the column in the sheet.</p>
+ *
+ * <p>When an {@link ExcelRowWriter} was generated for the DTO class, the plan also stores the
+ * writer slot of each column it can read, and {@link #writeCell(Object, int, Cell)} uses the
+ * writer instead of the reflective {@link FieldAccessor}.</p>
+ *
+ * @see ColumnInfoMapper#plan()
+ * @see ColumnInfo
+ */
+public final class ColumnPlan {
+
+    /**
+     * Slot value of the columns that are not read by the generated writer
+     */
+    private static final int NO_SLOT = -1;
+
+    private final int[] columnIndexes;
+    private final String[] fieldNames;
+    private final String[] headerNames;
+    private final ColumnDataType[] columnTypes;
+    private final FieldAccessor[] accessors;
+    private final CellStyle[] headerStyles;
+    private final CellStyle[] bodyStyles;
+
+    /**
+     * The writer generated for the DTO class, or null if no writer was generated
+     */
+    private final ExcelRowWriter<Object> rowWriter;
+    /**
+     * Writer slot of each column, or {@link #NO_SLOT} for the columns read by the accessor
+     */
+    private final int[] writerSlots;
+
+
+    @SuppressWarnings("unchecked")
+    private ColumnPlan(Map<Integer, ColumnInfo> columns, Class<?> type,
+        ExcelRowWriter<?> rowWriter) {
+        int size = columns.size();
+        this.columnIndexes = new int[size];
+        this.fieldNames = new String[size];
+        this.headerNames = new String[size];
+        this.columnTypes = new ColumnDataType[size];
+        this.accessors = new FieldAccessor[size];
+        this.headerStyles = new CellStyle[size];
+        this.bodyStyles = new CellStyle[size];
+        this.rowWriter = (ExcelRowWriter<Object>) rowWriter;
+        this.writerSlots = new int[size];
+
+        int position = 0;
+        for (Map.Entry<Integer, ColumnInfo> entry : new TreeMap<>(columns).entrySet()) {
+            ColumnInfo columnInfo = entry.getValue();
+            columnIndexes[position] = entry.getKey();
+            fieldNames[position] = columnInfo.getFieldName();
+            headerNames[position] = columnInfo.getHeaderName();
+            columnTypes[position] = columnInfo.getColumnType();
+            accessors[position] = columnInfo.getAccessor();
+            headerStyles[position] = columnInfo.getHeaderStyle();
+            bodyStyles[position] = columnInfo.getBodyStyle();
+            writerSlots[position] = findWriterSlot(columnInfo, type);
+            position++;
+        }
+    }
+
+    /**
+     * Factory method to create a new {@link ColumnPlan} instance.
+     *
+     * @param columns   A map of column indices to {@link ColumnInfo} objects
+     * @param type      The DTO class the columns were mapped from
+     * @param rowWriter The writer generated for the DTO class, or null if none
+     * @return A new {@link ColumnPlan} instance ordered by column index
+     */
+    public static ColumnPlan of(Map<Integer, ColumnInfo> columns, Class<?> type,
+        ExcelRowWriter<?> rowWriter) {
+        return new ColumnPlan(columns, type, rowWriter);
+    }
+
+    /**
+     * Finds the writer slot reading the same field as the given column.
+     * Columns whose field is not declared by the DTO class itself (e.g. inherited fields) are
+     * read through their accessor.
+     */
+    private int findWriterSlot(ColumnInfo columnInfo, Class<?> type) {
+        if (rowWriter == null || columnInfo.getAccessor().getDeclaringClass() != type) {
+            return NO_SLOT;
+        }
+
+        int slot = rowWriter.getFieldNames().indexOf(columnInfo.getFieldName());
+        return slot >= 0 ? slot : NO_SLOT;
+    }
+
+    /**
+     * Reads the field of the column at the given position from the data object and sets it to
+     * the cell according to the column data type.
+     *
+     * @param data     The data object to read the field from
+     * @param position The position of the column in this plan
+     * @param cell     The cell to set the value to
+     * @throws io.github.hee9841.excel.exception.ExcelException If the field cannot be read or the
+     *                                                         value cannot be set
+     */
+    public void writeCell(Object data, int position, Cell cell) {
+        int slot = writerSlots[position];
+        if (slot != NO_SLOT) {
+            rowWriter.writeCell(data, slot, columnTypes[position], cell);
+            return;
+        }
+        accessors[position].writeCell(data, columnTypes[position], cell);
+    }
+
+    /**
+     * Reads the field of the column at the given position from the data object, for writers
+     * that serialize cell values without an Apache POI {@link Cell}.
+     * Primitive values are returned boxed.
+     *
+     * @param data     The data object to read the field from
+     * @param position The position of the column in this plan
+     * @return The field value
+     * @throws io.github.hee9841.excel.exception.ExcelException If the field cannot be read
+     */
+    public Object readValue(Object data, int position) {
+        return accessors[position].get(data);
+    }
+
+    /**
+     * Returns the number of columns in this plan.
+     *
+     * @return the number of columns
+     */
+    public int size() {
+        return columnIndexes.length;
+    }
+
+    public int getColumnIndex(int position) {
+        return columnIndexes[position];
+    }
+
+    public String getFieldName(int position) {
+        return fieldNames[position];
+    }
+
+    public String getHeaderName(int position) {
+        return headerNames[position];
+    }
+
+    public ColumnDataType getColumnType(int position) {
+        return columnTypes[position];
+    }
+
+    public FieldAccessor getAccessor(int position) {
+        return accessors[position];
+    }
+
+    public CellStyle getHeaderStyle(int position) {
+        return headerStyles[position];
+    }
+
+    public CellStyle getBodyStyle(int position) {
+        return bodyStyles[position];
+    }
+}
@@ -0,0 +1,372 @@
+package io.github.hee9841.excel.core.meta;
+
+import static io.github.hee9841.excel.global.SystemValues.ALLOWED_FIELD_TYPES;
+import static io.github.hee9841.excel.global.SystemValues.ALLOWED_FIELD_TYPES_STRING;
+
+import io.github.hee9841.excel.annotation.Excel;
+import io.github.hee9841.excel.annotation.ExcelColumn;
+import io.github.hee9841.excel.annotation.ExcelColumnStyle;
+import io.github.hee9841.excel.core.writer.ExcelRowWriter;
+import io.github.hee9841.excel.core.writer.ExcelRowWriters;
+import io.github.hee9841.excel.exception.ExcelException;
+import io.github.hee9841.excel.format.CellFormats;
+import io.github.hee9841.excel.strategy.CellTypeStrategy;
+import io.github.hee9841.excel.strategy.ColumnIndexStrategy;
+import io.github.hee9841.excel.strategy.DataFormatStrategy;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.commons.lang3.reflect.FieldUtils;
+
+/**
+ * Workbook independent schema of a class annotated with {@link Excel}.
+ *
+ * <p>The schema holds everything {@link ColumnInfoMapper} derives from the annotations of the
+ * class alone: the column order, header names, {@link ColumnDataType}s, resolved data format
+ * patterns, style definitions, field accessors and the generated {@link ExcelRowWriter}. It is
+ * parsed once per class and cached with a {@link ClassValue}, so only the
+ * {@link org.apache.poi.ss.usermodel.CellStyle}s have to be created for each workbook.</p>
+ *
+ * <p>A class that fails validation is not cached, and every lookup of it throws the same
+ * {@link ExcelException} again.</p>
+ *
+ * @see ColumnInfoMapper
+ */
+public final class ColumnSchema {
+
+    private static final ClassValue<ColumnSchema> SCHEMAS = new ClassValue<ColumnSchema>() {
+        @Override
+        protected ColumnSchema computeValue(Class<?> type) {
+            return new ColumnSchema(type);
+        }
+    };
+
+    /**
+     * The class type the schema was parsed from
+     */
+    private final Class<?> type;
+    /**
+     * The default style for header cells specified by {@link Excel}
+     */
+    private final ExcelColumnStyle defaultHeaderStyle;
+    /**
+     * The default style for body cells specified by {@link Excel}
+     */
+    private final ExcelColumnStyle defaultBodyStyle;
+    /**
+     * The columns ordered by column index
+     */
+    private final List<Column> columns;
+    /**
+     * The writer generated for the class, or null if no writer was generated
+     */
+    private final ExcelRowWriter<?> rowWriter;
+
+
+    private ColumnSchema(Class<?> type) {
+        this.type = type;
+        validateExcelAnnotation();
+
+        Excel excel = type.getAnnotation(Excel.class);
+        this.defaultHeaderStyle = excel.defaultHeaderStyle();
+        this.defaultBodyStyle = excel.defaultBodyStyle();
+        this.columns = parsingExcelColumns(excel);
+        this.rowWriter = ExcelRowWriters.find(type).orElse(null);
+    }
+
+    /**
+     * Returns the cached schema of the given class, parsing it on the first call.
+     *
+     * @param type The class type annotated with {@link Excel}
+     * @return The schema of the class
+     * @throws ExcelException If the class is not properly annotated or has invalid configuration
+     */
+    public static ColumnSchema of(Class<?> type) {
+        return SCHEMAS.get(type);
+    }
+
+    private void validateExcelAnnotation() {
+        if (type.isInterface()) {
+            throw new ExcelException("The class " + type.getName()
+                + " is interface. You can't annotate interface classes with @Excel");
+        }
+
+        if (Modifier.isAbstract(type.getModifiers())) {
+            throw new ExcelException("The class " + type.getName()
+                + " is abstract. You can't annotate abstract classes with @Excel");
+        }
+
+        if (!type.isAnnotationPresent(Excel.class)) {
+            throw new ExcelException(
+                "Missing the @Excel annotation.", type.getName()
+            );
+        }
+    }
+
+    /**
+     * Parses all fields annotated with {@link ExcelColumn} in the class.
+     *
+     * @param excel The {@link Excel} annotation of the class
+     * @return The columns ordered by column index
+     * @throws ExcelException If no field is annotated, there are duplicate column indices or
+     *                        other validation errors
+     */
+    private List<Column> parsingExcelColumns(Excel excel) {
+        ColumnIndexStrategy columnIndexStrategy = excel.columnIndexStrategy();
+        int autoColumnIndexCnt = 0;
+        Map<Integer, Column> result = new TreeMap<>();
+
+        for (Field field : FieldUtils.getAllFields(type)) {
+            if (!field.isAnnotationPresent(ExcelColumn.class)) {
+                continue;
+            }
+
+            validateField(field);
+
+            ExcelColumn excelColumn = field.getAnnotation(ExcelColumn.class);
+
+            //set column index value
+            int columnIndex = columnIndexStrategy.isFieldOrder()
+                ? autoColumnIndexCnt++
+                : excelColumn.columnIndex();
+            validateColumnIndex(result, columnIndex, field.getName());
+
+            ColumnDataType columnDataType = getcolumnDataType(excel.cellTypeStrategy(),
+                excelColumn.columnCellType(), field.getType(), field.getName());
+
+            result.put(columnIndex, new Column(
+                columnIndex,
+                field.getName(),
+                excelColumn.headerName(),
+                columnDataType,
+                getDataFormatPattern(excel.dataFormatStrategy(), excelColumn.format(),
+                    columnDataType),
+                FieldAccessor.of(field),
+                excelColumn.headerStyle(),
+                excelColumn.bodyStyle()
+            ));
+        }
+
+        if (result.isEmpty()) {
+            throw new ExcelException(
+                String.format("No @ExcelColumn annotations found in class '(%s)'."
+                    + " At least one field must be annotated with @ExcelColumn", type.getName())
+            );
+        }
+        return Collections.unmodifiableList(new ArrayList<>(result.values()));
+    }
+
+    private void validateField(Field field) {
+
+        if (field.getType().isArray()) {
+            throw new ExcelException(
+                String.format("@ExcelColumn cannot be applied to array type: %s",
+                    field.getName()),
+                type.getName()
+            );
+        }
+
+        if (type.isEnum() || type.isPrimitive()) {
+            return;
+        }
+
+        Class<?> fieldType = field.getType();
+        for (Class<?> allowedType : ALLOWED_FIELD_TYPES) {
+            if (allowedType.isAssignableFrom(fieldType)) {
+                return;
+            }
+        }
+        throw new ExcelException(
+            String.format(
+                "%s(%s) Type is %s : @ExcelColumn can only be applied to allowed types(%s).",
+                field.getName(),
+                type.getName(),
+                fieldType.getSimpleName(),
+                ALLOWED_FIELD_TYPES_STRING)
+        );
+    }
+
+    /**
+     * Validates a column index to ensure it's not negative and not already in use.
+     *
+     * @param columns     The columns parsed so far by column index
+     * @param columnIndex The column index to validate
+     * @param fieldName   The name of the field being validated
+     * @throws ExcelException If the column index is negative or already in use
+     */
+    private void validateColumnIndex(Map<Integer, Column> columns, int columnIndex,
+        String fieldName) {
+        //1. Check columnIndex value is negative.
+        if (columnIndex < 0) {
+            throw new ExcelException(String.format(
+                "Invalid column index : The column index of '%s' field is negative or "
+                    + "column index value was not specified when column index strategy is USER_DEFINED.\n"
+                    + "Please Change index value to non-negative or Use 'FIELD_ORDER' strategy."
+                , fieldName),
+                type.getName()
+            );
+        }
+
+        // 2. Check the columnIndex contains in columns
+        if (columns.containsKey(columnIndex)) {
+            throw new ExcelException(String.format(
+                "Invalid column index : Duplicate value(%d) detected in fields (%s, %s)."
+                , columnIndex, fieldName, columns.get(columnIndex).getFieldName()),
+                type.getName()
+            );
+        }
+    }
+
+    /**
+     * Resolves the data format pattern of a column based on the format pattern and
+     * {@link ColumnDataType}.
+     * Applies automatic formatting if the {@link DataFormatStrategy} is
+     * {@link DataFormatStrategy#AUTO_BY_CELL_TYPE} by {@link ColumnDataType}.
+     *
+     * @param dataFormatStrategy The {@link DataFormatStrategy} specified by {@link Excel}
+     * @param pattern            The format pattern specified in the annotation
+     * @param columnDataType     The {@link ColumnDataType}
+     * @return The data format pattern for the column
+     */
+    private String getDataFormatPattern(DataFormatStrategy dataFormatStrategy, String pattern,
+        ColumnDataType columnDataType) {
+        // When dataFormatStrategy is "AUTO" and format pattern is "isNone"(empty or null),
+        // apply auto format pattern.
+        if ((dataFormatStrategy.isAutoByColumnDataType() && CellFormats.isNone(pattern))) {
+            return columnDataType.getDataFormatPattern();
+        }
+
+        // When dataFormatStrategy is "AUTO" and format pattern is not "isNone"
+        // or dataFormatStrategy is "NONE"(format pattern is "isNone" or any value),
+        // apply parameter "pattern" value.
+        return pattern;
+    }
+
+    /**
+     * Determines the appropriate {@link ColumnDataType} for a field based on the column cell type
+     * and the {@link CellTypeStrategy}.
+     *
+     * @param cellTypeStrategy     The {@link CellTypeStrategy} specified by {@link Excel}
+     * @param columnColumnDataType The {@link ColumnDataType} specified in the annotation
+     * @param fieldType            The type of the field
+     * @param fieldName            The name of the field
+     * @return The appropriate {@link ColumnDataType}
+     * @throws ExcelException If the specified {@link ColumnDataType} is not compatible with the
+     *                        field type
+     */
+    private ColumnDataType getcolumnDataType(CellTypeStrategy cellTypeStrategy,
+        ColumnDataType columnColumnDataType, Class<?> fieldType, String fieldName) {
+        // When cell type strategy is AUTO and column cell type is not specified
+        // or when column cell type is AUTO,
+        // the column's cell type is automatically determined based on the field type.
+        if ((cellTypeStrategy.isAuto() && columnColumnDataType.isNone())
+            || columnColumnDataType.isAuto()) {
+            return ColumnDataType.from(fieldType);
+        }
+
+        // When the specified column cell type is not compatible with the field type, throw an exception.
+        if (!columnColumnDataType.equals(
+            ColumnDataType.findMatchingCellType(fieldType, columnColumnDataType))) {
+            throw new ExcelException(String.format(
+                "Invalid cell type : The cell type of '%s' field is not compatible with the specified cell type(%s).",
+                fieldName,
+                columnColumnDataType.name()
+            ), type.getName());
+        }
+
+        return columnColumnDataType;
+    }
+
+    public Class<?> getType() {
+        return type;
+    }
+
+    public ExcelColumnStyle getDefaultHeaderStyle() {
+        return defaultHeaderStyle;
+    }
+
+    public ExcelColumnStyle getDefaultBodyStyle() {
+        return defaultBodyStyle;
+    }
+
+    /**
+     * Returns the columns of the class ordered by column index.
+     *
+     * @return an unmodifiable list of the columns
+     */
+    public List<Column> getColumns() {
+        return columns;
+    }
+
+    public ExcelRowWriter<?> getRowWriter() {
+        return rowWriter;
+    }
+
+    /**
+     * Workbook independent definition of a column mapped from a field annotated with
+     * {@link ExcelColumn}.
+     */
+    public static final class Column {
+
+        private final int columnIndex;
+        private final String fieldName;
+        private final String headerName;
+        private final ColumnDataType columnType;
+        /**
+         * The resolved data format pattern of body cells
+         */
+        private final String dataFormatPattern;
+        private final FieldAccessor accessor;
+        private final ExcelColumnStyle headerStyle;
+        private final ExcelColumnStyle bodyStyle;
+
+        private Column(int columnIndex, String fieldName, String headerName,
+            ColumnDataType columnType, String dataFormatPattern, FieldAccessor accessor,
+            ExcelColumnStyle headerStyle, ExcelColumnStyle bodyStyle) {
+            this.columnIndex = columnIndex;
+            this.fieldName = fieldName;
+            this.headerName = headerName;
+            this.columnType = columnType;
+            this.dataFormatPattern = dataFormatPattern;
+            this.accessor = accessor;
+            this.headerStyle = headerStyle;
+            this.bodyStyle = bodyStyle;
+        }
+
+        public int getColumnIndex() {
+            return columnIndex;
+        }
+
+        public String getFieldName() {
+            return fieldName;
+        }
+
+        public String getHeaderName() {
+            return headerName;
+        }
+
+        public ColumnDataType getColumnType() {
+            return columnType;
+        }
+
+        public String getDataFormatPattern() {
+            return dataFormatPattern;
+        }
+
+        public FieldAccessor getAccessor() {
+            return accessor;
+        }
+
+        public ExcelColumnStyle getHeaderStyle() {
+            return headerStyle;
+        }
+
+        public ExcelColumnStyle getBodyStyle() {
+            return bodyStyle;
+        }
+    }
+}
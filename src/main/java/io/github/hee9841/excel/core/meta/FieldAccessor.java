@@ -0,0 +1,319 @@
+package io.github.hee9841.excel.core.meta;
+
+import io.github.hee9841.excel.exception.ExcelException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Date;
+import org.apache.poi.ss.usermodel.Cell;
+
+/**
+ * Pre-resolved read accessor for a field mapped to an Excel column.
+ * The field is resolved and unreflected into a {@link MethodHandle} once, while the column
+ * information is mapped, so that reading a cell value does not search the class hierarchy again.
+ *
+ * <p>For primitive and {@link Date} fields, the accessor also keeps a getter typed to the field
+ * type, and {@link #writeCell(Object, ColumnDataType, Cell)} passes the value to the matching
+ * {@link ColumnDataType} overload without boxing it. Writers that serialize values without an
+ * Apache POI {@link Cell} read primitive numbers unboxed with {@link #getLong(Object)} and
+ * {@link #getDouble(Object)}, according to {@link #getValueKind()}.</p>
+ *
+ * @see ColumnInfo
+ * @see ColumnInfoMapper
+ */
+public class FieldAccessor {
+
+    /**
+     * The method type every getter handle is adapted to, so it can be invoked exactly
+     */
+    private static final MethodType GETTER_TYPE = MethodType.methodType(Object.class,
+        Object.class);
+
+    /**
+     * Kind of value the typed getter of an accessor returns
+     */
+    public enum ValueKind {
+        /**
+         * An {@code int}, {@code short} or {@code byte} field
+         */
+        INT,
+        /**
+         * A {@code long} field
+         */
+        LONG,
+        /**
+         * A {@code float} field
+         */
+        FLOAT,
+        /**
+         * A {@code double} field
+         */
+        DOUBLE,
+        /**
+         * A {@code boolean} field
+         */
+        BOOLEAN,
+        /**
+         * A {@code char} field
+         */
+        CHAR,
+        /**
+         * A {@link Date} field
+         */
+        DATE,
+        /**
+         * Any other field, read as an object
+         */
+        OBJECT
+    }
+
+    /**
+     * The name of the field this accessor reads
+     */
+    private final String fieldName;
+    /**
+     * The class declaring the field
+     */
+    private final Class<?> declaringClass;
+    /**
+     * The getter handle with type {@code (Object)Object}
+     */
+    private final MethodHandle getter;
+    /**
+     * The getter handle with type {@code (Object)<primitive>} for primitive fields, otherwise
+     * the same handle as {@link #getter}
+     */
+    private final MethodHandle typedGetter;
+    /**
+     * Kind of value {@link #typedGetter} returns
+     */
+    private final ValueKind valueKind;
+
+
+    private FieldAccessor(String fieldName, Class<?> declaringClass, MethodHandle getter,
+        MethodHandle typedGetter, ValueKind valueKind) {
+        this.fieldName = fieldName;
+        this.declaringClass = declaringClass;
+        this.getter = getter;
+        this.typedGetter = typedGetter;
+        this.valueKind = valueKind;
+    }
+
+    /**
+     * Factory method to create a new {@link FieldAccessor} for the given field.
+     * The field is made accessible if it is not already.
+     *
+     * @param field The field to read
+     * @return A new {@link FieldAccessor} instance
+     * @throws ExcelException If the field cannot be unreflected into a getter handle
+     */
+    public static FieldAccessor of(Field field) {
+        try {
+            field.setAccessible(true);
+            MethodHandle fieldGetter = MethodHandles.lookup().unreflectGetter(field);
+            if (Modifier.isStatic(field.getModifiers())) {
+                // A static getter takes no target, so it ignores the object it is invoked with
+                fieldGetter = MethodHandles.dropArguments(fieldGetter, 0, Object.class);
+            }
+            MethodHandle getter = fieldGetter.asType(GETTER_TYPE);
+
+            ValueKind valueKind = getValueKind(field.getType());
+            MethodHandle typedGetter = field.getType().isPrimitive()
+                ? fieldGetter.asType(
+                MethodType.methodType(getTypedReturnType(valueKind), Object.class))
+                : getter;
+
+            return new FieldAccessor(field.getName(), field.getDeclaringClass(), getter,
+                typedGetter, valueKind);
+        } catch (IllegalAccessException | RuntimeException e) {
+            throw new ExcelException(
+                String.format("Failed to create accessor : Access to field %s failed.",
+                    field.getName()), field.getDeclaringClass().getName(), e);
+        }
+    }
+
+    private static ValueKind getValueKind(Class<?> fieldType) {
+        if (fieldType == int.class || fieldType == short.class || fieldType == byte.class) {
+            return ValueKind.INT;
+        }
+        if (fieldType == long.class) {
+            return ValueKind.LONG;
+        }
+        if (fieldType == float.class) {
+            return ValueKind.FLOAT;
+        }
+        if (fieldType == double.class) {
+            return ValueKind.DOUBLE;
+        }
+        if (fieldType == boolean.class) {
+            return ValueKind.BOOLEAN;
+        }
+        if (fieldType == char.class) {
+            return ValueKind.CHAR;
+        }
+        if (Date.class.isAssignableFrom(fieldType)) {
+            return ValueKind.DATE;
+        }
+        return ValueKind.OBJECT;
+    }
+
+    private static Class<?> getTypedReturnType(ValueKind valueKind) {
+        switch (valueKind) {
+            case INT:
+                return int.class;
+            case LONG:
+                return long.class;
+            case FLOAT:
+                return float.class;
+            case DOUBLE:
+                return double.class;
+            case BOOLEAN:
+                return boolean.class;
+            case CHAR:
+                return char.class;
+            default:
+                return Object.class;
+        }
+    }
+
+    /**
+     * Reads the field value from the given object.
+     * Primitive values are returned boxed.
+     *
+     * @param target The object to read the field from
+     * @return The field value
+     * @throws ExcelException If the value cannot be read from the target
+     */
+    public Object get(Object target) {
+        try {
+            return (Object) getter.invokeExact(target);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw readFailure(target, e);
+        }
+    }
+
+    /**
+     * Reads the value of an {@link ValueKind#INT} or {@link ValueKind#LONG} field from the given
+     * object without boxing it.
+     *
+     * @param target The object to read the field from
+     * @return The field value
+     * @throws ExcelException If the field is not an integral primitive or the value cannot be read
+     *                        from the target
+     */
+    public long getLong(Object target) {
+        try {
+            switch (valueKind) {
+                case INT:
+                    return (int) typedGetter.invokeExact(target);
+                case LONG:
+                    return (long) typedGetter.invokeExact(target);
+                default:
+                    throw new ExcelException(
+                        String.format("The field %s is not an integral primitive.", fieldName));
+            }
+        } catch (ExcelException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw readFailure(target, e);
+        }
+    }
+
+    /**
+     * Reads the value of a {@link ValueKind#FLOAT} or {@link ValueKind#DOUBLE} field from the
+     * given object without boxing it. Float values are widened to double.
+     *
+     * @param target The object to read the field from
+     * @return The field value
+     * @throws ExcelException If the field is not a floating-point primitive or the value cannot be
+     *                        read from the target
+     */
+    public double getDouble(Object target) {
+        try {
+            switch (valueKind) {
+                case FLOAT:
+                    return (float) typedGetter.invokeExact(target);
+                case DOUBLE:
+                    return (double) typedGetter.invokeExact(target);
+                default:
+                    throw new ExcelException(String.format(
+                        "The field %s is not a floating-point primitive.", fieldName));
+            }
+        } catch (ExcelException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw readFailure(target, e);
+        }
+    }
+
+    /**
+     * Reads the field value from the given object and sets it to the cell according to the
+     * column data type. Primitive values are passed to the primitive overloads of
+     * {@link ColumnDataType} without boxing.
+     *
+     * @param target     The object to read the field from
+     * @param columnType The column data type used to set the cell value
+     * @param cell       The cell to set the value to
+     * @throws ExcelException If the value cannot be read from the target or set to the cell
+     */
+    public void writeCell(Object target, ColumnDataType columnType, Cell cell) {
+        try {
+            switch (valueKind) {
+                case INT:
+                    columnType.setCellValueByCellType(cell, (int) typedGetter.invokeExact(target));
+                    return;
+                case LONG:
+                    columnType.setCellValueByCellType(cell, (long) typedGetter.invokeExact(target));
+                    return;
+                case FLOAT:
+                    columnType.setCellValueByCellType(cell,
+                        (float) typedGetter.invokeExact(target));
+                    return;
+                case DOUBLE:
+                    columnType.setCellValueByCellType(cell,
+                        (double) typedGetter.invokeExact(target));
+                    return;
+                case BOOLEAN:
+                    columnType.setCellValueByCellType(cell,
+                        (boolean) typedGetter.invokeExact(target));
+                    return;
+                case CHAR:
+                    columnType.setCellValueByCellType(cell, (char) typedGetter.invokeExact(target));
+                    return;
+                case DATE:
+                    columnType.setCellValueByCellType(cell,
+                        (Date) (Object) typedGetter.invokeExact(target));
+                    return;
+                default:
+                    columnType.setCellValueByCellType(cell,
+                        (Object) typedGetter.invokeExact(target));
+            }
+        } catch (ExcelException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw readFailure(target, e);
+        }
+    }
+
+    private ExcelException readFailure(Object target, Throwable cause) {
+        return new ExcelException(
+            String.format("Failed to read field %s from %s.", fieldName,
+                target == null ? null : target.getClass().getName()), cause);
+    }
+
+    public ValueKind getValueKind() {
+        return valueKind;
+    }
+
+    public String getFieldName() {
+        return fieldName;
+    }
+
+    public Class<?> getDeclaringClass() {
+        return declaringClass;
+    }
+}
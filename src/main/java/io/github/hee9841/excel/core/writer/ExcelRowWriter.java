@@ -0,0 +1,42 @@
+package io.github.hee9841.excel.core.writer;
+
+import io.github.hee9841.excel.core.meta.ColumnDataType;
+import java.util.List;
+import org.apache.poi.ss.usermodel.Cell;
+
+/**
+ * Writes the {@code @ExcelColumn} field values of a DTO into cells without reflection.
+ *
+ * <p>Implementations are generated at compile time by
+ * {@link io.github.hee9841.excel.annotation.processor.ExcelAnnotationProcessor} for every class
+ * annotated with {@code @Excel} with at least one non-private {@code @ExcelColumn} field. The
+ * generated class is named after the DTO with the
+ * {@value ExcelRowWriters#WRITER_CLASS_SUFFIX} suffix and is picked up automatically by the
+ * exporters through {@link ExcelRowWriters#find(Class)}.</p>
+ *
+ * <p>Each column of the DTO is addressed by a slot, which is the position of its field name in
+ * {@link #getFieldNames()}. Private fields have no slot and are read reflectively.</p>
+ *
+ * @param <T> The type of the DTO this writer reads
+ * @see ExcelRowWriters
+ */
+public interface ExcelRowWriter<T> {
+
+    /**
+     * Returns the names of the fields this writer can read, in slot order.
+     *
+     * @return The field names, where the index of a name is the slot of that column
+     */
+    List<String> getFieldNames();
+
+    /**
+     * Reads the field of the given slot from the data object and sets it to the cell according to
+     * the column data type.
+     *
+     * @param data       The data object to read the field from
+     * @param slot       The slot of the field to read
+     * @param columnType The column data type used to set the cell value
+     * @param cell       The cell to set the value to
+     */
+    void writeCell(T data, int slot, ColumnDataType columnType, Cell cell);
+}
@@ -0,0 +1,88 @@
+package io.github.hee9841.excel.core.writer;
+
+import io.github.hee9841.excel.exception.ExcelException;
+import java.lang.reflect.InvocationTargetException;
+import java.util.Optional;
+
+/**
+ * Utility class for locating the {@link ExcelRowWriter} generated for a DTO class.
+ *
+ * <p>The generated writer lives in the package of the DTO and is named after the binary name of
+ * the DTO with the {@value #WRITER_CLASS_SUFFIX} suffix appended. Underscores and nested class
+ * separators ({@code $}) are escaped as in JNI names, {@code _1} and {@code _00024}, so distinct
+ * classes such as {@code Report$LineDto} and {@code Report_LineDto} get distinct writers.</p>
+ *
+ * <pre>
+ * com.acme.OrderDto         -&gt; com.acme.OrderDtoExcelWriter
+ * com.acme.Report$LineDto   -&gt; com.acme.Report_00024LineDtoExcelWriter
+ * com.acme.Report_LineDto   -&gt; com.acme.Report_1LineDtoExcelWriter
+ * </pre>
+ *
+ * @see ExcelRowWriter
+ */
+public class ExcelRowWriters {
+
+    /**
+     * The suffix appended to the DTO class name to build the generated writer class name
+     */
+    public static final String WRITER_CLASS_SUFFIX = "ExcelWriter";
+
+    private ExcelRowWriters() {
+    }
+
+    /**
+     * Returns the fully qualified name of the writer class generated for the given binary name.
+     *
+     * @param binaryName The binary name of the DTO class (e.g. {@code com.acme.Report$LineDto})
+     * @return The fully qualified name of the generated writer class
+     */
+    public static String writerClassName(String binaryName) {
+        int packageEnd = binaryName.lastIndexOf('.');
+        String packagePrefix = binaryName.substring(0, packageEnd + 1);
+        String simpleName = binaryName.substring(packageEnd + 1)
+            .replace("_", "_1")
+            .replace("$", "_00024");
+        return packagePrefix + simpleName + WRITER_CLASS_SUFFIX;
+    }
+
+    /**
+     * Finds and instantiates the writer generated for the given DTO class.
+     *
+     * @param <T>  The type of the DTO
+     * @param type The DTO class
+     * @return An Optional containing the generated writer, or an empty Optional if no writer was
+     * generated for the class
+     * @throws ExcelException If the generated writer exists but cannot be loaded, e.g. when it was
+     *                        compiled against another version of {@link ExcelRowWriter}, or
+     *                        cannot be instantiated
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Optional<ExcelRowWriter<T>> find(Class<T> type) {
+        String writerClassName = writerClassName(type.getName());
+        Class<?> writerClass;
+        try {
+            writerClass = Class.forName(writerClassName, true, type.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            return Optional.empty();
+        } catch (LinkageError e) {
+            throw new ExcelException(
+                String.format("Failed to load generated writer class of '%s'.", writerClassName),
+                type.getName(), e);
+        }
+
+        if (!ExcelRowWriter.class.isAssignableFrom(writerClass)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(
+                (ExcelRowWriter<T>) writerClass.getDeclaredConstructor().newInstance());
+        } catch (NoSuchMethodException | IllegalAccessException |
+                 InstantiationException | InvocationTargetException e
+        ) {
+            throw new ExcelException(
+                String.format("Failed to instantiate generated writer class of '%s'.",
+                    writerClassName), type.getName(), e);
+        }
+    }
+}
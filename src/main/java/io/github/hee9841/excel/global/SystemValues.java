@@ -1,5 +1,7 @@
 package io.github.hee9841.excel.global;
 
+import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Arrays;
@@ -23,6 +25,7 @@ public class SystemValues {
             Long.class, long.class,
             Float.class, float.class,
             Double.class, double.class,
+            BigDecimal.class, BigInteger.class,
 
             // boolean
             Boolean.class, boolean.class,
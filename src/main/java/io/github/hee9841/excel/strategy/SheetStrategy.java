@@ -20,6 +20,9 @@ import org.apache.commons.compress.archivers.zip.Zip64Mode;
  *   <li>{@code MULTI_SHEET}: Uses {@code Always} mode, which always enables Zip64 extensions for better
  *       handling of multiple sheets</li>
  * </ul>
+ * <p>
+ * The mode of the strategy is the initial mode of the workbook. When the sheets are written from
+ * temporary files, {@code DefaultExcelExporter} chooses the mode again from their size.
  *
  * @see org.apache.commons.compress.archivers.zip.Zip64Mode
  * @see io.github.hee9841.excel.annotation.Excel
@@ -12,6 +12,9 @@ import org.apache.poi.ss.usermodel.CellStyle;
  * <p>Subclasses need to implement the {@link #configure(ExcelCellStyleConfigurer)} method
  * to define specific style configurations (colors, borders, alignment, etc.).</p>
  *
+ * <p>A style class is instantiated once and the instance is shared by every export that uses it,
+ * so {@link #configure(ExcelCellStyleConfigurer)} should only depend on constant values.</p>
+ *
  * @see io.github.hee9841.excel.style.ExcelCellStyle
  * @see io.github.hee9841.excel.style.configurer.ExcelCellStyleConfigurer
  */
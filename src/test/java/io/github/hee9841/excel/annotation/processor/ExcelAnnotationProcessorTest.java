@@ -0,0 +1,264 @@
+package io.github.hee9841.excel.annotation.processor;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.hee9841.excel.core.exporter.DefaultExcelExporter;
+import io.github.hee9841.excel.core.meta.ColumnDataType;
+import io.github.hee9841.excel.core.writer.ExcelRowWriter;
+import io.github.hee9841.excel.core.writer.ExcelRowWriters;
+import io.github.hee9841.excel.exception.ExcelException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class ExcelAnnotationProcessorTest {
+
+    @TempDir
+    Path tempDir;
+
+    @DisplayName("@Excel 클래스의 private이 아닌 필드를 직접 읽는 row writer를 생성하고, private 필드는 getter 대신 필드 값을 쓴다.")
+    @Test
+    void generateRowWriter_andExportWithIt() throws Exception {
+        //given
+        String source = "package sample;\n"
+            + "import io.github.hee9841.excel.annotation.Excel;\n"
+            + "import io.github.hee9841.excel.annotation.ExcelColumn;\n"
+            + "import io.github.hee9841.excel.strategy.CellTypeStrategy;\n"
+            + "@Excel(cellTypeStrategy = CellTypeStrategy.AUTO)\n"
+            + "public class OrderDto {\n"
+            + "    @ExcelColumn(headerName = \"name\")\n"
+            + "    private String name;\n"
+            + "    @ExcelColumn(headerName = \"amount\")\n"
+            + "    long amount;\n"
+            + "    @ExcelColumn(headerName = \"paid\")\n"
+            + "    private boolean paid;\n"
+            + "    public OrderDto(String name, long amount, boolean paid) {\n"
+            + "        this.name = name; this.amount = amount; this.paid = paid;\n"
+            + "    }\n"
+            + "    public String getName() { return \"masked\"; }\n"
+            + "    public boolean isPaid() { return paid; }\n"
+            + "}\n";
+
+        //when
+        ClassLoader classLoader = compile("sample/OrderDto.java", source);
+
+        //then
+        assertTrue(Files.exists(tempDir.resolve("src/sample/OrderDtoExcelWriter.java")));
+
+        Class<?> dtoClass = classLoader.loadClass("sample.OrderDto");
+        Optional<? extends ExcelRowWriter<?>> writer = ExcelRowWriters.find(dtoClass);
+        assertTrue(writer.isPresent());
+        assertEquals(Collections.singletonList("amount"), writer.get().getFieldNames());
+
+        Object dto = dtoClass.getConstructor(String.class, long.class, boolean.class)
+            .newInstance("order", 1500L, true);
+        try (Workbook workbook = WorkbookFactory.create(
+            new ByteArrayInputStream(export(dtoClass, dto)))) {
+            Row row = workbook.getSheetAt(0).getRow(1);
+            assertEquals("order", row.getCell(0).getStringCellValue());
+            assertEquals(1500d, row.getCell(1).getNumericCellValue());
+            assertTrue(row.getCell(2).getBooleanCellValue());
+        }
+    }
+
+    @DisplayName("중첩 클래스와 밑줄 이름의 클래스에 서로 다른 row writer를 생성하고, 타입별 setter로 값을 쓴다.")
+    @Test
+    void generateRowWriter_forNestedClassWithTypedSetters() throws Exception {
+        //given
+        String nestedSource = "package sample;\n"
+            + "import io.github.hee9841.excel.annotation.Excel;\n"
+            + "import io.github.hee9841.excel.annotation.ExcelColumn;\n"
+            + "import io.github.hee9841.excel.strategy.CellTypeStrategy;\n"
+            + "import java.time.LocalDate;\n"
+            + "public class Report {\n"
+            + "    public enum Grade { HIGH }\n"
+            + "    @Excel(cellTypeStrategy = CellTypeStrategy.AUTO)\n"
+            + "    public static class LineDto {\n"
+            + "        @ExcelColumn(headerName = \"count\")\n"
+            + "        Integer count;\n"
+            + "        @ExcelColumn(headerName = \"rate\")\n"
+            + "        float rate;\n"
+            + "        @ExcelColumn(headerName = \"day\")\n"
+            + "        LocalDate day;\n"
+            + "        @ExcelColumn(headerName = \"grade\")\n"
+            + "        Grade grade;\n"
+            + "        public LineDto(Integer count, float rate, LocalDate day, Grade grade) {\n"
+            + "            this.count = count; this.rate = rate; this.day = day;\n"
+            + "            this.grade = grade;\n"
+            + "        }\n"
+            + "    }\n"
+            + "}\n";
+        String underscoreSource = "package sample;\n"
+            + "import io.github.hee9841.excel.annotation.Excel;\n"
+            + "import io.github.hee9841.excel.annotation.ExcelColumn;\n"
+            + "@Excel\n"
+            + "public class Report_LineDto {\n"
+            + "    @ExcelColumn(headerName = \"label\")\n"
+            + "    String label;\n"
+            + "}\n";
+
+        //when
+        ClassLoader classLoader = compile("sample/Report.java", nestedSource,
+            "sample/Report_LineDto.java", underscoreSource);
+
+        //then
+        Path nestedWriter = tempDir.resolve("src/sample/Report_00024LineDtoExcelWriter.java");
+        assertTrue(Files.exists(nestedWriter));
+        assertTrue(Files.exists(tempDir.resolve("src/sample/Report_1LineDtoExcelWriter.java")));
+        assertTrue(new String(Files.readAllBytes(nestedWriter), StandardCharsets.UTF_8)
+            .contains("cell.setCellValue(Double.parseDouble(Float.toString(value)));"));
+
+        Class<?> dtoClass = classLoader.loadClass("sample.Report$LineDto");
+        Class<?> gradeClass = classLoader.loadClass("sample.Report$Grade");
+        assertEquals(Arrays.asList("count", "rate", "day", "grade"),
+            ExcelRowWriters.find(dtoClass).get().getFieldNames());
+        assertEquals(Collections.singletonList("label"), ExcelRowWriters
+            .find(classLoader.loadClass("sample.Report_LineDto")).get().getFieldNames());
+
+        Object dto = dtoClass.getConstructor(Integer.class, float.class, LocalDate.class,
+                gradeClass)
+            .newInstance(null, 1.1f, LocalDate.of(2024, 5, 6), gradeClass.getEnumConstants()[0]);
+        try (Workbook workbook = WorkbookFactory.create(
+            new ByteArrayInputStream(export(dtoClass, dto)))) {
+            Row row = workbook.getSheetAt(0).getRow(1);
+            assertEquals("", row.getCell(0).getStringCellValue());
+            assertEquals(1.1d, row.getCell(1).getNumericCellValue());
+            assertEquals(LocalDate.of(2024, 5, 6).atStartOfDay(),
+                row.getCell(2).getLocalDateTimeCellValue());
+            assertEquals("HIGH", row.getCell(3).getStringCellValue());
+        }
+    }
+
+    @DisplayName("Number 타입 값은 Float인 경우 reflection과 같이 float의 10진 표현으로 쓴다.")
+    @Test
+    void numberSetter_keepsFloatRepresentation() {
+        //when
+        String setter = ExcelRowWriterGenerator.getConcreteSetter("java.lang.Number",
+            ColumnDataType.NUMBER);
+
+        //then
+        assertEquals("cell.setCellValue(value instanceof Float\n"
+            + "    ? Double.parseDouble(value.toString())\n"
+            + "    : value.doubleValue());", setter);
+    }
+
+    @DisplayName("모든 컬럼이 private 필드이면 row writer를 생성하지 않는다.")
+    @Test
+    void privateFieldWithoutGetter_notGenerated() throws Exception {
+        //given
+        String source = "package sample;\n"
+            + "import io.github.hee9841.excel.annotation.Excel;\n"
+            + "import io.github.hee9841.excel.annotation.ExcelColumn;\n"
+            + "@Excel\n"
+            + "public class HiddenDto {\n"
+            + "    @ExcelColumn(headerName = \"name\")\n"
+            + "    private String name;\n"
+            + "    public String getName() { return name; }\n"
+            + "}\n";
+
+        //when
+        ClassLoader classLoader = compile("sample/HiddenDto.java", source);
+
+        //then
+        assertFalse(Files.exists(tempDir.resolve("src/sample/HiddenDtoExcelWriter.java")));
+        assertFalse(ExcelRowWriters.find(classLoader.loadClass("sample.HiddenDto")).isPresent());
+    }
+
+    @DisplayName("생성된 row writer를 로드할 수 없으면 reflection으로 대체하지 않고 예외를 발생한다.")
+    @Test
+    void brokenRowWriter_throwException() throws Exception {
+        //given
+        String dtoSource = "package sample;\n"
+            + "import io.github.hee9841.excel.annotation.Excel;\n"
+            + "import io.github.hee9841.excel.annotation.ExcelColumn;\n"
+            + "@Excel\n"
+            + "public class BrokenDto {\n"
+            + "    @ExcelColumn(headerName = \"name\")\n"
+            + "    private String name;\n"
+            + "}\n";
+        String writerSource = "package sample;\n"
+            + "public class BrokenDtoExcelWriter {\n"
+            + "    static {\n"
+            + "        if (true) {\n"
+            + "            throw new IllegalStateException(\"stale writer\");\n"
+            + "        }\n"
+            + "    }\n"
+            + "}\n";
+        ClassLoader classLoader = compile("sample/BrokenDto.java", dtoSource,
+            "sample/BrokenDtoExcelWriter.java", writerSource);
+        Class<?> dtoClass = classLoader.loadClass("sample.BrokenDto");
+
+        //when
+        ExcelException exception = assertThrows(ExcelException.class,
+            () -> ExcelRowWriters.find(dtoClass));
+
+        //then
+        assertTrue(exception.getMessage().contains("Failed to load generated writer class"));
+    }
+
+    /**
+     * Compiles the given sources with the processor.
+     *
+     * @param fileNamesAndSources the file name and source of each compilation unit, in pairs
+     */
+    private ClassLoader compile(String... fileNamesAndSources) throws IOException {
+        Path sourceOut = Files.createDirectories(tempDir.resolve("src"));
+        Path classOut = Files.createDirectories(tempDir.resolve("classes"));
+        List<File> sourceFiles = new ArrayList<>();
+        for (int i = 0; i < fileNamesAndSources.length; i += 2) {
+            Path sourceFile = tempDir.resolve(fileNamesAndSources[i]);
+            Files.createDirectories(sourceFile.getParent());
+            Files.write(sourceFile, fileNamesAndSources[i + 1].getBytes(StandardCharsets.UTF_8));
+            sourceFiles.add(sourceFile.toFile());
+        }
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null,
+            StandardCharsets.UTF_8)) {
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromFiles(
+                sourceFiles);
+            List<String> options = Arrays.asList(
+                "-classpath", System.getProperty("java.class.path"),
+                "-s", sourceOut.toString(),
+                "-d", classOut.toString());
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, null,
+                options, null, units);
+            task.setProcessors(Collections.singletonList(new ExcelAnnotationProcessor()));
+            assertTrue(task.call());
+        }
+        return new URLClassLoader(new URL[]{classOut.toUri().toURL()},
+            getClass().getClassLoader());
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> byte[] export(Class<T> type, Object dto) throws IOException {
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        DefaultExcelExporter.builder(type, Collections.singletonList((T) dto)).build().write(os);
+        return os.toByteArray();
+    }
+}
@@ -0,0 +1,212 @@
+package io.github.hee9841.excel.core.exporter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.hee9841.excel.annotation.Excel;
+import io.github.hee9841.excel.annotation.ExcelColumn;
+import io.github.hee9841.excel.core.meta.ColumnDataType;
+import io.github.hee9841.excel.exception.ExcelException;
+import io.github.hee9841.excel.format.CellFormats;
+import io.github.hee9841.excel.strategy.CellTypeStrategy;
+import io.github.hee9841.excel.strategy.ColumnIndexStrategy;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CsvExporter 테스트")
+class CsvExporterTest {
+
+    @DisplayName("column 순서, header 이름, data format으로 CSV를 작성한다.")
+    @Test
+    void writeColumnsWithHeaderAndFormat() throws IOException {
+        // given
+        List<CsvDto> data = Arrays.asList(
+            new CsvDto("plain", 1234567, 0.5, true, Grade.GOLD, "SUM(A1:A2)"),
+            new CsvDto("a,b \"c\"\nd", -1, 12345678901.25, null, null, null)
+        );
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+        // when
+        CsvExporter.builder(CsvDto.class, data).build().write(os);
+
+        // then
+        assertEquals(
+            "이름,번호,,비율,사용,등급,합계,일자,일시\r\n"
+                + "plain,\"1,234,567\",,0.5,true,GOLD,=SUM(A1:A2),2024-02-29,2024-02-29 13:30:15\r\n"
+                + "\"a,b \"\"c\"\"\nd\",-1,,12345678901.25,,,,2024-02-29,2024-02-29 13:30:15\r\n",
+            os.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @DisplayName("구분자, header 생략, 추가한 행을 적용한다.")
+    @Test
+    void writeWithDelimiterWithoutHeader() throws IOException {
+        // given
+        Stream<CsvDto> data = Stream.of(new CsvDto("a;b", 1, 1, false, null, null));
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+        // when
+        CsvExporter<CsvDto> exporter = CsvExporter.builder(CsvDto.class, data)
+            .delimiter(';')
+            .header(false)
+            .build();
+        exporter.addRows(Collections.singletonList(new CsvDto("c", 2, 2, true, null, null)));
+        exporter.write(os);
+
+        // then
+        assertEquals(
+            "\"a;b\";1;;1;false;;;2024-02-29;2024-02-29 13:30:15\r\n"
+                + "c;2;;2;true;;;2024-02-29;2024-02-29 13:30:15\r\n",
+            os.toString(StandardCharsets.UTF_8.name()));
+        assertThrows(ExcelException.class, () -> exporter.write(new ByteArrayOutputStream()));
+    }
+
+    @DisplayName("따옴표나 줄바꿈 구분자는 예외를 발생한다.")
+    @Test
+    void throwExceptionWhenInvalidDelimiter() {
+        CsvExporterBuilder<CsvDto> builder = CsvExporter.builder(CsvDto.class,
+            Collections.emptyList());
+
+        assertThrows(ExcelException.class, () -> builder.delimiter('"'));
+        assertThrows(ExcelException.class, () -> builder.delimiter('\n'));
+    }
+
+    @DisplayName("primitive 숫자 필드를 boxing 없이 작성한다.")
+    @Test
+    void writePrimitiveNumbers() throws IOException {
+        // given
+        List<PrimitiveDto> data = Arrays.asList(
+            new PrimitiveDto(0, Long.MIN_VALUE, 0.1f, 1e20),
+            new PrimitiveDto(-42, Long.MAX_VALUE, -3f, -0.25)
+        );
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        ByteArrayOutputStream dashSeparated = new ByteArrayOutputStream();
+
+        // when
+        CsvExporter.builder(PrimitiveDto.class, data).header(false).build().write(os);
+        CsvExporter.builder(PrimitiveDto.class, data).header(false).delimiter('-').build()
+            .write(dashSeparated);
+
+        // then
+        assertEquals(
+            "0,-9223372036854775808,0.1,100000000000000000000\r\n"
+                + "-42,9223372036854775807,-3,-0.25\r\n",
+            os.toString(StandardCharsets.UTF_8.name()));
+        assertEquals(
+            "0-\"-9223372036854775808\"-0.1-100000000000000000000\r\n"
+                + "\"-42\"-9223372036854775807-\"-3\"-\"-0.25\"\r\n",
+            dashSeparated.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    @DisplayName("BigDecimal과 BigInteger 값은 모든 자릿수를 그대로 작성한다.")
+    @Test
+    void writeBigNumbersWithAllDigits() throws IOException {
+        // given
+        List<BigNumberDto> data = Collections.singletonList(new BigNumberDto(
+            new BigDecimal("12345678901234567890.0123456789"),
+            new BigInteger("123456789012345678901234567890")));
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+        // when
+        CsvExporter.builder(BigNumberDto.class, data).build().write(os);
+
+        // then
+        assertEquals(
+            "decimal,integer\r\n"
+                + "12345678901234567890.0123456789,123456789012345678901234567890\r\n",
+            os.toString(StandardCharsets.UTF_8.name()));
+    }
+
+    enum Grade {
+        GOLD
+    }
+
+    @Excel(cellTypeStrategy = CellTypeStrategy.AUTO)
+    static class PrimitiveDto {
+
+        @ExcelColumn(headerName = "int")
+        private final int intValue;
+
+        @ExcelColumn(headerName = "long")
+        private final long longValue;
+
+        @ExcelColumn(headerName = "float")
+        private final float floatValue;
+
+        @ExcelColumn(headerName = "double")
+        private final double doubleValue;
+
+        PrimitiveDto(int intValue, long longValue, float floatValue, double doubleValue) {
+            this.intValue = intValue;
+            this.longValue = longValue;
+            this.floatValue = floatValue;
+            this.doubleValue = doubleValue;
+        }
+    }
+
+    @Excel(cellTypeStrategy = CellTypeStrategy.AUTO,
+        columnIndexStrategy = ColumnIndexStrategy.USER_DEFINED)
+    static class CsvDto {
+
+        @ExcelColumn(headerName = "이름", columnIndex = 0)
+        private final String name;
+
+        @ExcelColumn(headerName = "번호", columnIndex = 1,
+            format = CellFormats.THOUSAND_SEPARATED_NUMBER_FORMAT)
+        private final int number;
+
+        @ExcelColumn(headerName = "비율", columnIndex = 3)
+        private final double ratio;
+
+        @ExcelColumn(headerName = "사용", columnIndex = 4)
+        private final Boolean enabled;
+
+        @ExcelColumn(headerName = "등급", columnIndex = 5)
+        private final Grade grade;
+
+        @ExcelColumn(headerName = "합계", columnIndex = 6,
+            columnCellType = ColumnDataType.FORMULA)
+        private final String formula;
+
+        @ExcelColumn(headerName = "일자", columnIndex = 7)
+        private final LocalDate localDate = LocalDate.of(2024, 2, 29);
+
+        @ExcelColumn(headerName = "일시", columnIndex = 8)
+        private final LocalDateTime localDateTime = LocalDateTime.of(2024, 2, 29, 13, 30, 15);
+
+        CsvDto(String name, int number, double ratio, Boolean enabled, Grade grade,
+            String formula) {
+            this.name = name;
+            this.number = number;
+            this.ratio = ratio;
+            this.enabled = enabled;
+            this.grade = grade;
+            this.formula = formula;
+        }
+    }
+
+    @Excel(cellTypeStrategy = CellTypeStrategy.AUTO)
+    static class BigNumberDto {
+
+        @ExcelColumn(headerName = "decimal")
+        private final BigDecimal decimal;
+
+        @ExcelColumn(headerName = "integer")
+        private final BigInteger integer;
+
+        BigNumberDto(BigDecimal decimal, BigInteger integer) {
+            this.decimal = decimal;
+            this.integer = integer;
+        }
+    }
+}
@@ -1,6 +1,8 @@
 package io.github.hee9841.excel.core.exporter;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -28,10 +30,34 @@ import io.github.hee9841.excel.style.configurer.ExcelCellStyleConfigurer;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import junit.log.MemoryAppender;
+import org.apache.commons.compress.archivers.zip.Zip64ExtendedInformationExtraField;
+import org.apache.commons.compress.archivers.zip.Zip64Mode;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveInputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.commons.compress.archivers.zip.ZipShort;
+import org.apache.commons.compress.utils.SeekableInMemoryByteChannel;
+import org.apache.commons.io.IOUtils;
 import org.apache.poi.ss.usermodel.BorderStyle;
 import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.CellStyle;
@@ -49,6 +75,9 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
 import org.slf4j.LoggerFactory;
 
 
@@ -137,7 +166,7 @@ class DefaultExcelExporterByteOutputStreamTest {
         exporter.write(os);
 
         //then
-        assertEquals(8, memoryAppender.getSize());
+        assertEquals(9, memoryAppender.getSize());
         assertTrue(memoryAppender.isPresent(0,
             "Set sheet strategy and Zip64Mode - strategy: MULTI_SHEET, Zip64Mode: Always.",
             Level.DEBUG));
@@ -147,7 +176,42 @@ class DefaultExcelExporterByteOutputStreamTest {
         assertTrue(memoryAppender.isPresent(4, "Add rows data - row:1", Level.DEBUG));
         assertTrue(memoryAppender.isPresent(5, "Add rows data - row:2", Level.DEBUG));
         assertTrue(memoryAppender.isPresent(6, "Start to write Excel file", Level.INFO));
-        assertTrue(memoryAppender.isPresent(7, "Successfully wrote Excel", Level.INFO));
+        assertTrue(memoryAppender.isPresent(7,
+            "Set Zip64Mode from sheet size - rows: 3", Level.DEBUG));
+        assertTrue(memoryAppender.isPresent(8, "Successfully wrote Excel", Level.INFO));
+    }
+
+    @DisplayName("multi sheet: 작은 엑셀 파일은 Zip64 없이 생성한다.")
+    @Test
+    void writeSmallMultiSheetFileWithoutZip64() throws IOException {
+        // given
+        List<TestDto> data = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            data.add(new TestDto("test" + (i + 1), i + 1));
+        }
+
+        // when
+        DefaultExcelExporter.builder(TestDto.class, data)
+            .maxRows(10)
+            .build()
+            .write(os);
+
+        // then
+        int entries = 0;
+        ZipShort zip64HeaderId = new Zip64ExtendedInformationExtraField().getHeaderId();
+        try (ZipArchiveInputStream zip = new ZipArchiveInputStream(
+            new ByteArrayInputStream(os.toByteArray()))) {
+            ZipArchiveEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                assertNull(entry.getExtraField(zip64HeaderId));
+                entries++;
+            }
+        }
+        assertTrue(entries > 3);
+        assertTrue(memoryAppender.isPresent(
+            "Set Zip64Mode from sheet size - rows: 28", Level.DEBUG));
+        assertTrue(memoryAppender.isPresent("shared strings: 0 bytes, Zip64Mode: AsNeeded.",
+            Level.DEBUG));
     }
 
 
@@ -175,7 +239,7 @@ class DefaultExcelExporterByteOutputStreamTest {
             assertNull(sheet.getRow(1));
         }
 
-        assertEquals(7, memoryAppender.countEventsForLogger(loggerClassName));
+        assertEquals(8, memoryAppender.countEventsForLogger(loggerClassName));
         assertTrue(memoryAppender.isPresent("Empty data provided", Level.WARN));
     }
 
@@ -255,6 +319,52 @@ class DefaultExcelExporterByteOutputStreamTest {
                 Level.DEBUG));
         }
 
+        @DisplayName("multi sheet: Iterator 데이터도 최대행을 넘을 때 다음 시트를 생성한다.")
+        @Test
+        void multiSheetIteratorMaxRowsExceedTest() throws IOException {
+            // given
+            Iterator<TestDto> testData = IntStream.range(0, 18)
+                .mapToObj(i -> new TestDto("test" + (i + 1), i + 1))
+                .iterator();
+
+            // when
+            DefaultExcelExporter.builder(TestDto.class, testData)
+                .maxRows(10)
+                .build().write(os);
+
+            // then
+            try (Workbook workbook = WorkbookFactory.create(
+                new ByteArrayInputStream(os.toByteArray()))) {
+                assertEquals(2, workbook.getNumberOfSheets());
+                assertEquals("test18",
+                    workbook.getSheetAt(1).getRow(9).getCell(0).getStringCellValue());
+                assertNull(workbook.getSheetAt(1).getRow(10));
+            }
+        }
+
+        @DisplayName("one sheet: Stream 데이터가 최대 행 초과 시 행을 쓰는 중에 예외을 발생한다.")
+        @Test
+        void throwExceptionWhenOneSheetAndStreamExceedMaxRows() {
+            // given
+            AtomicInteger pulledRows = new AtomicInteger();
+            Stream<TestDto> testData = IntStream.range(0, 1000)
+                .peek(i -> pulledRows.incrementAndGet())
+                .mapToObj(i -> new TestDto("test" + (i + 1), i + 1));
+
+            //when
+            ExcelException exception = assertThrows(ExcelException.class,
+                () -> DefaultExcelExporter.builder(TestDto.class, testData)
+                    .maxRows(10)
+                    .sheetStrategy(SheetStrategy.ONE_SHEET)
+                    .build()
+            );
+
+            //then
+            assertTrue(exception.getMessage()
+                .contains("The data size exceeds the maximum number of rows allowed per sheet."));
+            assertEquals(10, pulledRows.get());
+        }
+
         @DisplayName("시트 이름 지정 시 지정한 이름으로 시트 생성한다.")
         @Test
         void createSheetWithSpecifiedName() throws IOException {
@@ -284,6 +394,578 @@ class DefaultExcelExporterByteOutputStreamTest {
         }
     }
 
+    @DisplayName("지정한 temp directory에 압축된 임시 시트 파일을 생성한다.")
+    @Test
+    void createCompressedTempFilesInTempDirectory(@TempDir Path tempDir) throws IOException {
+        // given
+        List<TestDto> data = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            data.add(new TestDto("test" + (i + 1), i + 1));
+        }
+
+        // when
+        DefaultExcelExporter<TestDto> exporter = DefaultExcelExporter.builder(TestDto.class, data)
+            .windowSize(5)
+            .compressTempFiles(true)
+            .useSharedStringsTable(true)
+            .tempDirectory(tempDir)
+            .build();
+
+        // then
+        try (Stream<Path> tempFiles = Files.list(tempDir)) {
+            assertTrue(tempFiles.anyMatch(p -> p.getFileName().toString().endsWith(".xml.gz")));
+        }
+
+        assertTrue(exporter.getTempFileSize() > 0);
+
+        exporter.write(os);
+        try (Workbook workbook = WorkbookFactory.create(
+            new ByteArrayInputStream(os.toByteArray()))) {
+            assertEquals("test20",
+                workbook.getSheetAt(0).getRow(20).getCell(0).getStringCellValue());
+        }
+        assertTrue(memoryAppender.isPresent("shared strings: ", Level.DEBUG));
+        assertFalse(memoryAppender.isPresent("shared strings: 0 bytes", Level.DEBUG));
+        assertEquals(0, exporter.getTempFileSize());
+        try (Stream<Path> tempFiles = Files.list(tempDir)) {
+            assertEquals(0, tempFiles.count());
+        }
+    }
+
+    @DisplayName("build 중 오류가 발생하거나 close하면 임시 시트 파일을 삭제한다.")
+    @Test
+    void deleteTempFilesWhenBuildFailsOrClosed(@TempDir Path tempDir) throws IOException {
+        // given
+        Stream<TestDto> data = IntStream.range(0, 20)
+            .mapToObj(i -> new TestDto("test" + (i + 1), i + 1));
+        List<TestDto> listData = new ArrayList<>();
+        listData.add(new TestDto("test", 1));
+
+        // when
+        assertThrows(ExcelException.class, () -> DefaultExcelExporter
+            .builder(TestDto.class, data)
+            .sheetStrategy(SheetStrategy.ONE_SHEET)
+            .maxRows(10)
+            .windowSize(2)
+            .tempDirectory(tempDir)
+            .build());
+        try (DefaultExcelExporter<TestDto> exporter = DefaultExcelExporter
+            .builder(TestDto.class, listData)
+            .tempDirectory(tempDir)
+            .build();
+            Stream<Path> tempFiles = Files.list(tempDir)) {
+            assertEquals(1, tempFiles.count());
+        }
+
+        // then
+        try (Stream<Path> tempFiles = Files.list(tempDir)) {
+            assertEquals(0, tempFiles.count());
+        }
+    }
+
+    @DisplayName("Direct write 테스트")
+    @Nested
+    class DirectWriteTest {
+
+        @DisplayName("임시 시트 파일 없이 추가한 행까지 여러 시트에 직접 쓴다.")
+        @Test
+        void writeSheetsWithoutTempFiles(@TempDir Path tempDir) throws IOException {
+            // given
+            List<TestDto> data = new ArrayList<>();
+            for (int i = 0; i < 15; i++) {
+                data.add(new TestDto("test" + (i + 1), i + 1));
+            }
+
+            // when
+            DefaultExcelExporter<TestDto> exporter = DefaultExcelExporter
+                .builder(TestDto.class, data)
+                .maxRows(10)
+                .windowSize(2)
+                .tempDirectory(tempDir)
+                .directWrite(true)
+                .build();
+            exporter.addRows(Collections.singletonList(new TestDto("test16", 16)).iterator());
+            exporter.addRows(Collections.singletonList(new TestDto("test17", 17)));
+            exporter.write(os);
+
+            // then
+            try (Stream<Path> tempFiles = Files.list(tempDir)) {
+                assertEquals(0, tempFiles.count());
+            }
+            assertEquals(0, exporter.getTempFileSize());
+            try (Workbook workbook = WorkbookFactory.create(
+                new ByteArrayInputStream(os.toByteArray()))) {
+                assertEquals(2, workbook.getNumberOfSheets());
+                Sheet first = workbook.getSheetAt(0);
+                assertEquals("이름", first.getRow(0).getCell(0).getStringCellValue());
+                assertEquals("test9", first.getRow(9).getCell(0).getStringCellValue());
+                assertNull(first.getRow(10));
+
+                Sheet second = workbook.getSheetAt(1);
+                assertEquals("번호", second.getRow(0).getCell(1).getStringCellValue());
+                assertEquals(10d, second.getRow(1).getCell(1).getNumericCellValue());
+                assertEquals("test17", second.getRow(8).getCell(0).getStringCellValue());
+                CellStyle headerStyle = second.getRow(0).getCell(1).getCellStyle();
+                assertEquals(HorizontalAlignment.CENTER, headerStyle.getAlignment());
+                assertEquals(BorderStyle.THICK, headerStyle.getBorderTop());
+            }
+            try (ZipFile zip = ZipFile.builder()
+                .setSeekableByteChannel(new SeekableInMemoryByteChannel(os.toByteArray())).get()) {
+                String sheetXml = new String(IOUtils.toByteArray(
+                    zip.getInputStream(zip.getEntry("xl/worksheets/sheet2.xml"))),
+                    StandardCharsets.UTF_8);
+                assertTrue(sheetXml.contains("<sheetViews>"));
+                assertTrue(sheetXml.contains("<pageMargins "));
+            }
+        }
+
+        @DisplayName("one sheet: 데이터가 최대 행 초과 시 write 중에 예외을 발생한다.")
+        @Test
+        void throwExceptionWhileWritingWhenOneSheetExceedMaxRows() {
+            // given
+            Stream<TestDto> data = IntStream.range(0, 20)
+                .mapToObj(i -> new TestDto("test" + (i + 1), i + 1));
+            DefaultExcelExporter<TestDto> exporter = DefaultExcelExporter
+                .builder(TestDto.class, data)
+                .sheetStrategy(SheetStrategy.ONE_SHEET)
+                .maxRows(10)
+                .directWrite(true)
+                .build();
+
+            // when & then
+            assertThrows(ExcelException.class, () -> exporter.write(os));
+            assertThrows(ExcelException.class, () -> exporter.write(os));
+        }
+
+        @DisplayName("shared strings table은 direct write와 함께 사용할 수 없다.")
+        @Test
+        void cannotUseSharedStringsTable() {
+            // given
+            List<TestDto> data = new ArrayList<>();
+
+            // when & then
+            assertThrows(ExcelException.class, () -> DefaultExcelExporter
+                .builder(TestDto.class, data)
+                .useSharedStringsTable(true)
+                .directWrite(true)
+                .build());
+        }
+    }
+
+    @DisplayName("Parallel sheets 테스트")
+    @Nested
+    class ParallelSheetsTest {
+
+        @DisplayName("multi sheet: 추가한 행까지 여러 시트를 병렬로 채워 순서대로 생성한다.")
+        @Test
+        void fillSheetsInParallel() throws IOException {
+            // given
+            List<TestDto> data = new ArrayList<>();
+            for (int i = 0; i < 25; i++) {
+                data.add(new TestDto("test" + (i + 1), i + 1));
+            }
+            ForkJoinPool pool = new ForkJoinPool(3);
+
+            // when
+            try {
+                DefaultExcelExporter<TestDto> exporter = DefaultExcelExporter
+                    .builder(TestDto.class, data)
+                    .maxRows(10)
+                    .windowSize(2)
+                    .parallelSheets(pool)
+                    .build();
+                exporter.addRows(Arrays.asList(new TestDto("test26", 26),
+                    new TestDto("test27", 27), new TestDto("test28", 28)));
+                exporter.write(os);
+            } finally {
+                pool.shutdown();
+            }
+
+            // then
+            try (Workbook workbook = WorkbookFactory.create(
+                new ByteArrayInputStream(os.toByteArray()))) {
+                assertEquals(4, workbook.getNumberOfSheets());
+                int number = 1;
+                for (int i = 0; i < 4; i++) {
+                    Sheet sheet = workbook.getSheetAt(i);
+                    assertEquals("이름", sheet.getRow(0).getCell(0).getStringCellValue());
+                    for (int r = 1; r <= sheet.getLastRowNum(); r++) {
+                        assertEquals("test" + number,
+                            sheet.getRow(r).getCell(0).getStringCellValue());
+                        assertEquals(number++, sheet.getRow(r).getCell(1).getNumericCellValue());
+                    }
+                }
+                assertEquals(29, number);
+                assertNull(workbook.getSheetAt(2).getRow(10));
+            }
+            assertEquals(4, memoryAppender.search("Create new Sheet", Level.DEBUG).size());
+        }
+
+        @DisplayName("parallel sheets는 direct write와 함께 사용할 수 없다.")
+        @Test
+        void cannotUseDirectWrite() {
+            // given
+            List<TestDto> data = new ArrayList<>();
+
+            // when & then
+            assertThrows(ExcelException.class, () -> DefaultExcelExporter
+                .builder(TestDto.class, data)
+                .directWrite(true)
+                .parallelSheets(ForkJoinPool.commonPool())
+                .build());
+        }
+    }
+
+    @DisplayName("Compression 테스트")
+    @Nested
+    class CompressionTest {
+
+        @DisplayName("여러 블록으로 병렬 압축한 시트도 모든 행을 순서대로 읽을 수 있다.")
+        @Test
+        void deflateSheetsInParallel() throws IOException {
+            // given
+            List<TestDto> data = new ArrayList<>();
+            for (int i = 0; i < 60000; i++) {
+                data.add(new TestDto("test" + (i + 1), i + 1));
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(3);
+
+            // when
+            try {
+                DefaultExcelExporter.builder(TestDto.class, data)
+                    .maxRows(40000)
+                    .parallelDeflate(executor)
+                    .build()
+                    .write(os);
+            } finally {
+                executor.shutdown();
+            }
+
+            // then
+            try (Workbook workbook = WorkbookFactory.create(
+                new ByteArrayInputStream(os.toByteArray()))) {
+                assertEquals(2, workbook.getNumberOfSheets());
+                int number = 1;
+                for (int i = 0; i < 2; i++) {
+                    Sheet sheet = workbook.getSheetAt(i);
+                    for (int r = 1; r <= sheet.getLastRowNum(); r++) {
+                        assertEquals("test" + number,
+                            sheet.getRow(r).getCell(0).getStringCellValue());
+                        assertEquals(number++, sheet.getRow(r).getCell(1).getNumericCellValue());
+                    }
+                }
+                assertEquals(60001, number);
+            }
+        }
+
+        @DisplayName("병렬 압축한 zip은 Zip64 모드를 따르고, 여러 블록의 항목도 그대로 읽을 수 있다.")
+        @ParameterizedTest
+        @EnumSource(value = Zip64Mode.class, names = {"Always", "AsNeeded"})
+        void streamParallelDeflatedBlocks(Zip64Mode zip64Mode) throws IOException {
+            // given
+            byte[] sheet = new byte[StreamingZipOutputStream.BLOCK_SIZE * 3 + 12345];
+            for (int i = 0; i < sheet.length; i++) {
+                sheet[i] = (byte) ("<row r=\"" + (i / 40) + "\"/>").charAt(i % 11);
+            }
+            byte[] styles = "<styleSheet/>".getBytes(StandardCharsets.UTF_8);
+            ExecutorService executor = Executors.newFixedThreadPool(3);
+
+            // when
+            try (StreamingZipOutputStream zip = new StreamingZipOutputStream(os, zip64Mode,
+                executor)) {
+                zip.putArchiveEntry(new ZipArchiveEntry("xl/styles.xml"));
+                zip.write(styles);
+                zip.putArchiveEntry(new ZipArchiveEntry("xl/worksheets/sheet1.xml"));
+                for (int off = 0; off < sheet.length; off += 10000) {
+                    zip.write(sheet, off, Math.min(10000, sheet.length - off));
+                }
+                zip.closeArchiveEntry();
+            } finally {
+                executor.shutdown();
+            }
+
+            // then
+            byte[] file = os.toByteArray();
+            assertEquals(zip64Mode == Zip64Mode.Always ? 45 : 20, file[4]);
+            try (ZipArchiveInputStream zip = new ZipArchiveInputStream(
+                new ByteArrayInputStream(file), "UTF-8", true, true)) {
+                assertEquals("xl/styles.xml", zip.getNextEntry().getName());
+                assertArrayEquals(styles, IOUtils.toByteArray(zip));
+                assertEquals("xl/worksheets/sheet1.xml", zip.getNextEntry().getName());
+                assertArrayEquals(sheet, IOUtils.toByteArray(zip));
+                assertNull(zip.getNextEntry());
+            }
+            try (ZipFile zip = ZipFile.builder()
+                .setSeekableByteChannel(new SeekableInMemoryByteChannel(file)).get()) {
+                assertArrayEquals(sheet, IOUtils.toByteArray(
+                    zip.getInputStream(zip.getEntry("xl/worksheets/sheet1.xml"))));
+            }
+        }
+
+        @DisplayName("압축 레벨 0은 압축하지 않은 엑셀 파일을 생성하고, 범위 밖의 레벨은 예외를 발생한다.")
+        @Test
+        void writeWithCompressionLevel() throws IOException {
+            // given
+            List<TestDto> data = new ArrayList<>();
+            for (int i = 0; i < 1000; i++) {
+                data.add(new TestDto("test" + (i + 1), i + 1));
+            }
+            ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+
+            // when
+            DefaultExcelExporter.builder(TestDto.class, data).build().write(compressed);
+            DefaultExcelExporter.builder(TestDto.class, data)
+                .compressionLevel(0)
+                .directWrite(true)
+                .build()
+                .write(os);
+
+            // then
+            assertTrue(os.size() > compressed.size() * 3);
+            try (Workbook workbook = WorkbookFactory.create(
+                new ByteArrayInputStream(os.toByteArray()))) {
+                assertEquals("test1000", workbook.getSheetAt(0).getRow(1000).getCell(0)
+                    .getStringCellValue());
+            }
+            assertThrows(ExcelException.class, () -> DefaultExcelExporter
+                .builder(TestDto.class, data)
+                .compressionLevel(10));
+        }
+    }
+
+    @DisplayName("Pipeline 테스트")
+    @Nested
+    class PipelineTest {
+
+        @DisplayName("다른 스레드에서 가져오고 변환한 행을 순서대로 여러 시트에 쓴다.")
+        @Test
+        void writeRowsThroughPipeline() throws IOException {
+            // given
+            Stream<TestDto> data = IntStream.range(0, 20)
+                .mapToObj(i -> new TestDto("test" + (i + 1), i + 1));
+            List<String> stageThreads = Collections.synchronizedList(new ArrayList<>());
+            ThreadFactory threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, "pipeline-" + stageThreads.size());
+                stageThreads.add(thread.getName());
+                return thread;
+            };
+
+            // when
+            DefaultExcelExporter<TestDto> exporter = DefaultExcelExporter
+                .builder(TestDto.class, data)
+                .maxRows(10)
+                .pipeline(threadFactory, 3)
+                .build();
+            exporter.addRows(Collections.singletonList(new TestDto("test21", 21)).iterator());
+            exporter.write(os);
+
+            // then
+            assertEquals(4, stageThreads.size());
+            try (Workbook workbook = WorkbookFactory.create(
+                new ByteArrayInputStream(os.toByteArray()))) {
+                assertEquals(3, workbook.getNumberOfSheets());
+                assertEquals("test9", workbook.getSheetAt(0).getRow(9).getCell(0)
+                    .getStringCellValue());
+                assertEquals(10d, workbook.getSheetAt(1).getRow(1).getCell(1)
+                    .getNumericCellValue());
+                assertEquals("test21", workbook.getSheetAt(2).getRow(3).getCell(0)
+                    .getStringCellValue());
+                assertNull(workbook.getSheetAt(2).getRow(4));
+            }
+        }
+
+        @DisplayName("one sheet: 파이프라인으로 가져온 행이 최대 행 초과 시 예외를 발생한다.")
+        @Test
+        void throwExceptionWhenOneSheetExceedMaxRows() {
+            // given
+            Iterator<TestDto> data = IntStream.range(0, 1000)
+                .mapToObj(i -> new TestDto("test" + (i + 1), i + 1))
+                .iterator();
+
+            // when & then
+            assertThrows(ExcelException.class, () -> DefaultExcelExporter
+                .builder(TestDto.class, data)
+                .sheetStrategy(SheetStrategy.ONE_SHEET)
+                .maxRows(10)
+                .pipeline(Executors.defaultThreadFactory(), 2)
+                .build());
+        }
+
+        @DisplayName("파이프라인에서 필드를 읽지 못하면, 해당 행까지 쓰고 column과 row 정보와 함께 예외를 발생한다.")
+        @Test
+        void throwExceptionWithCellWhenReadFailed() {
+            // given
+            List<TestDto> data = IntStream.range(0, 10)
+                .mapToObj(i -> i == 5 ? null : new TestDto("test" + (i + 1), i + 1))
+                .collect(Collectors.toList());
+
+            // when
+            ExcelException exception = assertThrows(ExcelException.class,
+                () -> DefaultExcelExporter.builder(TestDto.class, data.iterator())
+                    .pipeline(Executors.defaultThreadFactory(), 3)
+                    .build());
+
+            // then
+            assertTrue(exception.getMessage().startsWith("Failed to create body(column:0, row:6)"),
+                exception.getMessage());
+        }
+
+        @DisplayName("파이프라인이 중간에 실패하면, 예외를 던지기 전에 단계 스레드가 종료된다.")
+        @Test
+        void joinStageThreadsWhenFailed() {
+            // given
+            Iterator<TestDto> data = IntStream.range(0, 1000)
+                .mapToObj(i -> new TestDto("test" + (i + 1), i + 1))
+                .iterator();
+            List<Thread> stageThreads = Collections.synchronizedList(new ArrayList<>());
+            ThreadFactory threadFactory = runnable -> {
+                Thread thread = new Thread(runnable);
+                stageThreads.add(thread);
+                return thread;
+            };
+
+            // when
+            assertThrows(ExcelException.class, () -> DefaultExcelExporter
+                .builder(TestDto.class, data)
+                .sheetStrategy(SheetStrategy.ONE_SHEET)
+                .maxRows(10)
+                .pipeline(threadFactory, 2)
+                .build());
+
+            // then
+            assertEquals(2, stageThreads.size());
+            stageThreads.forEach(thread -> assertFalse(thread.isAlive()));
+        }
+    }
+
+    @DisplayName("Paged data 테스트")
+    @Nested
+    class PagedDataTest {
+
+        @DisplayName("page fetcher로 가져온 모든 page의 데이터로 엑셀 파일을 생성한다.")
+        @Test
+        void exportPagesWithPrefetch() throws Exception {
+            // given
+            List<TestDto> source = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                source.add(new TestDto("test" + (i + 1), i + 1));
+            }
+            List<Integer> fetchedPages = Collections.synchronizedList(new ArrayList<>());
+            PageFetcher<TestDto> fetcher = (pageIndex, pageSize) -> {
+                fetchedPages.add(pageIndex);
+                int from = Math.min(pageIndex * pageSize, source.size());
+                return source.subList(from, Math.min(from + pageSize, source.size()));
+            };
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+
+            // when
+            try {
+                DefaultExcelExporter.builder(TestDto.class, fetcher, 4)
+                    .prefetch(executor)
+                    .build().write(os);
+            } finally {
+                executor.shutdown();
+            }
+
+            // then
+            assertEquals(Arrays.asList(0, 1, 2), fetchedPages);
+            try (Workbook workbook = WorkbookFactory.create(
+                new ByteArrayInputStream(os.toByteArray()))) {
+                Sheet sheet = workbook.getSheetAt(0);
+                assertEquals("test1", sheet.getRow(1).getCell(0).getStringCellValue());
+                assertEquals("test10", sheet.getRow(10).getCell(0).getStringCellValue());
+                assertNull(sheet.getRow(11));
+            }
+        }
+
+        @DisplayName("cursor page fetcher는 이전 page의 마지막 행 다음 page를 가져온다.")
+        @Test
+        void exportCursorPagesWithPrefetch() throws Exception {
+            // given
+            List<TestDto> source = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                source.add(new TestDto("test" + (i + 1), i + 1));
+            }
+            List<Integer> fetchedAfter = Collections.synchronizedList(new ArrayList<>());
+            CursorPageFetcher<TestDto> fetcher = (lastRow, pageSize) -> {
+                int from = lastRow == null ? 0 : source.indexOf(lastRow) + 1;
+                fetchedAfter.add(from);
+                return source.subList(from, Math.min(from + pageSize, source.size()));
+            };
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+
+            // when
+            try {
+                DefaultExcelExporter.cursorBuilder(TestDto.class, fetcher, 4)
+                    .prefetch(executor)
+                    .build().write(os);
+            } finally {
+                executor.shutdown();
+            }
+
+            // then
+            assertEquals(Arrays.asList(0, 4, 8), fetchedAfter);
+            try (Workbook workbook = WorkbookFactory.create(
+                new ByteArrayInputStream(os.toByteArray()))) {
+                Sheet sheet = workbook.getSheetAt(0);
+                assertEquals("test5", sheet.getRow(5).getCell(0).getStringCellValue());
+                assertEquals("test10", sheet.getRow(10).getCell(0).getStringCellValue());
+                assertNull(sheet.getRow(11));
+            }
+        }
+
+        @DisplayName("export가 실패하면 가져오는 중인 다음 page를 취소한다.")
+        @Test
+        void cancelPrefetchWhenFailed() throws Exception {
+            // given
+            PageFetcher<TestDto> fetcher = (pageIndex, pageSize) -> {
+                if (pageIndex > 0) {
+                    // Blocks until the fetch is cancelled
+                    try {
+                        new CountDownLatch(1).await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return Collections.emptyList();
+                }
+                List<TestDto> page = new ArrayList<>();
+                for (int i = 0; i < pageSize; i++) {
+                    page.add(new TestDto("test" + (i + 1), i + 1));
+                }
+                return page;
+            };
+            ExecutorService executor = Executors.newSingleThreadExecutor();
+
+            // when
+            try {
+                assertThrows(ExcelException.class, () -> DefaultExcelExporter
+                    .builder(TestDto.class, fetcher, 4)
+                    .sheetStrategy(SheetStrategy.ONE_SHEET)
+                    .maxRows(3)
+                    .prefetch(executor)
+                    .build());
+
+                // then
+                executor.shutdown();
+                assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @DisplayName("page fetcher가 아닌 데이터에 prefetch를 설정할 수 없다.")
+        @Test
+        void cannotPrefetchNonPagedData() {
+            // given
+            List<TestDto> data = new ArrayList<>();
+
+            // when & then
+            assertThrows(ExcelException.class, () -> DefaultExcelExporter
+                .builder(TestDto.class, data)
+                .prefetch(Runnable::run));
+        }
+    }
+
     @DisplayName("Formula 타입인 cell는 함수 값이 적용 되어야한다.")
     @Test
     void checkFormulaType() throws IOException {
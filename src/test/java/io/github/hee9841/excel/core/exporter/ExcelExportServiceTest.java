@@ -0,0 +1,214 @@
+package io.github.hee9841.excel.core.exporter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.hee9841.excel.annotation.Excel;
+import io.github.hee9841.excel.annotation.ExcelColumn;
+import io.github.hee9841.excel.exception.ExcelException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ExcelExportService 테스트")
+class ExcelExportServiceTest {
+
+    @DisplayName("heap 예산을 넘는 job은 실행 중인 job이 끝난 후 순서대로 실행한다.")
+    @Test
+    void admitJobsWithinHeapBudget() throws Exception {
+        // given
+        ExcelExportService service = ExcelExportService.builder()
+            .maxConcurrentExports(2)
+            .heapBudget(100)
+            .build();
+        BlockingExporter first = new BlockingExporter();
+
+        // when
+        CompletableFuture<Void> firstResult = service.submit(() -> first,
+            new ByteArrayOutputStream(), 60, 0);
+        assertTrue(first.started.await(5, TimeUnit.SECONDS));
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        CompletableFuture<Void> secondResult = service.submit(() -> DefaultExcelExporter
+            .builder(TestDto.class, Arrays.asList(new TestDto("test1"), new TestDto("test2")))
+            .build(), os, 60, 0);
+
+        // then
+        assertEquals(1, service.getRunningJobCount());
+        assertEquals(1, service.getQueuedJobCount());
+        assertFalse(secondResult.isDone());
+
+        first.release.countDown();
+        firstResult.get(5, TimeUnit.SECONDS);
+        secondResult.get(5, TimeUnit.SECONDS);
+        assertTrue(first.closed);
+        assertEquals(0, service.getRunningJobCount());
+        try (Workbook workbook = WorkbookFactory.create(
+            new ByteArrayInputStream(os.toByteArray()))) {
+            assertEquals("test2", workbook.getSheetAt(0).getRow(2).getCell(0)
+                .getStringCellValue());
+        }
+    }
+
+    @DisplayName("예산보다 큰 job과 실패한 job은 예외로 완료된다.")
+    @Test
+    void failJobsOverBudgetOrFailing() {
+        // given
+        ExcelExportService service = ExcelExportService.builder()
+            .maxConcurrentExports(1)
+            .tempDiskBudget(1024)
+            .build();
+
+        // when
+        CompletableFuture<Void> overBudget = service.submit(BlockingExporter::new,
+            new ByteArrayOutputStream(), 0, 2048);
+        CompletableFuture<Void> failing = service.submit(() -> {
+            throw new ExcelException("Failed to build.");
+        }, new ByteArrayOutputStream());
+
+        // then
+        CompletionException overBudgetFailure = assertThrows(CompletionException.class,
+            overBudget::join);
+        assertInstanceOf(ExcelException.class, overBudgetFailure.getCause());
+        CompletionException buildFailure = assertThrows(CompletionException.class,
+            failing::join);
+        assertEquals("Failed to build.", buildFailure.getCause().getMessage());
+        assertThrows(ExcelException.class, () -> service.submit(null, null));
+    }
+
+    @DisplayName("exporter를 닫다가 실패해도 job을 해제하고, 쓰기 실패에 닫기 실패를 덧붙여 완료한다.")
+    @Test
+    void releaseJobWhenCloseFails() throws Exception {
+        // given
+        ExcelExportService service = ExcelExportService.builder()
+            .maxConcurrentExports(1)
+            .build();
+        BlockingExporter closeFailing = new BlockingExporter() {
+            @Override
+            public void close() {
+                throw new ExcelException("Failed to close.");
+            }
+        };
+        closeFailing.release.countDown();
+        BlockingExporter bothFailing = new BlockingExporter() {
+            @Override
+            public void write(OutputStream stream) {
+                throw new ExcelException("Failed to write.");
+            }
+
+            @Override
+            public void close() {
+                throw new ExcelException("Failed to close.");
+            }
+        };
+
+        // when
+        CompletableFuture<Void> first = service.submit(() -> closeFailing,
+            new ByteArrayOutputStream());
+        CompletableFuture<Void> second = service.submit(() -> bothFailing,
+            new ByteArrayOutputStream());
+
+        // then
+        CompletionException firstFailure = assertThrows(CompletionException.class, first::join);
+        assertEquals("Failed to close.", firstFailure.getCause().getMessage());
+        CompletionException secondFailure = assertThrows(CompletionException.class,
+            second::join);
+        assertEquals("Failed to write.", secondFailure.getCause().getMessage());
+        assertEquals("Failed to close.",
+            secondFailure.getCause().getSuppressed()[0].getMessage());
+        assertEquals(0, service.getRunningJobCount());
+    }
+
+    @DisplayName("shutdown 후에는 job을 받지 않고, close는 대기 중인 job까지 끝날 때까지 기다린다.")
+    @Test
+    void closeDrainsQueuedJobs() throws Exception {
+        // given
+        ExcelExportService service = ExcelExportService.builder()
+            .maxConcurrentExports(1)
+            .build();
+        BlockingExporter first = new BlockingExporter();
+        BlockingExporter second = new BlockingExporter();
+        second.release.countDown();
+        CompletableFuture<Void> firstResult = service.submit(() -> first,
+            new ByteArrayOutputStream());
+        CompletableFuture<Void> secondResult = service.submit(() -> second,
+            new ByteArrayOutputStream());
+        assertTrue(first.started.await(5, TimeUnit.SECONDS));
+
+        // when
+        service.shutdown();
+        CompletableFuture<Void> rejected = service.submit(BlockingExporter::new,
+            new ByteArrayOutputStream());
+
+        // then
+        CompletionException rejectedFailure = assertThrows(CompletionException.class,
+            rejected::join);
+        assertInstanceOf(ExcelException.class, rejectedFailure.getCause());
+        assertTrue(service.isShutdown());
+        assertFalse(service.awaitTermination(50, TimeUnit.MILLISECONDS));
+
+        first.release.countDown();
+        service.close();
+        assertTrue(service.isTerminated());
+        assertTrue(firstResult.isDone() && !firstResult.isCompletedExceptionally());
+        assertTrue(secondResult.isDone() && !secondResult.isCompletedExceptionally());
+        assertTrue(second.closed);
+    }
+
+    /**
+     * An exporter whose write waits until it is released
+     */
+    static class BlockingExporter implements ExcelExporter<TestDto> {
+
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        volatile boolean closed;
+
+        @Override
+        public void write(OutputStream stream) {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public void addRows(List<TestDto> data) {
+        }
+
+        @Override
+        public void addRows(Iterator<TestDto> data) {
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    @Excel
+    static class TestDto {
+
+        @ExcelColumn(headerName = "name")
+        private final String name;
+
+        TestDto(String name) {
+            this.name = name;
+        }
+    }
+}
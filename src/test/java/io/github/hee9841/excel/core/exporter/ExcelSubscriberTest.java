@@ -0,0 +1,132 @@
+package io.github.hee9841.excel.core.exporter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.hee9841.excel.annotation.Excel;
+import io.github.hee9841.excel.annotation.ExcelColumn;
+import io.github.hee9841.excel.exception.ExcelException;
+import io.github.hee9841.excel.strategy.SheetStrategy;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.CompletionException;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscriber;
+import org.reactivestreams.Subscription;
+
+class ExcelSubscriberTest {
+
+    @DisplayName("batch 단위로 요청한 데이터를 모두 받으면 엑셀 파일을 쓰고 완료된다.")
+    @Test
+    void requestInBatches_andWriteOnComplete() throws Exception {
+        // given
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        RangePublisher publisher = new RangePublisher(25);
+        ExcelSubscriber<TestDto> subscriber = DefaultExcelExporter
+            .subscriber(TestDto.class, os)
+            .batchSize(10)
+            .build();
+
+        // when
+        publisher.subscribe(subscriber);
+        subscriber.completion().join();
+
+        // then
+        assertEquals(10, publisher.maxOutstanding);
+        try (Workbook workbook = WorkbookFactory.create(
+            new ByteArrayInputStream(os.toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals("name", sheet.getRow(0).getCell(0).getStringCellValue());
+            assertEquals("test25", sheet.getRow(25).getCell(0).getStringCellValue());
+        }
+    }
+
+    @DisplayName("행을 쓰는 중 오류가 발생하면 구독을 취소하고 예외로 완료된다.")
+    @Test
+    void cancelAndFail_whenRowCannotBeWritten() {
+        // given
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        RangePublisher publisher = new RangePublisher(25);
+        ExcelSubscriber<TestDto> subscriber = DefaultExcelExporter
+            .subscriber(TestDto.class, os)
+            .sheetStrategy(SheetStrategy.ONE_SHEET)
+            .maxRows(10)
+            .build();
+
+        // when
+        publisher.subscribe(subscriber);
+
+        // then
+        CompletionException exception = assertThrows(CompletionException.class,
+            () -> subscriber.completion().join());
+        assertInstanceOf(ExcelException.class, exception.getCause());
+        assertTrue(publisher.cancelled);
+        assertEquals(0, os.size());
+    }
+
+    @Excel
+    public static class TestDto {
+
+        @ExcelColumn(headerName = "name")
+        private final String name;
+
+        public TestDto(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Synchronous publisher of TestDto("test1") ... TestDto("test{count}").
+     */
+    private static class RangePublisher implements Publisher<TestDto> {
+
+        private final int count;
+        private long maxOutstanding;
+        private boolean cancelled;
+
+        RangePublisher(int count) {
+            this.count = count;
+        }
+
+        @Override
+        public void subscribe(Subscriber<? super TestDto> subscriber) {
+            subscriber.onSubscribe(new Subscription() {
+                private int emitted;
+                private long requested;
+                private boolean emitting;
+                private boolean completed;
+
+                @Override
+                public void request(long n) {
+                    requested += n;
+                    maxOutstanding = Math.max(maxOutstanding, requested);
+                    if (emitting) {
+                        return;
+                    }
+                    emitting = true;
+                    while (requested > 0 && emitted < count && !cancelled && !completed) {
+                        requested--;
+                        subscriber.onNext(new TestDto("test" + (++emitted)));
+                    }
+                    emitting = false;
+                    if (emitted == count && !cancelled && !completed) {
+                        completed = true;
+                        subscriber.onComplete();
+                    }
+                }
+
+                @Override
+                public void cancel() {
+                    cancelled = true;
+                }
+            });
+        }
+    }
+}
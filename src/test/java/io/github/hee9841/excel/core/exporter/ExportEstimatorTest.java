@@ -0,0 +1,114 @@
+package io.github.hee9841.excel.core.exporter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.hee9841.excel.annotation.Excel;
+import io.github.hee9841.excel.annotation.ExcelColumn;
+import io.github.hee9841.excel.exception.ExcelException;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ExportEstimator 테스트")
+class ExportEstimatorTest {
+
+    @DisplayName("샘플로 추정한 크기는 실제 엑셀 파일 크기에 가깝다.")
+    @Test
+    void estimateFromSample() throws IOException {
+        // given
+        List<TestDto> data = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            data.add(new TestDto("name" + (i * 7919 % 10007), i * 31L,
+                LocalDate.of(2024, 1, 1).plusDays(i % 365)));
+        }
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        OoxmlExcelExporter.builder(TestDto.class, data).build().write(os);
+
+        // when
+        ExportEstimate estimate = ExportEstimator.estimate(TestDto.class, data.size(),
+            data.subList(0, 1000));
+
+        // then
+        assertTrue(estimate.isSampled());
+        assertEquals(20000, estimate.getRowCount());
+        assertTrue(estimate.getOutputSize() > os.size() * 0.7,
+            estimate + " / actual: " + os.size());
+        assertTrue(estimate.getOutputSize() < os.size() * 1.3,
+            estimate + " / actual: " + os.size());
+        assertTrue(estimate.getTempDiskSize() > estimate.getOutputSize());
+        assertFalse(estimate.getDuration().isNegative());
+    }
+
+    @DisplayName("샘플로 추정한 크기는 SXSSF로 쓴 엑셀 파일과 임시 파일 크기에 가깝다.")
+    @Test
+    void estimateFromSample_sxssf() throws IOException {
+        // given
+        List<TestDto> data = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            data.add(new TestDto("name" + (i * 7919 % 10007), i * 31L,
+                LocalDate.of(2024, 1, 1).plusDays(i % 365)));
+        }
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        DefaultExcelExporter<TestDto> exporter = DefaultExcelExporter.builder(TestDto.class, data)
+            .windowSize(1)
+            .build();
+        long tempFileSize = exporter.getTempFileSize();
+        exporter.write(os);
+
+        // when
+        ExportEstimate estimate = ExportEstimator.estimate(TestDto.class, data.size(),
+            data.subList(0, 1000));
+
+        // then
+        assertTrue(estimate.getOutputSize() > os.size() * 0.7,
+            estimate + " / actual: " + os.size());
+        assertTrue(estimate.getOutputSize() < os.size() * 1.3,
+            estimate + " / actual: " + os.size());
+        assertTrue(estimate.getTempDiskSize() > tempFileSize * 0.7,
+            estimate + " / actual temp disk: " + tempFileSize);
+        assertTrue(estimate.getTempDiskSize() < tempFileSize * 1.3,
+            estimate + " / actual temp disk: " + tempFileSize);
+    }
+
+    @DisplayName("샘플이 없으면 컬럼 타입의 값으로 추정하고, 행 수에 비례해 커진다.")
+    @Test
+    void estimateWithoutSample() {
+        // when
+        ExportEstimate small = ExportEstimator.estimate(TestDto.class, 1000);
+        ExportEstimate large = ExportEstimator.estimate(TestDto.class, 2_000_000);
+
+        // then
+        assertFalse(small.isSampled());
+        assertEquals(RollingExcelExporter.ASSUMED_COMPRESSION_RATIO, small.getCompressionRatio());
+        assertTrue(small.getSerializedRowSize() > ExportEstimator.PLACEHOLDER_STRING_LENGTH);
+        assertTrue(large.getOutputSize() > small.getOutputSize() * 1000);
+        assertTrue(large.getTempDiskSize() > large.getSerializedRowSize() * 2_000_000);
+        assertThrows(ExcelException.class, () -> ExportEstimator.estimate(TestDto.class, -1));
+    }
+
+    @Excel
+    static class TestDto {
+
+        @ExcelColumn(headerName = "name")
+        private final String name;
+
+        @ExcelColumn(headerName = "amount")
+        private final Long amount;
+
+        @ExcelColumn(headerName = "date")
+        private final LocalDate date;
+
+        TestDto(String name, Long amount, LocalDate date) {
+            this.name = name;
+            this.amount = amount;
+            this.date = date;
+        }
+    }
+}
@@ -0,0 +1,401 @@
+package io.github.hee9841.excel.core.exporter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.hee9841.excel.annotation.Excel;
+import io.github.hee9841.excel.annotation.ExcelColumn;
+import io.github.hee9841.excel.annotation.ExcelColumnStyle;
+import io.github.hee9841.excel.core.meta.ColumnDataType;
+import io.github.hee9841.excel.example.style.EnumCellStyleExample;
+import io.github.hee9841.excel.exception.ExcelException;
+import io.github.hee9841.excel.format.CellFormats;
+import io.github.hee9841.excel.strategy.CellTypeStrategy;
+import io.github.hee9841.excel.strategy.SheetStrategy;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("OoxmlExcelExporter 테스트")
+class OoxmlExcelExporterTest {
+
+    @DisplayName("SXSSF exporter와 같은 값, 타입, 스타일의 cell을 생성한다.")
+    @Test
+    void writeSameCellsAsSXSSFExporter() throws IOException {
+        // given
+        List<ValueDto> data = new ArrayList<>();
+        data.add(new ValueDto("name <1> & \"quoted\"", 1, 1.1f, true, Grade.GOLD, "SUM(B2:B3)"));
+        data.add(new ValueDto(" line\nbreak ", Integer.MAX_VALUE, 2.5f, false, null, null));
+        data.add(new ValueDto(null, -3, 0f, true, Grade.SILVER, "1+1"));
+
+        // when
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        DefaultExcelExporter.builder(ValueDto.class, data).build().write(expected);
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        OoxmlExcelExporter.builder(ValueDto.class, data).build().write(actual);
+
+        // then
+        try (Workbook expectedWorkbook = read(expected);
+            Workbook actualWorkbook = read(actual)) {
+            assertEquals(expectedWorkbook.getSheetName(0), actualWorkbook.getSheetName(0));
+            Sheet expectedSheet = expectedWorkbook.getSheetAt(0);
+            Sheet actualSheet = actualWorkbook.getSheetAt(0);
+            assertEquals(expectedSheet.getLastRowNum(), actualSheet.getLastRowNum());
+
+            for (int r = 0; r <= expectedSheet.getLastRowNum(); r++) {
+                Row expectedRow = expectedSheet.getRow(r);
+                Row actualRow = actualSheet.getRow(r);
+                assertEquals(expectedRow.getLastCellNum(), actualRow.getLastCellNum());
+                for (int c = 0; c < expectedRow.getLastCellNum(); c++) {
+                    assertCellEquals(expectedRow.getCell(c), actualRow.getCell(c));
+                }
+            }
+        }
+    }
+
+    @DisplayName("BigDecimal과 BigInteger 값은 SXSSF exporter처럼 숫자 cell로 생성한다.")
+    @Test
+    void writeBigNumbersAsNumericCells() throws IOException {
+        // given
+        List<BigNumberDto> data = Collections.singletonList(new BigNumberDto(
+            new BigDecimal("1234.5678"), new BigInteger("12345678901234567890")));
+
+        // when
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        DefaultExcelExporter.builder(BigNumberDto.class, data).build().write(expected);
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        OoxmlExcelExporter.builder(BigNumberDto.class, data).build().write(actual);
+
+        // then
+        try (Workbook expectedWorkbook = read(expected);
+            Workbook actualWorkbook = read(actual)) {
+            Row expectedRow = expectedWorkbook.getSheetAt(0).getRow(1);
+            Row actualRow = actualWorkbook.getSheetAt(0).getRow(1);
+            assertEquals(1234.5678, actualRow.getCell(0).getNumericCellValue());
+            assertEquals(1.2345678901234567E19, actualRow.getCell(1).getNumericCellValue());
+            assertCellEquals(expectedRow.getCell(0), actualRow.getCell(0));
+            assertCellEquals(expectedRow.getCell(1), actualRow.getCell(1));
+        }
+    }
+
+    @DisplayName("NaN과 무한대 값은 SXSSF exporter처럼 오류 cell로 생성한다.")
+    @Test
+    void writeNaNAndInfinityAsErrorCells() throws IOException {
+        // given
+        List<DoubleDto> data = new ArrayList<>();
+        data.add(new DoubleDto(Double.NaN));
+        data.add(new DoubleDto(Double.POSITIVE_INFINITY));
+        data.add(new DoubleDto(Double.NEGATIVE_INFINITY));
+        data.add(new DoubleDto(1.5));
+
+        // when
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        DefaultExcelExporter.builder(DoubleDto.class, data).build().write(expected);
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        OoxmlExcelExporter.builder(DoubleDto.class, data).build().write(actual);
+
+        // then
+        try (Workbook expectedWorkbook = read(expected);
+            Workbook actualWorkbook = read(actual)) {
+            Sheet expectedSheet = expectedWorkbook.getSheetAt(0);
+            Sheet actualSheet = actualWorkbook.getSheetAt(0);
+            assertEquals(FormulaError.NUM.getCode(),
+                actualSheet.getRow(1).getCell(0).getErrorCellValue());
+            assertEquals(FormulaError.DIV0.getCode(),
+                actualSheet.getRow(2).getCell(0).getErrorCellValue());
+            for (int r = 1; r <= expectedSheet.getLastRowNum(); r++) {
+                assertCellEquals(expectedSheet.getRow(r).getCell(0),
+                    actualSheet.getRow(r).getCell(0));
+            }
+        }
+    }
+
+    @DisplayName("multi sheet: 추가한 행까지 최대행을 넘을 때 다음 시트를 생성한다.")
+    @Test
+    void multiSheetWithAddedRows() throws IOException {
+        // given
+        Stream<ValueDto> data = IntStream.range(0, 15)
+            .mapToObj(i -> new ValueDto("test" + (i + 1), i + 1, 0f, true, null, null));
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+
+        // when
+        OoxmlExcelExporter<ValueDto> exporter = OoxmlExcelExporter
+            .builder(ValueDto.class, data)
+            .maxRows(10)
+            .sheetName("Data")
+            .build();
+        exporter.addRows(Collections.singletonList(
+            new ValueDto("test16", 16, 0f, true, null, null)));
+        exporter.write(os);
+
+        // then
+        try (Workbook workbook = read(os)) {
+            assertEquals(2, workbook.getNumberOfSheets());
+            assertEquals("Data(0)", workbook.getSheetName(0));
+            assertEquals("Data(1)", workbook.getSheetName(1));
+            assertEquals("test9", workbook.getSheetAt(0).getRow(9).getCell(0)
+                .getStringCellValue());
+            assertNull(workbook.getSheetAt(0).getRow(10));
+            assertEquals("이름", workbook.getSheetAt(1).getRow(0).getCell(0)
+                .getStringCellValue());
+            assertEquals("test16", workbook.getSheetAt(1).getRow(7).getCell(0)
+                .getStringCellValue());
+            assertNull(workbook.getSheetAt(1).getRow(8));
+        }
+    }
+
+    @DisplayName("병렬로 직렬화한 행을 순서대로 써서 같은 cell을 생성한다.")
+    @Test
+    void writeSameCellsWithParallelRows() throws IOException {
+        // given
+        List<ValueDto> data = new ArrayList<>();
+        for (int i = 0; i < 25; i++) {
+            data.add(new ValueDto("test" + (i + 1), i + 1, i / 2f, i % 2 == 0,
+                i % 3 == 0 ? null : Grade.GOLD, "1+" + i));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+
+        // when
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        OoxmlExcelExporter.builder(ValueDto.class, data).maxRows(10).build().write(expected);
+        ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        try {
+            OoxmlExcelExporter<ValueDto> exporter = OoxmlExcelExporter
+                .builder(ValueDto.class, data.subList(0, 20))
+                .maxRows(10)
+                .parallelRows(executor, 4)
+                .build();
+            exporter.addRows(data.subList(20, 25).iterator());
+            exporter.write(actual);
+        } finally {
+            executor.shutdown();
+        }
+
+        // then
+        try (Workbook expectedWorkbook = read(expected);
+            Workbook actualWorkbook = read(actual)) {
+            assertEquals(3, actualWorkbook.getNumberOfSheets());
+            for (int s = 0; s < 3; s++) {
+                Sheet expectedSheet = expectedWorkbook.getSheetAt(s);
+                Sheet actualSheet = actualWorkbook.getSheetAt(s);
+                assertEquals(expectedSheet.getLastRowNum(), actualSheet.getLastRowNum());
+                for (int r = 0; r <= expectedSheet.getLastRowNum(); r++) {
+                    Row expectedRow = expectedSheet.getRow(r);
+                    for (int c = 0; c < expectedRow.getLastCellNum(); c++) {
+                        assertCellEquals(expectedRow.getCell(c),
+                            actualSheet.getRow(r).getCell(c));
+                    }
+                }
+            }
+        }
+    }
+
+    @DisplayName("one sheet: 데이터가 최대 행 초과 시 예외을 발생한다.")
+    @Test
+    void throwExceptionWhenOneSheetExceedMaxRows() {
+        // given
+        List<ValueDto> listData = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            listData.add(new ValueDto("test", i, 0f, true, null, null));
+        }
+        Stream<ValueDto> streamData = listData.stream();
+
+        // when & then
+        assertThrows(ExcelException.class, () -> OoxmlExcelExporter
+            .builder(ValueDto.class, listData)
+            .sheetStrategy(SheetStrategy.ONE_SHEET)
+            .maxRows(10)
+            .build());
+
+        OoxmlExcelExporter<ValueDto> exporter = OoxmlExcelExporter
+            .builder(ValueDto.class, streamData)
+            .sheetStrategy(SheetStrategy.ONE_SHEET)
+            .maxRows(10)
+            .build();
+        assertThrows(ExcelException.class, () -> exporter.write(new ByteArrayOutputStream()));
+        assertThrows(ExcelException.class, () -> exporter.write(new ByteArrayOutputStream()));
+    }
+
+    @DisplayName("쓰기가 끝나거나 실패해도 출력 스트림은 닫지 않고, 실패하면 zip을 완료하지 않는다.")
+    @Test
+    void keepOutputStreamOpenAndAbortZipWhenFailed() throws IOException {
+        // given
+        List<ValueDto> data = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            data.add(new ValueDto("test", i, 0f, true, null, null));
+        }
+        CloseTrackingOutputStream written = new CloseTrackingOutputStream();
+        CloseTrackingOutputStream failed = new CloseTrackingOutputStream();
+
+        // when
+        OoxmlExcelExporter.builder(ValueDto.class, data).build().write(written);
+        OoxmlExcelExporter<ValueDto> exporter = OoxmlExcelExporter
+            .builder(ValueDto.class, data.iterator())
+            .sheetStrategy(SheetStrategy.ONE_SHEET)
+            .maxRows(5)
+            .build();
+        assertThrows(ExcelException.class, () -> exporter.write(failed));
+
+        // then
+        assertFalse(written.closed);
+        assertFalse(failed.closed);
+        try (Workbook workbook = read(written)) {
+            assertEquals(10, workbook.getSheetAt(0).getLastRowNum());
+        }
+        // The end of central directory record is not written
+        assertFalse(new String(failed.toByteArray(), StandardCharsets.ISO_8859_1)
+            .contains("PK\u0005\u0006"));
+    }
+
+    private static Workbook read(ByteArrayOutputStream os) throws IOException {
+        return WorkbookFactory.create(new ByteArrayInputStream(os.toByteArray()));
+    }
+
+    private static void assertCellEquals(Cell expected, Cell actual) {
+        String position = expected.getAddress().formatAsString();
+        assertEquals(expected.getCellType(), actual.getCellType(), position);
+        switch (expected.getCellType()) {
+            case NUMERIC:
+                assertEquals(expected.getNumericCellValue(), actual.getNumericCellValue(),
+                    position);
+                break;
+            case BOOLEAN:
+                assertEquals(expected.getBooleanCellValue(), actual.getBooleanCellValue(),
+                    position);
+                break;
+            case FORMULA:
+                assertEquals(expected.getCellFormula(), actual.getCellFormula(), position);
+                break;
+            case ERROR:
+                assertEquals(expected.getErrorCellValue(), actual.getErrorCellValue(), position);
+                break;
+            default:
+                assertEquals(expected.getStringCellValue(), actual.getStringCellValue(),
+                    position);
+        }
+        assertEquals(expected.getCellStyle().getDataFormatString(),
+            actual.getCellStyle().getDataFormatString(), position);
+        assertEquals(expected.getCellStyle().getAlignment(),
+            actual.getCellStyle().getAlignment(), position);
+        assertEquals(expected.getCellStyle().getBorderTop(),
+            actual.getCellStyle().getBorderTop(), position);
+        assertEquals(expected.getCellStyle().getFillForegroundColor(),
+            actual.getCellStyle().getFillForegroundColor(), position);
+    }
+
+    enum Grade {
+        GOLD, SILVER
+    }
+
+    @Excel(cellTypeStrategy = CellTypeStrategy.AUTO)
+    static class DoubleDto {
+
+        @ExcelColumn(headerName = "값")
+        private final Double value;
+
+        DoubleDto(Double value) {
+            this.value = value;
+        }
+    }
+
+    @Excel(
+        defaultHeaderStyle = @ExcelColumnStyle(
+            cellStyleClass = EnumCellStyleExample.class,
+            enumName = "GREY_25_PERCENT_CENTER_CENTER_ALL_BORDER_THICK"
+        ),
+        cellTypeStrategy = CellTypeStrategy.AUTO
+    )
+    static class ValueDto {
+
+        @ExcelColumn(headerName = "이름")
+        private final String name;
+
+        @ExcelColumn(headerName = "번호", format = CellFormats.THOUSAND_SEPARATED_NUMBER_FORMAT,
+            bodyStyle = @ExcelColumnStyle(
+                cellStyleClass = EnumCellStyleExample.class,
+                enumName = "RED_CENTER_CENTER_ALL_BORDER_THICK"
+            )
+        )
+        private final int number;
+
+        @ExcelColumn(headerName = "비율")
+        private final float ratio;
+
+        @ExcelColumn(headerName = "사용")
+        private final Boolean enabled;
+
+        @ExcelColumn(headerName = "등급")
+        private final Grade grade;
+
+        @ExcelColumn(headerName = "합계", columnCellType = ColumnDataType.FORMULA)
+        private final String formula;
+
+        @ExcelColumn(headerName = "일자")
+        private final LocalDate localDate = LocalDate.of(2024, 2, 29);
+
+        @ExcelColumn(headerName = "일시")
+        private final LocalDateTime localDateTime = LocalDateTime.of(2024, 2, 29, 13, 30, 15);
+
+        @ExcelColumn(headerName = "날짜")
+        private final Date date = new Date(1_700_000_000_000L);
+
+        ValueDto(String name, int number, float ratio, Boolean enabled, Grade grade,
+            String formula) {
+            this.name = name;
+            this.number = number;
+            this.ratio = ratio;
+            this.enabled = enabled;
+            this.grade = grade;
+            this.formula = formula;
+        }
+    }
+
+    static class CloseTrackingOutputStream extends ByteArrayOutputStream {
+
+        private boolean closed;
+
+        @Override
+        public void close() {
+            closed = true;
+        }
+    }
+
+    @Excel(cellTypeStrategy = CellTypeStrategy.AUTO)
+    static class BigNumberDto {
+
+        @ExcelColumn(headerName = "decimal")
+        private final BigDecimal decimal;
+
+        @ExcelColumn(headerName = "integer")
+        private final BigInteger integer;
+
+        BigNumberDto(BigDecimal decimal, BigInteger integer) {
+            this.decimal = decimal;
+            this.integer = integer;
+        }
+    }
+}
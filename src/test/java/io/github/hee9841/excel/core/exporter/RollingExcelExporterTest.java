@@ -0,0 +1,132 @@
+package io.github.hee9841.excel.core.exporter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.github.hee9841.excel.annotation.Excel;
+import io.github.hee9841.excel.annotation.ExcelColumn;
+import io.github.hee9841.excel.exception.ExcelException;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.ss.usermodel.WorkbookFactory;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("RollingExcelExporter 테스트")
+class RollingExcelExporterTest {
+
+    private final List<ByteArrayOutputStream> parts = new ArrayList<>();
+
+    private ByteArrayOutputStream openPart(int partIndex) {
+        assertEquals(parts.size(), partIndex);
+        ByteArrayOutputStream part = new ByteArrayOutputStream();
+        parts.add(part);
+        return part;
+    }
+
+    @DisplayName("파일당 최대 행을 넘으면 새 파일에 이어서 쓰고, 파일마다 헤더를 만든다.")
+    @Test
+    void rollOverByRows() throws IOException {
+        // given
+        int partCount;
+
+        // when
+        try (RollingExcelExporter<TestDto> exporter = DefaultExcelExporter
+            .rolling(TestDto.class, this::openPart)
+            .maxRowsPerFile(10)
+            .maxRows(6)
+            .build()) {
+            exporter.addRows(IntStream.range(0, 23)
+                .mapToObj(i -> new TestDto("test" + (i + 1))).iterator());
+            assertEquals(2, exporter.getPartCount());
+            exporter.addRows(Arrays.asList(new TestDto("test24"), new TestDto("test25")));
+            partCount = exporter.finish();
+        }
+
+        // then
+        assertEquals(3, partCount);
+        assertEquals(3, parts.size());
+        int number = 1;
+        for (ByteArrayOutputStream part : parts) {
+            try (Workbook workbook = WorkbookFactory.create(
+                new ByteArrayInputStream(part.toByteArray()))) {
+                for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
+                    Sheet sheet = workbook.getSheetAt(i);
+                    assertEquals("name", sheet.getRow(0).getCell(0).getStringCellValue());
+                    for (int r = 1; r <= sheet.getLastRowNum(); r++) {
+                        assertEquals("test" + number++,
+                            sheet.getRow(r).getCell(0).getStringCellValue());
+                    }
+                }
+            }
+        }
+        assertEquals(26, number);
+    }
+
+    @DisplayName("추정한 파일 크기가 최대 크기를 넘으면 새 파일에 이어서 쓴다.")
+    @Test
+    void rollOverBySize() throws IOException {
+        // given
+        RollingExcelExporter<TestDto> exporter = DefaultExcelExporter
+            .rolling(TestDto.class, this::openPart)
+            .maxFileSize(1)
+            .windowSize(10)
+            .compressTempFiles(true)
+            .build();
+
+        // when
+        exporter.addRows(IntStream.range(0, 2500)
+            .mapToObj(i -> new TestDto("test" + (i + 1))).iterator());
+        exporter.finish();
+
+        // then
+        assertEquals(3, parts.size());
+        try (Workbook workbook = WorkbookFactory.create(
+            new ByteArrayInputStream(parts.get(2).toByteArray()))) {
+            Sheet sheet = workbook.getSheetAt(0);
+            assertEquals("test2001", sheet.getRow(1).getCell(0).getStringCellValue());
+            assertEquals("test2500", sheet.getRow(500).getCell(0).getStringCellValue());
+            assertNull(sheet.getRow(501));
+        }
+        assertThrows(ExcelException.class, exporter::finish);
+    }
+
+    @DisplayName("행이 없으면 헤더만 있는 파일 하나를 쓴다.")
+    @Test
+    void writeHeaderOnlyFileWithoutRows() throws IOException {
+        // given
+        RollingExcelExporter<TestDto> exporter = DefaultExcelExporter
+            .rolling(TestDto.class, this::openPart)
+            .maxRowsPerFile(10)
+            .build();
+
+        // when
+        int partCount = exporter.finish();
+
+        // then
+        assertEquals(1, partCount);
+        try (Workbook workbook = WorkbookFactory.create(
+            new ByteArrayInputStream(parts.get(0).toByteArray()))) {
+            assertEquals(0, workbook.getSheetAt(0).getLastRowNum());
+        }
+    }
+
+    @Excel
+    static class TestDto {
+
+        @ExcelColumn(headerName = "name")
+        private final String name;
+
+        TestDto(String name) {
+            this.name = name;
+        }
+    }
+}
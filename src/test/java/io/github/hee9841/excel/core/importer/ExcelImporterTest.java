@@ -0,0 +1,373 @@
+package io.github.hee9841.excel.core.importer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.hee9841.excel.annotation.Excel;
+import io.github.hee9841.excel.annotation.ExcelColumn;
+import io.github.hee9841.excel.core.exporter.DefaultExcelExporter;
+import io.github.hee9841.excel.core.exporter.OoxmlExcelExporter;
+import io.github.hee9841.excel.exception.ExcelException;
+import io.github.hee9841.excel.strategy.CellTypeStrategy;
+import io.github.hee9841.excel.strategy.SheetStrategy;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ExcelImporter 테스트")
+class ExcelImporterTest {
+
+    private static List<TestDto> createData(int count, boolean text) {
+        List<TestDto> data = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            data.add((text ? new TextDto() : new TestDto()).init(
+                "name" + i,
+                i % 7 == 0 ? null : (long) i * 1_000_003L,
+                i * 1.25,
+                i % 2 == 0,
+                i % 3 == 0 ? Grade.HIGH : Grade.LOW,
+                LocalDate.of(2024, 1, 1).plusDays(i),
+                LocalDateTime.of(2024, 1, 1, 9, 30, 15).plusMinutes(i),
+                new Date(1_700_000_000_000L + i * 1000L),
+                i
+            ));
+        }
+        return data;
+    }
+
+    @DisplayName("여러 시트에 나뉘어 내보낸 파일을 같은 DTO로 읽는다.")
+    @Test
+    void readMultiSheetFile() throws IOException {
+        // given
+        List<TestDto> data = createData(250, false);
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        DefaultExcelExporter.builder(TestDto.class, data)
+            .sheetStrategy(SheetStrategy.MULTI_SHEET)
+            .maxRows(100)
+            .useSharedStringsTable(true)
+            .build()
+            .write(os);
+
+        // when
+        List<TestDto> rows = new ArrayList<>();
+        long count = ExcelImporter.builder(TestDto.class).build()
+            .read(new ByteArrayInputStream(os.toByteArray()), rows::add);
+
+        // then
+        assertEquals(250, count);
+        assertEquals(data, rows);
+    }
+
+    @DisplayName("시트 이름을 지정하면 해당 시트의 행만 읽고, 문자열로 쓴 값도 필드 타입으로 변환한다.")
+    @Test
+    void readOneSheetByName() throws IOException {
+        // given
+        List<TextDto> data = new ArrayList<>();
+        for (TestDto row : createData(30, true)) {
+            data.add((TextDto) row);
+        }
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        OoxmlExcelExporter.builder(TextDto.class, data)
+            .maxRows(20)
+            .sheetName("Data")
+            .build()
+            .write(os);
+
+        // when
+        List<TextDto> rows = new ArrayList<>();
+        ExcelImporter.builder(TextDto.class).sheetName("Data(1)").build()
+            .read(new ByteArrayInputStream(os.toByteArray()), rows::add);
+
+        // then
+        assertEquals(data.subList(19, 30), rows);
+        assertThrows(ExcelException.class, () -> ExcelImporter.builder(TextDto.class)
+            .sheetName("Unknown").build()
+            .read(new ByteArrayInputStream(os.toByteArray()), row -> {
+            }));
+    }
+
+    @DisplayName("헤더가 없거나 기본 생성자가 없으면 예외가 발생한다.")
+    @Test
+    void failOnMissingHeaderOrConstructor() throws IOException {
+        // given
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        OoxmlExcelExporter.builder(OtherDto.class, new ArrayList<OtherDto>()).build().write(os);
+        ExcelImporter<TestDto> importer = ExcelImporter.builder(TestDto.class).build();
+
+        // when
+        ExcelException exception = assertThrows(ExcelException.class,
+            () -> importer.read(new ByteArrayInputStream(os.toByteArray()), row -> {
+            }));
+
+        // then
+        assertTrue(exception.getMessage().contains("Missing header"));
+        assertThrows(ExcelException.class,
+            () -> ExcelImporter.builder(OtherDto.class).build());
+    }
+
+    @DisplayName("스트림은 당겨 간 행까지만 파싱하고, 닫으면 임시 파일을 지운다.")
+    @Test
+    void streamParsesLazily() throws IOException {
+        // given
+        List<LabelDto> data = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            data.add(new LabelDto(i == 50 ? "x" : String.valueOf(i)));
+        }
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        OoxmlExcelExporter.builder(LabelDto.class, data).build().write(os);
+        byte[] file = os.toByteArray();
+
+        // when
+        List<CountDto> limited;
+        try (Stream<CountDto> rows = ExcelImporter.stream(new ByteArrayInputStream(file),
+            CountDto.class)) {
+            limited = rows.limit(5).collect(Collectors.toList());
+        }
+        Optional<CountDto> first;
+        long tempFiles;
+        try (Stream<CountDto> rows = ExcelImporter.stream(new ByteArrayInputStream(file),
+            CountDto.class)) {
+            first = rows.findFirst();
+            tempFiles = countTempFiles();
+        }
+
+        // then
+        assertEquals(5, limited.size());
+        assertEquals(4, limited.get(4).count);
+        assertEquals(0, first.get().count);
+        assertEquals(tempFiles - 1, countTempFiles());
+        try (Stream<CountDto> rows = ExcelImporter.stream(new ByteArrayInputStream(file),
+            CountDto.class)) {
+            assertThrows(ExcelException.class, () -> rows.collect(Collectors.toList()));
+        }
+    }
+
+    @DisplayName("BigDecimal, BigInteger 필드를 읽고, 소수나 범위를 벗어난 값은 정수 필드로 변환하지 않는다.")
+    @Test
+    void readNumbersExactly() throws IOException {
+        // given
+        List<NumberDto> data = new ArrayList<>();
+        data.add(new NumberDto(new BigDecimal("1234.5"), BigInteger.valueOf(9_007_199_254L)));
+        ByteArrayOutputStream os = new ByteArrayOutputStream();
+        OoxmlExcelExporter.builder(NumberDto.class, data).build().write(os);
+        ByteArrayOutputStream fraction = new ByteArrayOutputStream();
+        OoxmlExcelExporter.builder(LabelDto.class, Arrays.asList(new LabelDto("1.5")))
+            .build().write(fraction);
+        ByteArrayOutputStream overflow = new ByteArrayOutputStream();
+        OoxmlExcelExporter.builder(LabelDto.class, Arrays.asList(new LabelDto("3000000000")))
+            .build().write(overflow);
+
+        // when
+        List<NumberDto> rows = new ArrayList<>();
+        ExcelImporter.builder(NumberDto.class).build()
+            .read(new ByteArrayInputStream(os.toByteArray()), rows::add);
+
+        // then
+        assertEquals(1, rows.size());
+        assertEquals(0, new BigDecimal("1234.5").compareTo(rows.get(0).decimal));
+        assertEquals(BigInteger.valueOf(9_007_199_254L), rows.get(0).integer);
+        ExcelImporter<CountDto> importer = ExcelImporter.builder(CountDto.class).build();
+        assertThrows(ExcelException.class, () -> importer
+            .read(new ByteArrayInputStream(fraction.toByteArray()), row -> {
+            }));
+        assertThrows(ExcelException.class, () -> importer
+            .read(new ByteArrayInputStream(overflow.toByteArray()), row -> {
+            }));
+    }
+
+    @DisplayName("NaN과 무한대로 쓴 오류 cell을 실수 필드로 읽고, 정수 필드는 변환하지 않는다.")
+    @Test
+    void readNonFiniteNumbers() throws IOException {
+        // given
+        List<NonFiniteDto> data = Arrays.asList(
+            new NonFiniteDto(Double.NaN, Float.NaN),
+            new NonFiniteDto(Double.POSITIVE_INFINITY, Float.POSITIVE_INFINITY),
+            new NonFiniteDto(Double.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY));
+        ByteArrayOutputStream sxssf = new ByteArrayOutputStream();
+        DefaultExcelExporter.builder(NonFiniteDto.class, data).build().write(sxssf);
+        ByteArrayOutputStream ooxml = new ByteArrayOutputStream();
+        OoxmlExcelExporter.builder(NonFiniteDto.class, data).build().write(ooxml);
+
+        for (ByteArrayOutputStream os : Arrays.asList(sxssf, ooxml)) {
+            // when
+            List<NonFiniteDto> rows = new ArrayList<>();
+            ExcelImporter.builder(NonFiniteDto.class).build()
+                .read(new ByteArrayInputStream(os.toByteArray()), rows::add);
+
+            // then
+            assertEquals(3, rows.size());
+            assertTrue(Double.isNaN(rows.get(0).count));
+            assertTrue(Float.isNaN(rows.get(0).ratio));
+            assertEquals(Double.POSITIVE_INFINITY, rows.get(1).count);
+            assertEquals(Float.POSITIVE_INFINITY, rows.get(1).ratio);
+            // The sign of an infinite value is not written
+            assertEquals(Double.POSITIVE_INFINITY, rows.get(2).count);
+            assertEquals(Float.POSITIVE_INFINITY, rows.get(2).ratio);
+            assertThrows(ExcelException.class, () -> ExcelImporter.builder(CountDto.class)
+                .build()
+                .read(new ByteArrayInputStream(os.toByteArray()), row -> {
+                }));
+        }
+    }
+
+    private static long countTempFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Paths.get(System.getProperty("java.io.tmpdir")))) {
+            return files.filter(f -> f.getFileName().toString().startsWith("excel-import"))
+                .count();
+        }
+    }
+
+    enum Grade {
+        HIGH, LOW
+    }
+
+    @Excel(cellTypeStrategy = CellTypeStrategy.AUTO)
+    static class TestDto {
+
+        @ExcelColumn(headerName = "name")
+        private String name;
+        @ExcelColumn(headerName = "amount")
+        private Long amount;
+        @ExcelColumn(headerName = "rate")
+        private double rate;
+        @ExcelColumn(headerName = "active")
+        private boolean active;
+        @ExcelColumn(headerName = "grade")
+        private Grade grade;
+        @ExcelColumn(headerName = "date")
+        private LocalDate date;
+        @ExcelColumn(headerName = "dateTime")
+        private LocalDateTime dateTime;
+        @ExcelColumn(headerName = "created")
+        private Date created;
+        @ExcelColumn(headerName = "count")
+        private int count;
+
+        TestDto init(String name, Long amount, double rate, boolean active, Grade grade,
+            LocalDate date, LocalDateTime dateTime, Date created, int count) {
+            this.name = name;
+            this.amount = amount;
+            this.rate = rate;
+            this.active = active;
+            this.grade = grade;
+            this.date = date;
+            this.dateTime = dateTime;
+            this.created = created;
+            this.count = count;
+            return this;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof TestDto)) {
+                return false;
+            }
+            TestDto other = (TestDto) o;
+            return rate == other.rate && active == other.active && count == other.count
+                && Objects.equals(name, other.name) && Objects.equals(amount, other.amount)
+                && grade == other.grade && Objects.equals(date, other.date)
+                && Objects.equals(dateTime, other.dateTime)
+                && Objects.equals(created, other.created);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(name, amount, rate, active, grade, date, dateTime, created, count);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("TestDto(%s, %s, %s, %s, %s, %s, %s, %s, %s)", name, amount,
+                rate, active, grade, date, dateTime, created, count);
+        }
+    }
+
+    /**
+     * Same columns without a cell type, written as the text of the values
+     */
+    @Excel
+    static class TextDto extends TestDto {
+
+    }
+
+    @Excel
+    static class LabelDto {
+
+        @ExcelColumn(headerName = "count")
+        private final String count;
+
+        LabelDto(String count) {
+            this.count = count;
+        }
+    }
+
+    @Excel
+    static class CountDto {
+
+        @ExcelColumn(headerName = "count")
+        private int count;
+    }
+
+    @Excel(cellTypeStrategy = CellTypeStrategy.AUTO)
+    static class NonFiniteDto {
+
+        @ExcelColumn(headerName = "count")
+        private double count;
+        @ExcelColumn(headerName = "ratio")
+        private float ratio;
+
+        NonFiniteDto() {
+        }
+
+        NonFiniteDto(double count, float ratio) {
+            this.count = count;
+            this.ratio = ratio;
+        }
+    }
+
+    @Excel(cellTypeStrategy = CellTypeStrategy.AUTO)
+    static class NumberDto {
+
+        @ExcelColumn(headerName = "decimal")
+        private BigDecimal decimal;
+        @ExcelColumn(headerName = "integer")
+        private BigInteger integer;
+
+        NumberDto() {
+        }
+
+        NumberDto(BigDecimal decimal, BigInteger integer) {
+            this.decimal = decimal;
+            this.integer = integer;
+        }
+    }
+
+    @Excel
+    static class OtherDto {
+
+        @ExcelColumn(headerName = "other")
+        private final String other;
+
+        OtherDto(String other) {
+            this.other = other;
+        }
+    }
+}
@@ -24,6 +24,7 @@ import io.github.hee9841.excel.style.color.PaletteExcelColor;
 import io.github.hee9841.excel.style.configurer.ExcelCellStyleConfigurer;
 import java.lang.reflect.InvocationTargetException;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.poi.ss.usermodel.CellStyle;
 import org.apache.poi.ss.usermodel.FillPatternType;
 import org.apache.poi.ss.usermodel.Workbook;
@@ -173,6 +174,59 @@ public class CellStyleMappingTest {
     }
 
 
+    @DisplayName("class cell style은 워크북이 달라도 한 번만 생성된다.")
+    @Test
+    void classCellStyle_instantiatedOnce() throws Exception {
+        //given
+        @Excel(defaultBodyStyle = @ExcelColumnStyle(cellStyleClass = CountingStyle.class))
+        class TestDto {
+
+            @ExcelColumn(headerName = "first")
+            private String firstFiled;
+        }
+
+        //when
+        try (Workbook otherWb = new SXSSFWorkbook()) {
+            ColumnInfoMapper.of(TestDto.class, wb).map();
+            ColumnInfoMapper.of(TestDto.class, otherWb).map();
+        }
+
+        //then
+        assertEquals(1, CountingStyle.CONFIGURED.get());
+    }
+
+    @DisplayName("적용되는 속성이 같은 스타일은 정의가 달라도, 다른 클래스에서 매핑해도 워크북에 한 번만 생성된다.")
+    @Test
+    void sameProperties_sharedPerWorkbook() {
+        //given
+        @Excel(defaultBodyStyle = @ExcelColumnStyle(
+            cellStyleClass = TestEnumCellStyle.class, enumName = "BLACK_CENTER_THIN"))
+        class EnumStyleDto {
+
+            @ExcelColumn(headerName = "first")
+            private String firstFiled;
+        }
+        @Excel(defaultBodyStyle = @ExcelColumnStyle(cellStyleClass = BlackCenterThinStyle.class))
+        class ClassStyleDto {
+
+            @ExcelColumn(headerName = "first")
+            private String firstFiled;
+        }
+        int baseStyles = wb.getNumCellStyles();
+
+        //when
+        Map<Integer, ColumnInfo> enumMap = ColumnInfoMapper.of(EnumStyleDto.class, wb).map();
+        Map<Integer, ColumnInfo> classMap = ColumnInfoMapper.of(ClassStyleDto.class, wb).map();
+
+        //then
+        assertEquals(enumMap.get(0).getBodyStyle().getIndex(),
+            classMap.get(0).getBodyStyle().getIndex());
+        assertEquals(enumMap.get(0).getHeaderStyle().getIndex(),
+            classMap.get(0).getHeaderStyle().getIndex());
+        assertEquals(baseStyles + 2, wb.getNumCellStyles());
+        assertEquals(2, CellStylePool.of(wb).size());
+    }
+
     @DisplayName("CellStyle Mapping 예외 테스트")
     @Nested
     class CellStyleExceptionTest {
@@ -382,6 +436,16 @@ public class CellStyleMappingTest {
     }
 
 
+    public static class CountingStyle extends CustomExcelCellStyle {
+
+        static final AtomicInteger CONFIGURED = new AtomicInteger();
+
+        @Override
+        public void configure(ExcelCellStyleConfigurer configurer) {
+            CONFIGURED.incrementAndGet();
+        }
+    }
+
     public static class NoConstructorStyleClass implements ExcelCellStyle {
 
         private String tmp;
@@ -2,12 +2,15 @@ package io.github.hee9841.excel.core.meta;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.BDDMockito.then;
+import static org.mockito.Mockito.never;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.stream.Stream;
 import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -128,6 +131,51 @@ class ColumnDataTypeTest {
     }
 
 
+    @DisplayName("primitive 값은 boxing이나 문자열 변환 없이 CellType에 맞게 set해야한다.")
+    @Test
+    void shouldSetPrimitiveCellValueByCellType() {
+        Cell cell = Mockito.mock(Cell.class);
+
+        //when
+        ColumnDataType.NUMBER.setCellValueByCellType(cell, 7);
+        ColumnDataType.NUMBER.setCellValueByCellType(cell, 1.1f);
+        ColumnDataType.BOOLEAN.setCellValueByCellType(cell, true);
+        ColumnDataType._NONE.setCellValueByCellType(cell, 3L);
+        ColumnDataType.STRING.setCellValueByCellType(cell, 'C');
+        ColumnDataType.STRING.setCellValueByCellType(cell, 2.5d);
+
+        //then
+        then(cell).should().setCellValue(7d);
+        then(cell).should().setCellValue(1.1d);
+        then(cell).should(never()).setCellValue((double) 1.1f);
+        then(cell).should().setCellValue(true);
+        then(cell).should().setCellValue("3");
+        then(cell).should().setCellValue("C");
+        then(cell).should().setCellValue("2.5");
+    }
+
+    @DisplayName("DATE는 epoch millis로부터 POI와 같은 엑셀 날짜 값을 계산해야한다.")
+    @Test
+    void shouldSetDateCellValueByEpochMillis() throws Exception {
+        try (SXSSFWorkbook wb = new SXSSFWorkbook()) {
+            Cell cell = wb.createSheet().createRow(0).createCell(0);
+            Date[] dates = {
+                new Date(),
+                new Date(0L),
+                new Date(-2_000_000_000_000L),
+                new Date(4_102_444_800_123L)
+            };
+
+            for (Date date : dates) {
+                //when
+                ColumnDataType.DATE.setCellValueByCellType(cell, date);
+
+                //then
+                assertEquals(DateUtil.getExcelDate(date), cell.getNumericCellValue());
+            }
+        }
+    }
+
     static Stream<Arguments> cellValueData() {
         return Stream.of(
             Arguments.of(
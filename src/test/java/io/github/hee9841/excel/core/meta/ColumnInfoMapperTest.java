@@ -2,6 +2,8 @@ package io.github.hee9841.excel.core.meta;
 
 import static io.github.hee9841.excel.strategy.ColumnIndexStrategy.USER_DEFINED;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -17,6 +19,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.Date;
 import java.util.Map;
+import org.apache.poi.ss.usermodel.Cell;
 import org.apache.poi.ss.usermodel.Workbook;
 import org.apache.poi.xssf.streaming.SXSSFWorkbook;
 import org.junit.jupiter.api.BeforeEach;
@@ -78,6 +81,108 @@ class ColumnInfoMapperTest {
         assertTrue(exceptionMsg.contains(expectedMsg));
     }
 
+    @DisplayName("맵핑된 컬럼의 accessor로 상위 클래스 필드를 포함한 필드 값을 읽을 수 있다.")
+    @Test
+    void accessor_readsFieldValue() {
+        //given
+        class ParentDto {
+
+            @ExcelColumn(headerName = "parent")
+            private String parentField = "parentValue";
+        }
+        @Excel
+        class ChildDto extends ParentDto {
+
+            @ExcelColumn(headerName = "child")
+            private int childField = 7;
+        }
+
+        //when
+        Map<Integer, ColumnInfo> map = ColumnInfoMapper.of(ChildDto.class, wb).map();
+
+        //then
+        ChildDto dto = new ChildDto();
+        assertEquals(7, map.get(0).getAccessor().get(dto));
+        assertEquals("parentValue", map.get(1).getAccessor().get(dto));
+    }
+
+    @DisplayName("static 필드 컬럼도 accessor로 값을 읽고 셀에 쓸 수 있다.")
+    @Test
+    void accessor_readsStaticFieldValue() {
+        //given
+        StaticColumnDto dto = new StaticColumnDto();
+        Map<Integer, ColumnInfo> map = ColumnInfoMapper.of(StaticColumnDto.class, wb).map();
+        Cell cell = wb.createSheet().createRow(0).createCell(0);
+
+        //when
+        map.get(1).getAccessor().writeCell(dto, map.get(1).getColumnType(), cell);
+
+        //then
+        assertEquals("static", map.get(0).getAccessor().get(dto));
+        assertEquals(3L, map.get(1).getAccessor().get(dto));
+        assertEquals(3L, map.get(1).getAccessor().getLong(dto));
+        assertEquals(3.0, cell.getNumericCellValue());
+    }
+
+    @Excel(cellTypeStrategy = CellTypeStrategy.AUTO)
+    static class StaticColumnDto {
+
+        @ExcelColumn(headerName = "name")
+        private static String name = "static";
+
+        @ExcelColumn(headerName = "count")
+        static final long COUNT = 3L;
+    }
+
+    @DisplayName("같은 클래스의 스키마는 한 번만 파싱되고, 셀 스타일은 워크북마다 생성된다.")
+    @Test
+    void schema_cachedPerClass() throws Exception {
+        //given
+        @Excel
+        class TestDto {
+
+            @ExcelColumn(headerName = "name")
+            private String name;
+        }
+
+        try (Workbook otherWb = new SXSSFWorkbook()) {
+            //when
+            Map<Integer, ColumnInfo> map = ColumnInfoMapper.of(TestDto.class, wb).map();
+            Map<Integer, ColumnInfo> otherMap = ColumnInfoMapper.of(TestDto.class, otherWb).map();
+
+            //then
+            assertSame(ColumnSchema.of(TestDto.class), ColumnSchema.of(TestDto.class));
+            assertSame(map.get(0).getAccessor(), otherMap.get(0).getAccessor());
+            assertNotSame(map.get(0).getBodyStyle(), otherMap.get(0).getBodyStyle());
+        }
+    }
+
+    @DisplayName("스타일과 포맷이 같은 컬럼들은 하나의 CellStyle을 공유한다.")
+    @Test
+    void sameStyle_sharedCellStyle() {
+        //given
+        @Excel
+        class TestDto {
+
+            @ExcelColumn(headerName = "first")
+            private String first;
+            @ExcelColumn(headerName = "second")
+            private String second;
+            @ExcelColumn(headerName = "amount", format = "#,##0")
+            private Integer amount;
+        }
+        int baseStyles = wb.getNumCellStyles();
+
+        //when
+        Map<Integer, ColumnInfo> map = ColumnInfoMapper.of(TestDto.class, wb).map();
+
+        //then
+        assertSame(map.get(0).getHeaderStyle(), map.get(1).getHeaderStyle());
+        assertSame(map.get(0).getBodyStyle(), map.get(1).getBodyStyle());
+        assertNotSame(map.get(0).getBodyStyle(), map.get(2).getBodyStyle());
+        assertEquals(baseStyles + 2, wb.getNumCellStyles());
+    }
+
     @Nested
     class ColumnIndexMappingTest {
 
@@ -140,6 +245,31 @@ class ColumnInfoMapperTest {
         }
 
 
+        @DisplayName("plan은 column index 순서로 정렬된다.")
+        @Test
+        void plan_orderedByColumnIndex() {
+            //given
+            @Excel(columnIndexStrategy = USER_DEFINED)
+            class TestExcelDto {
+
+                @ExcelColumn(headerName = "firstHeader", columnIndex = 5)
+                String firstField;
+
+                @ExcelColumn(headerName = "secondHeader", columnIndex = 2)
+                String secondField;
+            }
+
+            //when
+            ColumnPlan plan = ColumnInfoMapper.of(TestExcelDto.class, wb).plan();
+
+            //then
+            assertEquals(2, plan.size());
+            assertEquals(2, plan.getColumnIndex(0));
+            assertEquals("secondHeader", plan.getHeaderName(0));
+            assertEquals(5, plan.getColumnIndex(1));
+            assertEquals("firstField", plan.getFieldName(1));
+        }
+
         @DisplayName("FIELD_ORDER 전략일 경우, 지정한 columnIndex를 무시")
         @Test
         void fieldOrder_Ignore_columnIndexByUserDefined() {